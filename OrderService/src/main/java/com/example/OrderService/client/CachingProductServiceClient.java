@@ -0,0 +1,81 @@
+package com.example.OrderService.client;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * ProductServiceClient önünde yerel fiyat cache'i ("productPrice").
+ * Boyut ve TTL ConfigServer common.yml'deki caching ayarlarından gelir,
+ * hit/miss sayıları actuator üzerinden cache.gets metriği olarak görünür.
+ */
+@Component
+public class CachingProductServiceClient {
+
+    static final String PRICE_CACHE = "productPrice";
+
+    @Autowired
+    private ResilientProductServiceClient productServiceClient;
+
+    @Autowired
+    private ProductLookupBatcher productLookupBatcher;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    // Cache'te olmayan eşzamanlı sorgular tek bir çok id'li istekte birleştirilir
+    @Cacheable(PRICE_CACHE)
+    public ProductDto getProductById(Integer id) {
+        return productLookupBatcher.getProductById(id);
+    }
+
+    // Cache'te olanları yerelden, eksikleri tek bir toplu çağrıyla getirir
+    public List<ProductDto> getProductsByIds(List<Integer> ids) {
+        Cache cache = cacheManager.getCache(PRICE_CACHE);
+        Map<Integer, ProductDto> productsById = new LinkedHashMap<>();
+        List<Integer> missingIds = new ArrayList<>();
+
+        for (Integer id : new LinkedHashSet<>(ids)) {
+            ProductDto cached = cache != null ? cache.get(id, ProductDto.class) : null;
+            if (cached != null) {
+                productsById.put(id, cached);
+            } else {
+                missingIds.add(id);
+            }
+        }
+
+        if (!missingIds.isEmpty()) {
+            productServiceClient.getProductsByIds(missingIds).forEach(productDto -> {
+                productsById.put(productDto.getId(), productDto);
+                if (cache != null) {
+                    cache.put(productDto.getId(), productDto);
+                }
+            });
+        }
+
+        return new LinkedHashSet<>(ids).stream()
+                .map(productsById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    // Fiyat değiştiğinde çağrılacak geçersizleştirme kancaları
+    @CacheEvict(PRICE_CACHE)
+    public void evict(Integer productId) {
+    }
+
+    @CacheEvict(value = PRICE_CACHE, allEntries = true)
+    public void evictAll() {
+    }
+}
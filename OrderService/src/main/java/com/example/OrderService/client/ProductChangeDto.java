@@ -0,0 +1,11 @@
+package com.example.OrderService.client;
+
+import lombok.Data;
+
+@Data
+public class ProductChangeDto {
+    private Integer id;
+    private Double price;
+    private Long version;
+    private Boolean deleted;
+}
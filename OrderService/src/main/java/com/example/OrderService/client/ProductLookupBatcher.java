@@ -0,0 +1,186 @@
+package com.example.OrderService.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Aynı anda farklı thread'lerden gelen tekil ürün sorgularını kısa bir pencere boyunca biriktirir
+ * ve ProductService'e tek bir çok id'li istek (GET /api/products?ids=...) olarak gönderir.
+ * Pencere window-ms dolunca veya max-batch-size farklı id birikince kapanır; aynı id'yi bekleyen
+ * çağıranlar aynı sonucu paylaşır. Pencerede tek id varsa doğrudan tekil istek atılır.
+ */
+@Component
+@Slf4j
+public class ProductLookupBatcher {
+
+    @Value("${product-lookup.batching.enabled:true}")
+    private boolean enabled;
+
+    @Value("${product-lookup.batching.window-ms:2}")
+    private long windowMs;
+
+    @Value("${product-lookup.batching.max-batch-size:100}")
+    private int maxBatchSize;
+
+    @Value("${product-lookup.batching.timeout-ms:2000}")
+    private long timeoutMs;
+
+    // Aynı anda uçuşta olabilecek toplu istek sayısı
+    @Value("${product-lookup.batching.senders:8}")
+    private int senders;
+
+    @Autowired
+    private ResilientProductServiceClient productServiceClient;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Map<Integer, CompletableFuture<ProductDto>> pending = new HashMap<>();
+    private long window; // Açık pencerenin sırası; kapanan pencerenin zamanlayıcısı sonrakini kapatmasın
+    private ScheduledFuture<?> windowClose;
+    private ScheduledExecutorService windowTimer;
+    private ExecutorService sender;
+    private Counter lookups;
+    private Counter requests;
+    private DistributionSummary batchSizes;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        windowTimer = Executors.newSingleThreadScheduledExecutor(daemonThreads("product-lookup-window"));
+        sender = Executors.newFixedThreadPool(senders, daemonThreads("product-lookup-sender"));
+
+        lookups = Counter.builder("product.lookup.calls").description("Tekil ürün sorguları").register(meterRegistry);
+        requests = Counter.builder("product.lookup.requests").description("ProductService'e giden istekler").register(meterRegistry);
+        batchSizes = DistributionSummary.builder("product.lookup.batch.size").description("İstek başına farklı id sayısı").register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (!enabled) {
+            return;
+        }
+        windowTimer.shutdown();
+        flush(); // Bekleyen çağıranları boşta bırakma
+        sender.shutdown();
+    }
+
+    public ProductDto getProductById(Integer id) {
+        if (!enabled) {
+            return productServiceClient.getProductById(id);
+        }
+        try {
+            return enqueue(id).get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Product lookup failed for id: " + id, e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Product lookup timed out for id: " + id, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Product lookup interrupted for id: " + id, e);
+        }
+    }
+
+    private synchronized CompletableFuture<ProductDto> enqueue(Integer id) {
+        lookups.increment(); // Pencereye girdikten sonra sayılır
+        CompletableFuture<ProductDto> future = pending.get(id);
+        if (future != null) {
+            return future; // Aynı pencerede aynı id: tek sorgu
+        }
+        future = new CompletableFuture<>();
+        pending.put(id, future);
+        if (pending.size() >= maxBatchSize) {
+            flush(); // Pencere dolmadan boyut sınırına gelindi
+        } else if (pending.size() == 1) {
+            long current = window; // Yeni pencere açıldı
+            windowClose = windowTimer.schedule(() -> closeWindow(current), windowMs, TimeUnit.MILLISECONDS);
+        }
+        return future;
+    }
+
+    // Pencereyi kapatıp biriken id'leri gönderir; testler pencere süresini beklemeden çağırır
+    void flush() {
+        closeWindow(null);
+    }
+
+    // window null ise açık pencere kapatılır; zamanlayıcı yalnızca kendi açtığı pencereyi kapatır
+    private void closeWindow(Long expectedWindow) {
+        Map<Integer, CompletableFuture<ProductDto>> batch;
+        synchronized (this) {
+            if (pending.isEmpty() || (expectedWindow != null && expectedWindow != window)) {
+                return; // Pencere boyut sınırıyla zaten kapandı
+            }
+            batch = pending;
+            pending = new HashMap<>();
+            window++;
+            if (windowClose != null) {
+                windowClose.cancel(false);
+                windowClose = null;
+            }
+        }
+        sender.execute(() -> send(batch));
+    }
+
+    private void send(Map<Integer, CompletableFuture<ProductDto>> batch) {
+        requests.increment();
+        batchSizes.record(batch.size());
+        try {
+            if (batch.size() == 1) {
+                Map.Entry<Integer, CompletableFuture<ProductDto>> entry = batch.entrySet().iterator().next();
+                entry.getValue().complete(productServiceClient.getProductById(entry.getKey()));
+                return;
+            }
+
+            Map<Integer, ProductDto> productsById = new HashMap<>();
+            productServiceClient.getProductsByIds(new ArrayList<>(batch.keySet()))
+                    .forEach(productDto -> productsById.put(productDto.getId(), productDto));
+            batch.forEach((id, future) -> {
+                ProductDto productDto = productsById.get(id);
+                if (productDto != null) {
+                    future.complete(productDto);
+                } else {
+                    future.completeExceptionally(new IllegalArgumentException("Product not found with id: " + id));
+                }
+            });
+        } catch (Exception e) {
+            log.warn("Batched product lookup failed for {} ids: {}", batch.size(), e.getMessage());
+            batch.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -3,11 +3,22 @@ package com.example.OrderService.client;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.List;
 
 @FeignClient(name = "ProductService")
 public interface ProductServiceClient {
     @GetMapping("/api/products/{id}")
     ProductDto getProductById(@PathVariable Integer id);
+
+    // Birden fazla ürünü tek bir çağrıda getirir (GET /api/products?ids=1,2,3)
+    @GetMapping("/api/products")
+    List<ProductDto> getProductsByIds(@RequestParam("ids") List<Integer> ids);
+
+    // since'ten sonra değişen ürünler, version sırasıyla (fiyat replikası için)
+    @GetMapping("/api/products/changes")
+    List<ProductChangeDto> getProductChanges(@RequestParam("since") Long since, @RequestParam("limit") Integer limit);
 }
 
 
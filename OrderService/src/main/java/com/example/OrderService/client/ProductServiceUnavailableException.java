@@ -0,0 +1,13 @@
+package com.example.OrderService.client;
+
+// ProductService'e ulaşılamıyor ve yeterince taze bilinen fiyat da yok
+public class ProductServiceUnavailableException extends RuntimeException {
+
+    public ProductServiceUnavailableException(String message) {
+        super(message);
+    }
+
+    public ProductServiceUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
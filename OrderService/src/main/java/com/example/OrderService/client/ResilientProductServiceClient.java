@@ -0,0 +1,222 @@
+package com.example.OrderService.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import feign.FeignException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * ProductServiceClient çağrılarını devre kesici ve sınırlı bir bulkhead arkasında yapar.
+ * ProductService yavaşladığında istek thread'lerinin en fazla max-concurrent-calls kadarı
+ * ProductService'i bekler; geri kalanı ve devre açıkken gelen çağrılar beklemeden döner.
+ * <p>
+ * Ürün sorguları reddedildiğinde veya başarısız olduğunda son bilinen fiyat, en fazla
+ * max-staleness-ms eskiyse kullanılır; böylece kısa kesintilerde sipariş yazımı durmaz.
+ * 4xx yanıtlar (ör. ürün bulunamadı) hata sayılmaz ve olduğu gibi iletilir.
+ */
+@Component
+@Slf4j
+public class ResilientProductServiceClient {
+
+    @Value("${product-lookup.circuit-breaker.window-size:50}")
+    private int windowSize;
+
+    @Value("${product-lookup.circuit-breaker.minimum-calls:20}")
+    private int minimumCalls;
+
+    @Value("${product-lookup.circuit-breaker.failure-rate-threshold:50}")
+    private int failureRateThreshold;
+
+    // Bu süreden uzun süren çağrılar da başarısız sayılır
+    @Value("${product-lookup.circuit-breaker.slow-call-ms:1000}")
+    private long slowCallMs;
+
+    @Value("${product-lookup.circuit-breaker.open-duration-ms:5000}")
+    private long openDurationMs;
+
+    @Value("${product-lookup.circuit-breaker.half-open-calls:5}")
+    private int halfOpenCalls;
+
+    @Value("${product-lookup.bulkhead.max-concurrent-calls:32}")
+    private int maxConcurrentCalls;
+
+    @Value("${product-lookup.bulkhead.max-wait-ms:50}")
+    private long maxWaitMs;
+
+    @Value("${product-lookup.fallback.max-staleness-ms:300000}")
+    private long maxStalenessMs;
+
+    @Value("${product-lookup.fallback.maximum-size:100000}")
+    private long fallbackMaximumSize;
+
+    @Autowired
+    private ProductServiceClient productServiceClient;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private CircuitBreaker circuitBreaker;
+    private Semaphore bulkhead;
+
+    // Son başarılı yanıtlardaki ürünler; max-staleness dolunca kendiliğinden düşer
+    private Cache<Integer, ProductDto> lastKnownProducts;
+
+    private Counter successfulCalls;
+    private Counter failedCalls;
+    private Counter notPermittedCalls;
+    private Counter bulkheadRejections;
+    private Counter staleFallbacks;
+    private Counter unavailableFallbacks;
+
+    @PostConstruct
+    public void start() {
+        circuitBreaker = new CircuitBreaker(windowSize, minimumCalls, failureRateThreshold, openDurationMs, halfOpenCalls);
+        bulkhead = new Semaphore(maxConcurrentCalls);
+        lastKnownProducts = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(maxStalenessMs))
+                .maximumSize(fallbackMaximumSize)
+                .build();
+
+        Gauge.builder("product.circuit.state", () -> circuitBreaker.state().ordinal())
+                .description("ProductService devre kesici durumu (0: closed, 1: open, 2: half-open)")
+                .register(meterRegistry);
+        Gauge.builder("product.bulkhead.available", bulkhead, Semaphore::availablePermits)
+                .description("ProductService bulkhead'inde boş çağrı yeri")
+                .register(meterRegistry);
+        successfulCalls = callCounter("success");
+        failedCalls = callCounter("failure");
+        notPermittedCalls = callCounter("not_permitted");
+        bulkheadRejections = Counter.builder("product.bulkhead.rejected")
+                .description("Bulkhead dolu olduğu için reddedilen ProductService çağrıları")
+                .register(meterRegistry);
+        staleFallbacks = fallbackCounter("stale_price");
+        unavailableFallbacks = fallbackCounter("unavailable");
+    }
+
+    public ProductDto getProductById(Integer id) {
+        try {
+            ProductDto productDto = call(() -> productServiceClient.getProductById(id));
+            if (productDto != null) {
+                lastKnownProducts.put(id, productDto);
+            }
+            return productDto;
+        } catch (ProductServiceUnavailableException e) {
+            ProductDto lastKnown = lastKnownProducts.getIfPresent(id);
+            if (lastKnown == null) {
+                unavailableFallbacks.increment();
+                throw e;
+            }
+            staleFallbacks.increment();
+            log.warn("Serving last known price for product {}: {}", id, e.getMessage());
+            return lastKnown;
+        }
+    }
+
+    public List<ProductDto> getProductsByIds(List<Integer> ids) {
+        try {
+            List<ProductDto> productDtos = call(() -> productServiceClient.getProductsByIds(ids));
+            productDtos.forEach(productDto -> lastKnownProducts.put(productDto.getId(), productDto));
+            return productDtos;
+        } catch (ProductServiceUnavailableException e) {
+            // Eksik sonuç "ürün bulunamadı" gibi yorumlanacağı için ya hepsi ya hiçbiri
+            List<ProductDto> lastKnown = new ArrayList<>(ids.size());
+            for (Integer id : ids) {
+                ProductDto productDto = lastKnownProducts.getIfPresent(id);
+                if (productDto == null) {
+                    unavailableFallbacks.increment();
+                    throw e;
+                }
+                lastKnown.add(productDto);
+            }
+            staleFallbacks.increment();
+            log.warn("Serving last known prices for {} products: {}", ids.size(), e.getMessage());
+            return lastKnown;
+        }
+    }
+
+    // Fiyat replikası kendi tazelik sınırına sahip: yedek yok, yalnızca koruma
+    public List<ProductChangeDto> getProductChanges(Long since, Integer limit) {
+        return call(() -> productServiceClient.getProductChanges(since, limit));
+    }
+
+    // Fiyatı değiştiği bilinen ürün yedekten de düşürülür
+    public void evict(Integer productId) {
+        lastKnownProducts.invalidate(productId);
+    }
+
+    private <T> T call(Supplier<T> request) {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            notPermittedCalls.increment();
+            throw new ProductServiceUnavailableException("ProductService circuit breaker is open");
+        }
+        if (!tryEnterBulkhead()) {
+            bulkheadRejections.increment();
+            circuitBreaker.releasePermission();
+            throw new ProductServiceUnavailableException("ProductService bulkhead is full");
+        }
+
+        long startTime = System.nanoTime();
+        try {
+            T result = request.get();
+            boolean slow = System.nanoTime() - startTime > TimeUnit.MILLISECONDS.toNanos(slowCallMs);
+            record(slow);
+            return result;
+        } catch (RuntimeException e) {
+            if (!isFailure(e)) {
+                record(false);
+                throw e;
+            }
+            record(true);
+            throw new ProductServiceUnavailableException("ProductService call failed: " + e.getMessage(), e);
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    private boolean tryEnterBulkhead() {
+        try {
+            return bulkhead.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void record(boolean failed) {
+        circuitBreaker.onResult(failed);
+        (failed ? failedCalls : successfulCalls).increment();
+    }
+
+    // 4xx istemci hatasıdır, ProductService'in sağlığıyla ilgisi yok
+    private static boolean isFailure(RuntimeException e) {
+        return !(e instanceof FeignException feignException) || feignException.status() < 400 || feignException.status() >= 500;
+    }
+
+    private Counter callCounter(String outcome) {
+        return Counter.builder("product.circuit.calls")
+                .description("Devre kesiciden geçen ProductService çağrıları")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private Counter fallbackCounter(String result) {
+        return Counter.builder("product.fallback")
+                .description("ProductService'e ulaşılamadığında yedek fiyat kullanımı")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.OrderService.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.NullValue;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.Collection;
+
+/**
+ * Varsayılan sınırsız ConcurrentMapCache yerine boyut/ağırlık ve süre sınırlı Caffeine cache'leri.
+ * İstatistikler (hit/miss/eviction) her cache için kaydedilir.
+ */
+@Configuration
+@EnableConfigurationProperties(CachingProperties.class)
+public class CacheConfig {
+
+    @Bean
+    public CacheManager cacheManager(CachingProperties properties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+
+        // Ayarı verilmemiş cache'ler varsayılanlarla oluşturulur
+        cacheManager.setCaffeine(caffeine(properties.getDefaults()));
+        properties.getCaches().forEach((name, spec) ->
+                cacheManager.registerCustomCache(name, caffeine(spec.withDefaults(properties.getDefaults())).build()));
+        return cacheManager;
+    }
+
+    private Caffeine<Object, Object> caffeine(CachingProperties.Spec spec) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder().recordStats();
+
+        if (spec.getMaximumWeight() != null) {
+            builder.maximumWeight(spec.getMaximumWeight())
+                    .weigher((key, value) -> value instanceof Collection<?> collection ? Math.max(1, collection.size()) : 1);
+        } else if (spec.getMaximumSize() != null) {
+            builder.maximumSize(spec.getMaximumSize());
+        }
+
+        long ttlNanos = toNanos(spec.getTtl());
+        long negativeTtlNanos = spec.getNegativeTtl() != null ? toNanos(spec.getNegativeTtl()) : ttlNanos;
+        builder.expireAfter(new Expiry<Object, Object>() {
+            @Override
+            public long expireAfterCreate(Object key, Object value, long currentTime) {
+                // Boş Optional sonuçları Spring tarafından NullValue olarak saklanır
+                return value == NullValue.INSTANCE ? negativeTtlNanos : ttlNanos;
+            }
+
+            @Override
+            public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+                return expireAfterCreate(key, value, currentTime);
+            }
+
+            @Override
+            public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+        });
+        return builder;
+    }
+
+    private long toNanos(Duration duration) {
+        return duration != null ? duration.toNanos() : Long.MAX_VALUE;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.OrderService.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Cache başına Caffeine ayarları (ConfigServer common.yml içindeki "caching" bölümü).
+ * Bir cache için verilmeyen değerler "defaults" bölümünden alınır.
+ */
+@Data
+@ConfigurationProperties(prefix = "caching")
+public class CachingProperties {
+
+    private Spec defaults = new Spec();
+    private Map<String, Spec> caches = new HashMap<>();
+
+    @Data
+    public static class Spec {
+        private Long maximumSize;
+        private Long maximumWeight; // Liste tutan cache'lerde toplam eleman sayısı
+        private Duration ttl;
+        private Duration negativeTtl; // Bulunamayan (boş Optional) kayıtların ömrü
+
+        Spec withDefaults(Spec defaults) {
+            Spec merged = new Spec();
+            merged.setMaximumSize(maximumSize != null ? maximumSize : defaults.getMaximumSize());
+            merged.setMaximumWeight(maximumWeight != null ? maximumWeight : defaults.getMaximumWeight());
+            merged.setTtl(ttl != null ? ttl : defaults.getTtl());
+            merged.setNegativeTtl(negativeTtl != null ? negativeTtl : defaults.getNegativeTtl());
+            return merged;
+        }
+    }
+}
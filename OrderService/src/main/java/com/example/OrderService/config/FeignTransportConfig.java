@@ -0,0 +1,69 @@
+package com.example.OrderService.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.io.ManagedHttpClientConnectionFactory;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.apache.hc.core5.http.io.SocketConfig;
+import org.apache.hc.core5.pool.PoolConcurrencyPolicy;
+import org.apache.hc.core5.pool.PoolReusePolicy;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.openfeign.support.FeignHttpClientProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Feign istemcileri için havuzlu Apache HttpClient 5 bağlantı yöneticisi.
+ * Havuz boyutları ve zaman aşımları spring.cloud.openfeign.httpclient.* ayarlarından gelir;
+ * Spring Cloud OpenFeign'ın kendi bağlantı yöneticisinin yerine geçer ve havuz ile
+ * bağlantı yeniden kullanım metriklerini Micrometer'a bağlar.
+ * <p>
+ * spring.cloud.openfeign.httpclient.hc5.enabled=false ve http2client.enabled=true ile
+ * JDK HttpClient (HTTP/2) taşımasına geçilir; bu durumda bu sınıf devre dışıdır.
+ */
+@Configuration
+@ConditionalOnProperty(value = "spring.cloud.openfeign.httpclient.hc5.enabled", matchIfMissing = true)
+public class FeignTransportConfig {
+
+    @Bean
+    public HttpClientConnectionManager feignConnectionManager(FeignHttpClientProperties properties, MeterRegistry meterRegistry) {
+        // İstek sayısı / açılan bağlantı sayısı = bağlantı yeniden kullanım oranı
+        Counter connectionsCreated = Counter.builder("feign.http.connections.created")
+                .description("Feign istemcilerinin açtığı yeni TCP bağlantıları")
+                .register(meterRegistry);
+
+        FeignHttpClientProperties.Hc5Properties hc5 = properties.getHc5();
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(properties.getMaxConnections())
+                .setMaxConnPerRoute(properties.getMaxConnectionsPerRoute())
+                .setPoolConcurrencyPolicy(PoolConcurrencyPolicy.valueOf(hc5.getPoolConcurrencyPolicy().name()))
+                .setConnPoolPolicy(PoolReusePolicy.valueOf(hc5.getPoolReusePolicy().name()))
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(properties.getConnectionTimeout()))
+                        .setSocketTimeout(Timeout.of(hc5.getSocketTimeout(), hc5.getSocketTimeoutUnit()))
+                        .setTimeToLive(TimeValue.of(properties.getTimeToLive(), properties.getTimeToLiveUnit()))
+                        // Boşta kalmış bağlantı kullanılmadan önce doğrulanır (sunucu tarafı keep-alive kapanışları)
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .setDefaultSocketConfig(SocketConfig.custom()
+                        .setSoTimeout(Timeout.of(hc5.getSocketTimeout(), hc5.getSocketTimeoutUnit()))
+                        .setTcpNoDelay(true)
+                        .setSoKeepAlive(true)
+                        .build())
+                .setConnectionFactory(socket -> {
+                    connectionsCreated.increment();
+                    return ManagedHttpClientConnectionFactory.INSTANCE.createConnection(socket);
+                })
+                .build();
+
+        // httpcomponents.httpclient.pool.* (leased / available / pending bağlantılar)
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "feign").bindTo(meterRegistry);
+        return connectionManager;
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.OrderService.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.List;
+
+/**
+ * Yalnızca iç ağdan çağrılabilen uç noktalar (örn. /internal/cache-invalidations) için istemci
+ * adresini "cache.invalidation.allowed-networks" içindeki CIDR bloklarıyla karşılaştırır.
+ * Varsayılan: loopback ve özel (RFC 1918 / IPv6 ULA) ağlar.
+ * <p>
+ * Yalnızca bağlantının uzak adresine bakılır; X-Forwarded-For gibi istemcinin yazabildiği başlıklara güvenilmez.
+ */
+@Component
+public class InternalNetworks {
+
+    private final List<Network> networks;
+
+    public InternalNetworks(@Value("${cache.invalidation.allowed-networks:127.0.0.0/8,::1/128,10.0.0.0/8,172.16.0.0/12,192.168.0.0/16,fc00::/7}")
+                            List<String> allowedNetworks) {
+        this.networks = allowedNetworks.stream().map(String::trim).filter(cidr -> !cidr.isEmpty()).map(Network::parse).toList();
+    }
+
+    public boolean contains(String remoteAddress) {
+        if (remoteAddress == null || remoteAddress.isEmpty()) {
+            return false;
+        }
+        byte[] address;
+        try {
+            address = InetAddress.getByName(remoteAddress).getAddress(); // Servlet konteyneri IP verir, DNS'e gidilmez
+        } catch (UnknownHostException e) {
+            return false;
+        }
+        return networks.stream().anyMatch(network -> network.matches(address));
+    }
+
+    private record Network(byte[] address, int prefixLength) {
+
+        static Network parse(String cidr) {
+            int slash = cidr.indexOf('/');
+            try {
+                byte[] address = InetAddress.getByName(slash < 0 ? cidr : cidr.substring(0, slash)).getAddress();
+                int prefixLength = slash < 0 ? address.length * 8 : Integer.parseInt(cidr.substring(slash + 1));
+                if (prefixLength < 0 || prefixLength > address.length * 8) {
+                    throw new IllegalArgumentException("Invalid prefix length in network: " + cidr);
+                }
+                return new Network(address, prefixLength);
+            } catch (UnknownHostException | NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid network: " + cidr, e);
+            }
+        }
+
+        boolean matches(byte[] candidate) {
+            if (candidate.length != address.length) {
+                return false; // IPv4 adresi IPv6 bloğuyla (ve tersi) eşleşmez
+            }
+            int fullBytes = prefixLength / 8;
+            for (int i = 0; i < fullBytes; i++) {
+                if (candidate[i] != address[i]) {
+                    return false;
+                }
+            }
+            int remainingBits = prefixLength % 8;
+            if (remainingBits == 0) {
+                return true;
+            }
+            int mask = 0xFF << (8 - remainingBits);
+            return (candidate[fullBytes] & mask) == (address[fullBytes] & mask);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.OrderService.config;
+
+import com.example.OrderService.jdbc.MonitoringDataSource;
+import com.example.OrderService.jdbc.SlowQueryLog;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Uygulamanın DataSource'unu MonitoringDataSource ile sarar (jdbc-monitoring.enabled=false ile kapatılır).
+ */
+@Configuration
+public class JdbcMonitoringConfig {
+
+    // BeanPostProcessor olduğu için static
+    @Bean
+    @ConditionalOnProperty(value = "jdbc-monitoring.enabled", matchIfMissing = true)
+    public static BeanPostProcessor monitoringDataSourcePostProcessor(ObjectProvider<SlowQueryLog> slowQueryLog) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof MonitoringDataSource) {
+                    return bean;
+                }
+                return new MonitoringDataSource(dataSource, slowQueryLog);
+            }
+        };
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.OrderService.config;
+
+import com.example.OrderService.loadbalancer.HedgingFeignClient;
+import com.example.OrderService.loadbalancer.InstanceLatencyStats;
+import com.example.OrderService.loadbalancer.ProductServiceLoadBalancerConfiguration;
+import feign.Client;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClient;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ProductService çağrıları round-robin yerine gecikme ve uçuştaki istek sayısına göre dağıtılır.
+ * product-lookup.hedging.enabled=true ile yavaş GET'ler ikinci bir instance'a da gönderilir.
+ */
+@Configuration
+@LoadBalancerClient(name = "ProductService", configuration = ProductServiceLoadBalancerConfiguration.class)
+public class LoadBalancerConfig {
+
+    @Bean
+    public InstanceLatencyStats instanceLatencyStats(@Value("${product-lookup.load-balancing.decay-ms:10000}") long decayMs) {
+        return new InstanceLatencyStats(decayMs);
+    }
+
+    // Feign'ın yük dengeleyicili Client bean'ini sarar; BeanPostProcessor olduğu için static
+    @Bean
+    @ConditionalOnProperty(value = "product-lookup.hedging.enabled", havingValue = "true")
+    public static BeanPostProcessor hedgingFeignClientPostProcessor(ObjectProvider<InstanceLatencyStats> latencyStats,
+                                                                    ObjectProvider<MeterRegistry> meterRegistry,
+                                                                    Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+                if (!(bean instanceof Client client) || bean instanceof HedgingFeignClient) {
+                    return bean;
+                }
+                int threads = environment.getProperty("product-lookup.hedging.threads", Integer.class, 64);
+                AtomicInteger threadCount = new AtomicInteger();
+                // Havuz doluysa hedge yapılmaz, istek çağıran thread'de çalışır
+                ThreadPoolExecutor executor = new ThreadPoolExecutor(0, threads, 60, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                        runnable -> {
+                            Thread thread = Executors.defaultThreadFactory().newThread(runnable);
+                            thread.setName("product-hedge-" + threadCount.incrementAndGet());
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+                return new HedgingFeignClient(client, latencyStats.getObject(), executor, "ProductService",
+                        environment.getProperty("product-lookup.hedging.min-delay-ms", Long.class, 5L),
+                        environment.getProperty("product-lookup.hedging.max-ratio", Double.class, 0.1),
+                        meterRegistry.getObject());
+            }
+        };
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.OrderService.controller;
+
+import com.example.OrderService.client.CachingProductServiceClient;
+import com.example.OrderService.client.ResilientProductServiceClient;
+import com.example.OrderService.config.InternalNetworks;
+import com.example.OrderService.dto.CacheInvalidationDto;
+import com.example.OrderService.replica.PriceReplica;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+// ProductService'in cache invalidation yayınına abone olur: değişen ürünlerin fiyatları düşürülür
+@RestController
+@RequiredArgsConstructor
+public class CacheInvalidationController {
+    private final CachingProductServiceClient cachingProductServiceClient;
+    private final PriceReplica priceReplica;
+    private final ResilientProductServiceClient resilientProductServiceClient;
+    private final InternalNetworks internalNetworks;
+
+    // Yalnızca iç ağdaki ProductService instance'ları çağırabilir
+    @PostMapping("/internal/cache-invalidations")
+    public ResponseEntity<Void> invalidate(@RequestBody CacheInvalidationDto invalidation, HttpServletRequest request) {
+        if (!internalNetworks.contains(request.getRemoteAddr())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        invalidation.getProductIds().forEach(cachingProductServiceClient::evict);
+        invalidation.getProductIds().forEach(priceReplica::invalidate);
+        invalidation.getProductIds().forEach(resilientProductServiceClient::evict);
+        return ResponseEntity.noContent().build();
+    }
+}
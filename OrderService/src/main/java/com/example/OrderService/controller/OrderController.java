@@ -32,6 +32,12 @@ public class OrderController {
         return ResponseEntity.ok(updatedOrder);
     }
 
+    @PostMapping("/{id}/recalculate")
+    public ResponseEntity<OrderDto> recalculateTotalAmount(@PathVariable Integer id) {
+        OrderDto recalculatedOrder = orderService.recalculateTotalAmount(id);
+        return ResponseEntity.ok(recalculatedOrder);
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteOrder(@PathVariable Integer id) {
         orderService.deleteOrder(id);
@@ -4,6 +4,7 @@ import com.example.OrderService.dto.OrderDto;
 import com.example.OrderService.dto.OrderItemDto;
 import com.example.OrderService.service.OrderItemService;
 import com.example.OrderService.service.OrderService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -26,11 +27,17 @@ public class OrderItemController {
     }
 
     @PostMapping
-    public ResponseEntity<OrderItemDto> addOrderItem(@PathVariable Integer orderId, @RequestBody OrderItemDto orderItemDto) {
+    public ResponseEntity<OrderItemDto> addOrderItem(@PathVariable Integer orderId, @Valid @RequestBody OrderItemDto orderItemDto) {
         OrderItemDto createdOrderItem = orderItemService.addOrderItem(getOrderOrThrow(orderId), orderItemDto);
         return ResponseEntity.ok(createdOrderItem);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<OrderItemDto>> addOrderItems(@PathVariable Integer orderId, @RequestBody List<@Valid OrderItemDto> orderItemDtos) {
+        List<OrderItemDto> createdOrderItems = orderItemService.addOrderItems(getOrderOrThrow(orderId), orderItemDtos);
+        return ResponseEntity.ok(createdOrderItems);
+    }
+
     @PutMapping("/{orderItemId}")
     public ResponseEntity<OrderItemDto> updateOrderItem(@PathVariable Integer orderId, @PathVariable Integer orderItemId, @RequestBody OrderItemDto orderItemDto) {
         OrderItemDto updatedOrderItem = orderItemService.updateOrderItem(getOrderOrThrow(orderId), orderItemId, orderItemDto);
@@ -0,0 +1,25 @@
+package com.example.OrderService.controller;
+
+import com.example.OrderService.client.CachingProductServiceClient;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/price-cache")
+@RequiredArgsConstructor
+public class PriceCacheController {
+    private final CachingProductServiceClient cachingProductServiceClient;
+
+    @DeleteMapping("/{productId}")
+    public ResponseEntity<Void> evictPrice(@PathVariable Integer productId) {
+        cachingProductServiceClient.evict(productId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Void> evictAllPrices() {
+        cachingProductServiceClient.evictAll();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.OrderService.dto;
+
+import lombok.Data;
+
+import java.util.HashSet;
+import java.util.Set;
+
+// ProductService'in yayınladığı bildirim; OrderService yalnızca ürün id'leriyle ilgilenir
+@Data
+public class CacheInvalidationDto {
+    private Set<Integer> productIds = new HashSet<>();
+}
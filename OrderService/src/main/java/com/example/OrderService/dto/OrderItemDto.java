@@ -1,5 +1,7 @@
 package com.example.OrderService.dto;
 
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -10,8 +12,14 @@ import lombok.NoArgsConstructor;
 public class OrderItemDto {
     private Integer id;
     private Integer orderId;
+    // Satır eklerken zorunlu; güncelleme gövdesi (yalnızca quantity) doğrulanmaz
+    @NotNull
     private Integer productId;
+
+    @NotNull
+    @Positive
     private Integer quantity;
+
     private Double price;
     private Double totalAmount;
 }
\ No newline at end of file
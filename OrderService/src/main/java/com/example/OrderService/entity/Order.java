@@ -3,7 +3,9 @@ package com.example.OrderService.entity;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -23,7 +25,10 @@ public class Order {
     private Double totalAmount; // Bu alan otomatik hesaplanacak
     private Integer status;
 
+    // Lazy koleksiyon equals/hashCode/toString çağrılarında yüklenmesin
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private List<OrderItem> orderItems = new ArrayList<>();
 
     // totalAmount'ı otomatik hesaplayan metot
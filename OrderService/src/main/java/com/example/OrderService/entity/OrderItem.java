@@ -3,19 +3,28 @@ package com.example.OrderService.entity;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @Entity
+@Table(name = "order_item", uniqueConstraints = @UniqueConstraint(name = "uk_order_item_order_product", columnNames = {"order_id", "product_id"}))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class OrderItem {
+    // IDENTITY, Hibernate'in insert batching'ini kapatır; havuzlu sequence ile id'ler önceden ayrılır
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_item_seq")
+    @SequenceGenerator(name = "order_item_seq", sequenceName = "order_item_seq", allocationSize = 50)
     private Integer id;
 
-    @ManyToOne
+    // Çift yönlü ilişki equals/hashCode/toString'de tüm order graph'ını dolaşmasın.
+    // Lazy: satırlar listelenirken order ayrıca yüklenmez, mapper proxy'den yalnızca id'yi okur
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "order_id", nullable = false)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private Order order;
 
     private Integer productId;
@@ -0,0 +1,20 @@
+package com.example.OrderService.jdbc;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlowQuery {
+    private String sql;
+    private List<Object> parameters; // Bind parametreleri, 1'den başlayan index sırasıyla
+    private double elapsedMs;
+    private Instant executedAt;
+    private List<Map<String, Object>> explain; // explain-threshold-ms aşıldıysa, arka planda doldurulur
+}
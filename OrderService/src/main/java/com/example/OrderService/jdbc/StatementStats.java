@@ -0,0 +1,50 @@
+package com.example.OrderService.jdbc;
+
+import io.micrometer.core.instrument.Timer;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Normalleştirilmiş tek bir SQL ifadesinin gecikme timer'ı ve son alınan EXPLAIN çıktısı.
+ */
+class StatementStats {
+
+    private final String sql;
+    private final Timer timer;
+    private final AtomicLong lastExplainAt = new AtomicLong(Long.MIN_VALUE);
+    private volatile List<Map<String, Object>> explain;
+
+    StatementStats(String sql, Timer timer) {
+        this.sql = sql;
+        this.timer = timer;
+    }
+
+    String sql() {
+        return sql;
+    }
+
+    Timer timer() {
+        return timer;
+    }
+
+    List<Map<String, Object>> explain() {
+        return explain;
+    }
+
+    void explain(List<Map<String, Object>> explain) {
+        this.explain = explain;
+    }
+
+    // Aynı ifade için EXPLAIN en fazla interval'de bir alınır; yarışı kazanan thread alır
+    boolean tryStartExplain(long nowMillis, long intervalMillis) {
+        long last = lastExplainAt.get();
+        return (last == Long.MIN_VALUE || nowMillis - last >= intervalMillis) && lastExplainAt.compareAndSet(last, nowMillis);
+    }
+
+    void resetExplain() {
+        lastExplainAt.set(Long.MIN_VALUE);
+        explain = null;
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.OrderService.loadbalancer;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ProductService'e giden GET istekleri p95 gecikmesi içinde yanıtlanmazsa aynı isteği ikinci kez
+ * gönderir (hedged request) ve önce gelen başarılı (5xx olmayan) yanıtı döner; geç kalan yanıt kapatılır.
+ * İkinci istek de yük dengeleyiciden geçer; ilk instance'ın uçuştaki isteği sayıldığı için
+ * büyük olasılıkla başka bir instance seçilir.
+ * <p>
+ * Yalnızca idempotent GET'ler hedge edilir. Ek yük max-ratio ile sınırlıdır: gönderilen hedge
+ * sayısı hedge edilebilir isteklerin bu oranını aşamaz.
+ */
+@Slf4j
+public class HedgingFeignClient implements Client {
+
+    private final Client delegate;
+    private final InstanceLatencyStats latencyStats;
+    private final ExecutorService executor;
+    private final String serviceId;
+    private final long minDelayNanos;
+    private final double maxRatio;
+
+    private final AtomicLong hedgeableRequests = new AtomicLong();
+    private final AtomicLong hedgesSent = new AtomicLong();
+    private final Counter hedgeSentCounter;
+    private final Counter hedgeWonCounter;
+
+    public HedgingFeignClient(Client delegate, InstanceLatencyStats latencyStats, ExecutorService executor, String serviceId,
+                              long minDelayMs, double maxRatio, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.latencyStats = latencyStats;
+        this.executor = executor;
+        this.serviceId = serviceId;
+        this.minDelayNanos = TimeUnit.MILLISECONDS.toNanos(minDelayMs);
+        this.maxRatio = maxRatio;
+        this.hedgeSentCounter = Counter.builder("product.hedge.requests")
+                .description("p95 gecikmesini aşan GET'ler için gönderilen ikinci istekler")
+                .tag("outcome", "sent")
+                .register(meterRegistry);
+        this.hedgeWonCounter = Counter.builder("product.hedge.requests")
+                .description("Yanıtı ilk isteğinkinden önce gelen ikinci istekler")
+                .tag("outcome", "won")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        long p95Nanos = latencyStats.p95Nanos();
+        if (request.httpMethod() != Request.HttpMethod.GET || p95Nanos == 0 || !isTarget(request)) {
+            return delegate.execute(request, options); // Hedge edilemez ya da henüz yeterli gecikme örneği yok
+        }
+        hedgeableRequests.incrementAndGet();
+
+        CompletableFuture<Response> primary;
+        try {
+            primary = submit(request, options);
+        } catch (RejectedExecutionException e) {
+            return delegate.execute(request, options);
+        }
+
+        try {
+            try {
+                return primary.get(Math.max(p95Nanos, minDelayNanos), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                // İlk istek p95'i aştı
+            }
+
+            CompletableFuture<Response> hedge = tryHedge(request, options);
+            if (hedge == null) {
+                return primary.get();
+            }
+            Response response = firstSuccessful(primary, hedge).get();
+            if (hedge.isDone() && !hedge.isCompletedExceptionally() && hedge.join() == response) {
+                hedgeWonCounter.increment();
+            }
+            return response;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            closeWhenDone(primary);
+            throw new IOException("Interrupted while waiting for " + request.url(), e);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    private boolean isTarget(Request request) {
+        String host = URI.create(request.url()).getHost();
+        return serviceId.equalsIgnoreCase(host);
+    }
+
+    private CompletableFuture<Response> tryHedge(Request request, Request.Options options) {
+        // Hedge bütçesi: yük en fazla maxRatio kadar artsın
+        long sent = hedgesSent.get();
+        if (sent >= hedgeableRequests.get() * maxRatio || !hedgesSent.compareAndSet(sent, sent + 1)) {
+            return null;
+        }
+        try {
+            CompletableFuture<Response> hedge = submit(request, options);
+            hedgeSentCounter.increment();
+            return hedge;
+        } catch (RejectedExecutionException e) {
+            hedgesSent.decrementAndGet();
+            return null;
+        }
+    }
+
+    private CompletableFuture<Response> submit(Request request, Request.Options options) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return delegate.execute(request, options);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, executor);
+    }
+
+    // İki istekten önce başarılı yanıt vereninki. 5xx ya da bağlantı hatası diğer isteği bekler; 4xx istemci
+    // hatasıdır, diğer instance'ta da aynı olur ve yanıt olarak kabul edilir. İkisi de başarısızsa varsa 5xx yanıtı,
+    // yoksa son hata döner
+    private static CompletableFuture<Response> firstSuccessful(CompletableFuture<Response> first, CompletableFuture<Response> second) {
+        Race race = new Race();
+        first.whenComplete(race::onComplete);
+        second.whenComplete(race::onComplete);
+        return race.result;
+    }
+
+    private static final class Race {
+        private final CompletableFuture<Response> result = new CompletableFuture<>();
+        private int failures;
+        private Response serverError; // Diğer istek de başarısız olursa döndürülecek 5xx yanıtı
+
+        synchronized void onComplete(Response response, Throwable error) {
+            if (result.isDone()) {
+                close(response); // Geç kalan yanıtın bağlantısı havuza dönsün
+                return;
+            }
+            if (error == null && response.status() < 500) {
+                result.complete(response);
+                close(serverError);
+                return;
+            }
+            if (++failures < 2) {
+                serverError = response;
+                return;
+            }
+            if (response != null) {
+                result.complete(response);
+                close(serverError);
+            } else if (serverError != null) {
+                result.complete(serverError);
+            } else {
+                result.completeExceptionally(error);
+            }
+        }
+
+        private static void close(Response response) {
+            if (response != null) {
+                response.close();
+            }
+        }
+    }
+
+    private static void closeWhenDone(CompletableFuture<Response> future) {
+        future.whenComplete((response, error) -> {
+            if (response != null) {
+                response.close();
+            }
+        });
+    }
+
+    private static IOException unwrap(ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof UncheckedIOException uncheckedIOException) {
+            return uncheckedIOException.getCause();
+        }
+        if (cause instanceof IOException ioException) {
+            return ioException;
+        }
+        if (cause instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        return new IOException(cause);
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.OrderService.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ProductService instance'ları için peak-EWMA gecikme ve uçuştaki istek sayısı.
+ * Yavaş bir yanıt EWMA'yı hemen yukarı çeker, hızlı yanıtlar ve geçen zaman onu yavaşça indirir;
+ * böylece GC duraklamasındaki bir instance hızla devre dışı kalır, bir süre sonra yeniden denenir.
+ * Ayrıca hedge gecikmesi için son isteklerin p95 gecikmesini tutar.
+ */
+public class InstanceLatencyStats {
+
+    private static final int WINDOW_SIZE = 1024;
+    private static final int MIN_SAMPLES_FOR_P95 = 100;
+    private static final long P95_RECOMPUTE_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final double decayNanos;
+    private final Map<String, InstanceStats> instances = new ConcurrentHashMap<>();
+
+    // Son WINDOW_SIZE isteğin gecikmeleri (tüm instance'lar)
+    private final long[] window = new long[WINDOW_SIZE];
+    private int windowIndex;
+    private int windowCount;
+    private long p95ComputedAt;
+    private volatile long p95Nanos;
+
+    public InstanceLatencyStats(long decayMs) {
+        this.decayNanos = TimeUnit.MILLISECONDS.toNanos(decayMs);
+    }
+
+    // Düşük olan tercih edilir
+    public double score(ServiceInstance instance) {
+        InstanceStats stats = instances.get(key(instance));
+        if (stats == null) {
+            return 0.0; // Hiç denenmemiş instance önce denensin
+        }
+        return (stats.ewma(System.nanoTime(), decayNanos) + 1) * (stats.outstanding.get() + 1);
+    }
+
+    public void requestStarted(ServiceInstance instance) {
+        stats(instance).outstanding.incrementAndGet();
+    }
+
+    public void requestCompleted(ServiceInstance instance, long latencyNanos) {
+        InstanceStats stats = stats(instance);
+        stats.outstanding.decrementAndGet();
+        if (latencyNanos >= 0) {
+            stats.observe(latencyNanos, System.nanoTime(), decayNanos);
+            recordLatency(latencyNanos);
+        }
+    }
+
+    // Yeterli örnek yoksa 0
+    public long p95Nanos() {
+        long now = System.nanoTime();
+        if (p95Nanos == 0 || now - p95ComputedAt > P95_RECOMPUTE_NANOS) {
+            recomputeP95(now);
+        }
+        return p95Nanos;
+    }
+
+    private synchronized void recordLatency(long latencyNanos) {
+        window[windowIndex] = latencyNanos;
+        windowIndex = (windowIndex + 1) % WINDOW_SIZE;
+        windowCount = Math.min(windowCount + 1, WINDOW_SIZE);
+    }
+
+    private synchronized void recomputeP95(long now) {
+        p95ComputedAt = now;
+        if (windowCount < MIN_SAMPLES_FOR_P95) {
+            p95Nanos = 0;
+            return;
+        }
+        long[] samples = Arrays.copyOf(window, windowCount);
+        Arrays.sort(samples);
+        p95Nanos = samples[(int) Math.ceil(0.95 * samples.length) - 1];
+    }
+
+    private InstanceStats stats(ServiceInstance instance) {
+        return instances.computeIfAbsent(key(instance), key -> new InstanceStats());
+    }
+
+    private static String key(ServiceInstance instance) {
+        return instance.getInstanceId() != null ? instance.getInstanceId() : instance.getHost() + ":" + instance.getPort();
+    }
+
+    private static class InstanceStats {
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private double ewmaNanos;
+        private long lastUpdateNanos = System.nanoTime();
+
+        synchronized void observe(long latencyNanos, long now, double decayNanos) {
+            if (latencyNanos > ewmaNanos) {
+                ewmaNanos = latencyNanos; // Peak: kötüleşme hemen yansır
+            } else {
+                double weight = Math.exp(-(now - lastUpdateNanos) / decayNanos);
+                ewmaNanos = ewmaNanos * weight + latencyNanos * (1 - weight);
+            }
+            lastUpdateNanos = now;
+        }
+
+        // Yanıt gelmeyen süre boyunca değer sıfıra doğru söner
+        synchronized double ewma(long now, double decayNanos) {
+            return ewmaNanos * Math.exp(-(now - lastUpdateNanos) / decayNanos);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.OrderService.loadbalancer;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * Yalnızca ProductService'in yük dengeleyici context'inde kullanılır (bkz. LoadBalancerConfig).
+ * Bilerek @Configuration değildir: component scan ile bulunursa tüm servislere uygulanırdı.
+ */
+public class ProductServiceLoadBalancerConfiguration {
+
+    @Bean
+    public ReactorLoadBalancer<ServiceInstance> latencyAwareLoadBalancer(Environment environment,
+                                                                         LoadBalancerClientFactory loadBalancerClientFactory,
+                                                                         InstanceLatencyStats latencyStats) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        ObjectProvider<ServiceInstanceListSupplier> supplier =
+                loadBalancerClientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class);
+        return new LatencyAwareLoadBalancer(supplier, latencyStats, serviceId);
+    }
+
+    @Bean
+    public LoadBalancerLifecycle<?, ?, ?> latencyTrackingLifecycle(InstanceLatencyStats latencyStats) {
+        return new LatencyTrackingLifecycle(latencyStats);
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.OrderService.mapper;
+
+import com.example.OrderService.dto.OrderItemDto;
+import com.example.OrderService.entity.OrderItem;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import java.util.List;
+
+@Mapper(componentModel = "spring")
+public interface OrderItemMapper {
+
+    // Order referansından (proxy) yalnızca id okunur, order yüklenmez
+    @Mapping(target = "orderId", source = "order.id")
+    OrderItemDto toDto(OrderItem orderItem);
+
+    List<OrderItemDto> toDtoList(List<OrderItem> orderItems);
+
+    // Order, fiyat ve toplam tutar servis tarafından atanır
+    @Mapping(target = "order", ignore = true)
+    OrderItem toEntity(OrderItemDto orderItemDto);
+}
@@ -0,0 +1,22 @@
+package com.example.OrderService.mapper;
+
+import com.example.OrderService.dto.OrderDto;
+import com.example.OrderService.entity.Order;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+
+// Derleme zamanında üretilen dönüşüm (OrderMapperImpl); BeanUtils gibi yansıma kullanmaz
+@Mapper(componentModel = "spring")
+public interface OrderMapper {
+
+    OrderDto toDto(Order order);
+
+    // Satırlar OrderItemService üzerinden yönetilir
+    @Mapping(target = "orderItems", ignore = true)
+    Order toEntity(OrderDto orderDto);
+
+    // Yüklenmiş order'ı DTO'daki değerlerle günceller (null alanlar da kopyalanır)
+    @Mapping(target = "orderItems", ignore = true)
+    void update(OrderDto orderDto, @MappingTarget Order order);
+}
@@ -0,0 +1,208 @@
+package com.example.OrderService.replica;
+
+import com.example.OrderService.client.ProductChangeDto;
+import com.example.OrderService.client.ResilientProductServiceClient;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * OrderService içinde ProductService fiyatlarının yerel kopyası ({@link PriceTable}).
+ * İlk açılışta tüm ürünler, sonrasında yalnızca değişenler ProductService'in
+ * /api/products/changes akışından çekilir. Son uygulanan version dosyada tutulduğu için
+ * yeniden başlatmada tam yükleme yapılmaz, kalınan yerden devam edilir.
+ * <p>
+ * Replika max-staleness süresinden uzun süredir senkronize olamadıysa kullanılmaz;
+ * çağıran ProductServiceClient'a düşer.
+ * <p>
+ * Tablo büyüdükçe yeni bir dosyaya yazılır (path, path.1, path.2, ...): eşlemesi açık dosyanın
+ * üzerine taşıma yapılmaz (Windows'ta başarısız olur). Açılışta en yüksek numaralı dosya kullanılır,
+ * eskiler silinir.
+ */
+@Component
+@Slf4j
+public class PriceReplica {
+
+    @Value("${price-replica.enabled:false}")
+    private boolean enabled;
+
+    @Value("${price-replica.path:price-replica.dat}")
+    private String path;
+
+    @Value("${price-replica.initial-capacity:1048576}")
+    private int initialCapacity;
+
+    @Value("${price-replica.refresh-interval-ms:1000}")
+    private long refreshIntervalMs;
+
+    @Value("${price-replica.page-size:10000}")
+    private int pageSize;
+
+    @Value("${price-replica.max-staleness-ms:30000}")
+    private long maxStalenessMs;
+
+    @Autowired
+    private ResilientProductServiceClient productServiceClient;
+
+    private volatile PriceTable table;
+    private int generation; // Tablonun dosya numarası; yalnızca refresher thread'i değiştirir
+    private volatile long lastSyncMillis;
+    private ScheduledExecutorService refresher;
+
+    // Invalidation bildirimi gelen ama henüz yeni fiyatı uygulanmamış ürünler -> bildirim zamanı (nanoTime)
+    private final Map<Integer, Long> invalidated = new ConcurrentHashMap<>();
+    // Kuyrukta bekleyen bir invalidation refresh'i var mı; aynı anda en fazla bir tane planlanır
+    private final AtomicBoolean refreshPending = new AtomicBoolean();
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        table = openTable();
+        log.info("Price replica opened at {} with {} products, resuming from version {}", path, table.size(), table.lastVersion());
+
+        refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "price-replica-refresher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refresher.scheduleWithFixedDelay(this::refresh, 0, refreshIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() throws Exception {
+        if (refresher == null) {
+            return;
+        }
+        refresher.shutdown();
+        refresher.awaitTermination(refreshIntervalMs * 10, TimeUnit.MILLISECONDS);
+        table.close();
+    }
+
+    // Replikada yoksa, ürün silinmişse veya replika güncel değilse NaN döner
+    public double getPrice(Integer productId) {
+        PriceTable current = table;
+        if (current == null || productId == null || System.currentTimeMillis() - lastSyncMillis > maxStalenessMs) {
+            return Double.NaN;
+        }
+        if (!invalidated.isEmpty() && invalidated.containsKey(productId)) {
+            return Double.NaN;
+        }
+        return current.get(productId);
+    }
+
+    // Fiyat değişti bildirimi: yeni fiyat çekilene kadar replika bu ürün için kullanılmaz.
+    // Bildirim yağmurunda her id için ayrı refresh yerine bekleyen tek refresh hepsini kapsar
+    public void invalidate(Integer productId) {
+        if (refresher == null) {
+            return;
+        }
+        invalidated.put(productId, System.nanoTime());
+        if (refreshPending.compareAndSet(false, true)) {
+            refresher.execute(this::refresh);
+        }
+    }
+
+    // Yalnızca refresher thread'inde çalışır: tablonun tek yazıcısı
+    void refresh() {
+        // Bu noktadan sonra gelen bildirimler yeni bir refresh planlar
+        refreshPending.set(false);
+        try {
+            List<ProductChangeDto> changes;
+            do {
+                // Sayfa istenmeden önce gelen bildirimin değişikliği bu sayfada ya da öncekilerdedir
+                long requestedAt = System.nanoTime();
+                changes = productServiceClient.getProductChanges(table.lastVersion(), pageSize);
+                for (ProductChangeDto change : changes) {
+                    apply(change);
+                    invalidated.computeIfPresent(change.getId(), (productId, notifiedAt) -> notifiedAt - requestedAt < 0 ? null : notifiedAt);
+                }
+                if (!changes.isEmpty()) {
+                    table.commitVersion(changes.get(changes.size() - 1).getVersion());
+                }
+            } while (changes.size() == pageSize);
+
+            // Değişikliği akışta hiç görünmeyen bildirimler (örn. değişiklik bildirimden önce uygulanmıştı)
+            // en fazla max-staleness kadar tutulur; replika zaten bu kadar eski olabilir
+            long expiredBefore = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(maxStalenessMs);
+            invalidated.values().removeIf(notifiedAt -> notifiedAt - expiredBefore < 0);
+            lastSyncMillis = System.currentTimeMillis();
+        } catch (Exception e) {
+            log.warn("Price replica refresh failed, falling back to ProductService until next refresh: {}", e.getMessage());
+        }
+    }
+
+    private void apply(ProductChangeDto change) throws IOException {
+        double price = Boolean.TRUE.equals(change.getDeleted()) || change.getPrice() == null ? Double.NaN : change.getPrice();
+        if (!table.put(change.getId(), price)) {
+            grow();
+            table.put(change.getId(), price);
+        }
+    }
+
+    // En yüksek numaralı tablo dosyasını açar, önceki büyütmelerden kalan eski dosyaları siler
+    PriceTable openTable() throws IOException {
+        Path base = Path.of(path);
+        generation = 0;
+        Path parent = base.toAbsolutePath().getParent();
+        if (parent != null && Files.isDirectory(parent)) {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(parent, base.getFileName() + ".*")) {
+                for (Path file : files) {
+                    generation = Math.max(generation, generationOf(base, file));
+                }
+            }
+        }
+        PriceTable opened = PriceTable.open(tableFile(generation), initialCapacity);
+        for (int older = 0; older < generation; older++) {
+            Files.deleteIfExists(tableFile(older));
+        }
+        return opened;
+    }
+
+    private void grow() throws IOException {
+        PriceTable current = table;
+        Path currentFile = tableFile(generation);
+
+        PriceTable grown = current.grow(tableFile(generation + 1));
+        generation++;
+        table = grown;
+        current.close();
+        try {
+            Files.deleteIfExists(currentFile);
+        } catch (IOException e) {
+            // Windows'ta eşleme GC ile serbest kalana kadar silinemez; açılışta silinir
+            log.debug("Could not delete old price replica file {}: {}", currentFile, e.getMessage());
+        }
+        log.info("Price replica grown to {} slots in {}", grown.capacity(), tableFile(generation));
+    }
+
+    private Path tableFile(int generation) {
+        return generation == 0 ? Path.of(path) : Path.of(path + "." + generation);
+    }
+
+    // path.N -> N; tabloya ait olmayan dosyalar (örn. eski path.tmp) 0 sayılır
+    private static int generationOf(Path base, Path file) {
+        String suffix = file.getFileName().toString().substring(base.getFileName().toString().length() + 1);
+        try {
+            return Integer.parseInt(suffix);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.OrderService.replica;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Product id -> fiyat eşlemesini bellek eşlemeli (memory-mapped) bir dosyada, heap dışında tutan
+ * açık adresli (linear probing) hash tablosu. Nesne üretmez; okuma yolunda GC yükü yoktur.
+ * <p>
+ * Dosya düzeni: 64 byte başlık (magic, kapasite, dolu slot sayısı, son uygulanan version),
+ * ardından 16 byte'lık slotlar (8 byte product id, 8 byte fiyatın double bitleri).
+ * Tek yazıcı (replika yenileyicisi), çok okuyucu: fiyat anahtardan önce release ile yazılır,
+ * okuyucu anahtarı acquire ile gördüğünde fiyatı da görür.
+ * Silinen ürünler NaN fiyatla işaretlenir; slot boşaltılmadığı için probe zinciri bozulmaz.
+ */
+class PriceTable implements Closeable {
+
+    private static final long MAGIC = 0x3142545F45434952L; // "RICE_TB1"
+    private static final int HEADER_BYTES = 64;
+    private static final int SLOT_BYTES = 16;
+    private static final int MAGIC_OFFSET = 0;
+    private static final int CAPACITY_OFFSET = 8;
+    private static final int SIZE_OFFSET = 16;
+    private static final int VERSION_OFFSET = 24;
+    private static final long EMPTY = 0L;
+    private static final double MAX_LOAD = 0.7;
+
+    // Tek bir MappedByteBuffer en fazla 2 GB olabilir: 2^26 slot = 1 GB, ~47 milyon ürün
+    static final int MAX_CAPACITY = 1 << 26;
+
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private int size;
+
+    private PriceTable(FileChannel channel, MappedByteBuffer buffer, int capacity, int size) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.capacity = capacity;
+        this.size = size;
+    }
+
+    // Geçerli bir dosya varsa olduğu gibi açar (yeniden yükleme yok), yoksa boş bir tablo oluşturur
+    static PriceTable open(Path path, int minCapacity) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        FileChannel channel = FileChannel.open(path, CREATE, READ, WRITE);
+        try {
+            if (channel.size() >= HEADER_BYTES) {
+                MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+                long capacity = (long) LONGS.get(header, CAPACITY_OFFSET);
+                if ((long) LONGS.get(header, MAGIC_OFFSET) == MAGIC && isValidCapacity(capacity)
+                        && channel.size() == fileSize((int) capacity)) {
+                    MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize((int) capacity));
+                    return new PriceTable(channel, buffer, (int) capacity, (int) (long) LONGS.get(buffer, SIZE_OFFSET));
+                }
+            }
+
+            // Yeni ya da bozuk dosya: sıfırdan oluştur
+            int capacity = capacityFor(minCapacity);
+            channel.truncate(0);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize(capacity));
+            LONGS.set(buffer, CAPACITY_OFFSET, (long) capacity);
+            LONGS.set(buffer, SIZE_OFFSET, 0L);
+            LONGS.set(buffer, VERSION_OFFSET, 0L);
+            LONGS.set(buffer, MAGIC_OFFSET, MAGIC);
+            buffer.force();
+            return new PriceTable(channel, buffer, capacity, 0);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // Fiyat yoksa veya ürün silinmişse NaN döner
+    double get(int productId) {
+        if (productId <= 0) {
+            return Double.NaN;
+        }
+        int mask = capacity - 1;
+        int slot = hash(productId) & mask;
+        for (int probes = 0; probes < capacity; probes++) {
+            int offset = HEADER_BYTES + slot * SLOT_BYTES;
+            long key = (long) LONGS.getAcquire(buffer, offset);
+            if (key == EMPTY) {
+                return Double.NaN;
+            }
+            if (key == productId) {
+                return Double.longBitsToDouble((long) LONGS.getAcquire(buffer, offset + 8));
+            }
+            slot = (slot + 1) & mask;
+        }
+        return Double.NaN;
+    }
+
+    // Tablo doluluk sınırına geldiyse false döner; çağıran büyütüp tekrar dener
+    boolean put(int productId, double price) {
+        if (productId <= 0) {
+            return true; // IDENTITY id'leri 1'den başlar, 0 boş slot işaretidir
+        }
+        int mask = capacity - 1;
+        int slot = hash(productId) & mask;
+        for (int probes = 0; probes < capacity; probes++) {
+            int offset = HEADER_BYTES + slot * SLOT_BYTES;
+            long key = (long) LONGS.get(buffer, offset);
+            if (key == productId) {
+                LONGS.setRelease(buffer, offset + 8, Double.doubleToRawLongBits(price));
+                return true;
+            }
+            if (key == EMPTY) {
+                if (size + 1 > capacity * MAX_LOAD) {
+                    return false;
+                }
+                LONGS.setRelease(buffer, offset + 8, Double.doubleToRawLongBits(price));
+                LONGS.setRelease(buffer, offset, (long) productId);
+                size++;
+                LONGS.setRelease(buffer, SIZE_OFFSET, (long) size);
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    long lastVersion() {
+        return (long) LONGS.getAcquire(buffer, VERSION_OFFSET);
+    }
+
+    // Önce veriler diske yazılır, sonra version: çökmede version hiçbir zaman verinin önüne geçmez
+    void commitVersion(long version) {
+        buffer.force();
+        LONGS.setRelease(buffer, VERSION_OFFSET, version);
+        buffer.force(0, HEADER_BYTES);
+    }
+
+    int size() {
+        return size;
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    // İki kat kapasiteli yeni bir dosyaya kopyalar; eski eşleme kapanana kadar okunmaya devam edebilir
+    PriceTable grow(Path path) throws IOException {
+        if (capacity >= MAX_CAPACITY) {
+            throw new IllegalStateException("Price table is full at maximum capacity " + MAX_CAPACITY);
+        }
+        Files.deleteIfExists(path);
+        PriceTable grown = open(path, capacity * 2);
+        for (int slot = 0; slot < capacity; slot++) {
+            int offset = HEADER_BYTES + slot * SLOT_BYTES;
+            long key = (long) LONGS.get(buffer, offset);
+            if (key != EMPTY) {
+                grown.put((int) key, Double.longBitsToDouble((long) LONGS.get(buffer, offset + 8)));
+            }
+        }
+        grown.commitVersion(lastVersion());
+        return grown;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close(); // Eşleme GC ile serbest kalır; elinde referans olan okuyucular etkilenmez
+    }
+
+    private static int hash(int productId) {
+        int h = productId * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static int capacityFor(int minCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(16, Math.min(minCapacity, MAX_CAPACITY) - 1)) << 1;
+        return Math.min(capacity, MAX_CAPACITY);
+    }
+
+    private static boolean isValidCapacity(long capacity) {
+        return capacity > 0 && capacity <= MAX_CAPACITY && Long.bitCount(capacity) == 1;
+    }
+
+    private static long fileSize(int capacity) {
+        return HEADER_BYTES + (long) capacity * SLOT_BYTES;
+    }
+}
@@ -2,6 +2,28 @@ package com.example.OrderService.repository;
 
 import com.example.OrderService.entity.OrderItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface OrderItemRepository extends JpaRepository<OrderItem, Integer> {
+
+    // (order_id, product_id) unique index'i üzerinden tek satır erişimi
+    Optional<OrderItem> findByOrderIdAndProductId(Integer orderId, Integer productId);
+
+    List<OrderItem> findByOrderIdAndProductIdIn(Integer orderId, Collection<Integer> productIds);
+
+    Optional<OrderItem> findByIdAndOrderId(Integer id, Integer orderId);
+
+    List<OrderItem> findByOrderId(Integer orderId);
+
+    // Miktarı veritabanında atomik olarak artırır ve satırı kilitler; satır JVM'e okunup geri yazılmaz.
+    // Aynı transaction'da sonradan okunan satır, kendinden önce commit edilmiş tüm eklemeleri içerir.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE OrderItem i SET i.quantity = i.quantity + :quantity WHERE i.order.id = :orderId AND i.productId = :productId")
+    int addToQuantity(@Param("orderId") Integer orderId, @Param("productId") Integer productId, @Param("quantity") Integer quantity);
 }
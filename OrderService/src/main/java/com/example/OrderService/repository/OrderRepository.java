@@ -2,6 +2,19 @@ package com.example.OrderService.repository;
 
 import com.example.OrderService.entity.Order;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface OrderRepository extends JpaRepository<Order, Integer> {
+
+    // Toplamı veritabanında atomik olarak günceller; Order JVM'e okunup geri yazılmaz
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Order o SET o.totalAmount = COALESCE(o.totalAmount, 0) + :delta WHERE o.id = :orderId")
+    int addToTotalAmount(@Param("orderId") Integer orderId, @Param("delta") double delta);
+
+    // Mutabakat: toplamı order_item satırlarının SUM'ı ile yeniden hesaplar
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Order o SET o.totalAmount = (SELECT COALESCE(SUM(i.totalAmount), 0) FROM OrderItem i WHERE i.order.id = o.id) WHERE o.id = :orderId")
+    int recalculateTotalAmount(@Param("orderId") Integer orderId);
 }
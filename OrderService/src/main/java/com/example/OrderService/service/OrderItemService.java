@@ -1,21 +1,27 @@
 package com.example.OrderService.service;
 
+import com.example.OrderService.client.CachingProductServiceClient;
 import com.example.OrderService.client.ProductDto;
-import com.example.OrderService.client.ProductServiceClient;
 import com.example.OrderService.dto.OrderDto;
 import com.example.OrderService.dto.OrderItemDto;
 import com.example.OrderService.entity.Order;
 import com.example.OrderService.entity.OrderItem;
+import com.example.OrderService.mapper.OrderItemMapper;
 import com.example.OrderService.repository.OrderItemRepository;
 import com.example.OrderService.repository.OrderRepository;
+import com.example.OrderService.replica.PriceReplica;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,136 +35,200 @@ public class OrderItemService {
     private OrderRepository orderRepository;
 
     @Autowired
-    private ProductServiceClient productServiceClient;
+    private CachingProductServiceClient productServiceClient;
+
+    @Autowired
+    private PriceReplica priceReplica;
+
+    @Autowired
+    private OrderItemMapper orderItemMapper;
 
     @Transactional
     public OrderItemDto addOrderItem(OrderDto orderDto, OrderItemDto orderItemDto) {
         log.info("Adding order item to order with id: {}", orderDto.getId());
 
-        // Order'ı repository üzerinden çek
-        Order order = orderRepository.findById(orderDto.getId())
-                .orElseThrow(() -> new IllegalArgumentException("Order not found with id: " + orderDto.getId()));
-
-        // OrderItem'ı oluştur veya güncelle
-        OrderItem orderItem = findOrCreateOrderItem(order, orderItemDto);
-        updateOrderTotalAmount(order, orderItem.getTotalAmount());
+        Order order = getOrderReference(orderDto.getId());
+        double price = getPrice(orderItemDto.getProductId()); // Ağ çağrısı satır kilidi alınmadan önce
+
+        // Satır varsa miktar veritabanında artırılır (okuyup yazmak eşzamanlı bir eklemeyi ezerdi);
+        // ardından (order_id, product_id) ile okunan kilitli satır güncel miktarı ve toplamı taşır
+        OrderItem orderItem;
+        double oldTotalAmount;
+        if (orderItemRepository.addToQuantity(order.getId(), orderItemDto.getProductId(), orderItemDto.getQuantity()) > 0) {
+            orderItem = orderItemRepository.findByOrderIdAndProductId(order.getId(), orderItemDto.getProductId()).orElseThrow();
+            oldTotalAmount = Optional.ofNullable(orderItem.getTotalAmount()).orElse(0.0);
+        } else {
+            orderItem = orderItemMapper.toEntity(orderItemDto);
+            orderItem.setOrder(order);
+            oldTotalAmount = 0.0;
+        }
+        orderItem.setPrice(price);
+        orderItem.setTotalAmount(price * orderItem.getQuantity());
 
         orderItem = orderItemRepository.save(orderItem);
+        updateOrderTotalAmount(order.getId(), orderItem.getTotalAmount() - oldTotalAmount);
 
         // DTO'ya dönüştür ve döndür
-        OrderItemDto resultDto = new OrderItemDto();
-        BeanUtils.copyProperties(orderItem, resultDto);
-        return resultDto;
+        return orderItemMapper.toDto(orderItem);
+    }
+
+    @Transactional
+    public List<OrderItemDto> addOrderItems(OrderDto orderDto, List<OrderItemDto> orderItemDtos) {
+        log.info("Adding {} order items to order with id: {}", orderItemDtos.size(), orderDto.getId());
+        if (orderItemDtos.isEmpty()) {
+            return List.of(); // Fiyat sorgusu ve toplam güncellemesi gerekmez
+        }
+
+        Order order = getOrderReference(orderDto.getId());
+
+        // Aynı ürüne ait satırları tek satırda birleştir
+        Map<Integer, Integer> quantitiesByProductId = new LinkedHashMap<>();
+        for (OrderItemDto dto : orderItemDtos) {
+            // Controller @Valid ile doğrular; servisi doğrudan çağıranlar için merge null ile patlamasın
+            if (dto.getProductId() == null || dto.getQuantity() == null || dto.getQuantity() <= 0) {
+                throw new IllegalArgumentException("Invalid order item: " + dto);
+            }
+            quantitiesByProductId.merge(dto.getProductId(), dto.getQuantity(), Integer::sum);
+        }
+
+        // Fiyatları önce yerel replikadan, eksikleri ProductService'ten tek bir çağrıyla al
+        Map<Integer, Double> pricesByProductId = new HashMap<>();
+        List<Integer> missingProductIds = new ArrayList<>();
+        for (Integer productId : quantitiesByProductId.keySet()) {
+            double price = priceReplica.getPrice(productId);
+            if (Double.isNaN(price)) {
+                missingProductIds.add(productId);
+            } else {
+                pricesByProductId.put(productId, price);
+            }
+        }
+        if (!missingProductIds.isEmpty()) {
+            productServiceClient.getProductsByIds(missingProductIds)
+                    .forEach(productDto -> pricesByProductId.put(productDto.getId(), productDto.getPrice()));
+        }
+
+        // Satırı olan ürünlerin miktarı veritabanında artırılır; kilitler product id sırasıyla alınır ki
+        // eşzamanlı eklemeler deadlock'a girmesin. Yeniden okunan satırlar güncel miktarı ve toplamı taşır.
+        List<Integer> existingProductIds = orderItemRepository.findByOrderIdAndProductIdIn(order.getId(), quantitiesByProductId.keySet()).stream()
+                .map(OrderItem::getProductId)
+                .sorted()
+                .toList();
+        existingProductIds.forEach(productId -> orderItemRepository.addToQuantity(order.getId(), productId, quantitiesByProductId.get(productId)));
+        Map<Integer, OrderItem> existingOrderItems = existingProductIds.isEmpty() ? Map.of()
+                : orderItemRepository.findByOrderIdAndProductIdIn(order.getId(), existingProductIds).stream()
+                .collect(Collectors.toMap(OrderItem::getProductId, Function.identity(), (first, second) -> first));
+
+        double totalAmountDelta = 0.0;
+        List<OrderItem> orderItems = new ArrayList<>();
+        for (Map.Entry<Integer, Integer> entry : quantitiesByProductId.entrySet()) {
+            Double price = pricesByProductId.get(entry.getKey());
+            if (price == null) {
+                throw new IllegalArgumentException("Product not found with id: " + entry.getKey());
+            }
+
+            OrderItem orderItem = existingOrderItems.get(entry.getKey());
+            if (orderItem == null) {
+                orderItem = new OrderItem();
+                orderItem.setOrder(order);
+                orderItem.setProductId(entry.getKey());
+                orderItem.setQuantity(entry.getValue());
+            } else {
+                totalAmountDelta -= Optional.ofNullable(orderItem.getTotalAmount()).orElse(0.0); // Miktar zaten artırıldı
+            }
+
+            orderItem.setPrice(price);
+            orderItem.setTotalAmount(price * orderItem.getQuantity());
+            totalAmountDelta += orderItem.getTotalAmount();
+            orderItems.add(orderItem);
+        }
+
+        // Satırları toplu olarak kaydet (JDBC batch insert), Order toplamını tek seferde güncelle
+        orderItems = orderItemRepository.saveAll(orderItems);
+        updateOrderTotalAmount(order.getId(), totalAmountDelta);
+        return orderItemMapper.toDtoList(orderItems);
     }
 
     @Transactional
     public OrderItemDto updateOrderItem(OrderDto orderDto, Integer orderItemId, OrderItemDto orderItemDto) {
         log.info("Updating order item with id: {}", orderItemId);
 
-        // Order'ı repository üzerinden çek
-        Order order = orderRepository.findById(orderDto.getId())
-                .orElseThrow(() -> new IllegalArgumentException("Order not found with id: " + orderDto.getId()));
+        Order order = getOrderReference(orderDto.getId());
 
-        // OrderItem'ı repository üzerinden çek
-        OrderItem orderItem = findOrderItemById(orderItemId);
-        validateOrderItemBelongsToOrder(order, orderItem);
+        // OrderItem'ı (id, order_id) ile çek; başka bir order'a aitse bulunamaz
+        OrderItem orderItem = findOrderItemByIdAndOrder(orderItemId, order);
 
         double oldTotalAmount = Optional.ofNullable(orderItem.getTotalAmount()).orElse(0.0);
         updateOrderItemDetails(orderItem, orderItemDto);
 
-        updateOrderTotalAmount(order, orderItem.getTotalAmount() - oldTotalAmount);
         orderItem = orderItemRepository.save(orderItem);
+        updateOrderTotalAmount(order.getId(), orderItem.getTotalAmount() - oldTotalAmount);
 
         // DTO'ya dönüştür ve döndür
-        OrderItemDto resultDto = new OrderItemDto();
-        BeanUtils.copyProperties(orderItem, resultDto);
-        return resultDto;
+        return orderItemMapper.toDto(orderItem);
     }
 
     @Transactional
     public void deleteOrderItem(OrderDto orderDto, Integer orderItemId) {
         log.info("Deleting order item with id: {}", orderItemId);
 
-        // Order'ı repository üzerinden çek
-        Order order = orderRepository.findById(orderDto.getId())
-                .orElseThrow(() -> new IllegalArgumentException("Order not found with id: " + orderDto.getId()));
+        Order order = getOrderReference(orderDto.getId());
 
-        // OrderItem'ı repository üzerinden çek
-        OrderItem orderItem = findOrderItemById(orderItemId);
-        validateOrderItemBelongsToOrder(order, orderItem);
+        // OrderItem'ı (id, order_id) ile çek; başka bir order'a aitse bulunamaz
+        OrderItem orderItem = findOrderItemByIdAndOrder(orderItemId, order);
 
-        updateOrderTotalAmount(order, -Optional.ofNullable(orderItem.getTotalAmount()).orElse(0.0));
-        order.getOrderItems().remove(orderItem);
         orderItemRepository.delete(orderItem);
+        updateOrderTotalAmount(order.getId(), -Optional.ofNullable(orderItem.getTotalAmount()).orElse(0.0));
     }
 
     @Transactional(readOnly = true)
     public List<OrderItemDto> getOrderItemsByOrderId(OrderDto orderDto) {
         log.info("Getting order items for order with id: {}", orderDto.getId());
 
-        // Order'ı repository üzerinden çek
-        Order order = orderRepository.findById(orderDto.getId())
-                .orElseThrow(() -> new IllegalArgumentException("Order not found with id: " + orderDto.getId()));
+        Order order = getOrderReference(orderDto.getId());
 
         // OrderItem'ları DTO'ya dönüştür ve döndür
-        return order.getOrderItems().stream()
-                .map(orderItem -> {
-                    OrderItemDto dto = new OrderItemDto();
-                    BeanUtils.copyProperties(orderItem, dto);
-                    return dto;
-                })
-                .collect(Collectors.toList());
+        return orderItemMapper.toDtoList(orderItemRepository.findByOrderId(order.getId()));
     }
 
-    private OrderItem findOrderItemById(Integer orderItemId) {
-        log.info("Finding order item by id: {}", orderItemId);
-        return orderItemRepository.findById(orderItemId)
-                .orElseThrow(() -> {
-                    log.error("Order item not found with id {}", orderItemId);
-                    return new IllegalArgumentException("Order item not found with id " + orderItemId);
-                });
+    // Order'ı yüklemeden varlığını doğrular ve FK için referans döner
+    private Order getOrderReference(Integer orderId) {
+        if (!orderRepository.existsById(orderId)) {
+            throw new IllegalArgumentException("Order not found with id: " + orderId);
+        }
+        return orderRepository.getReferenceById(orderId);
     }
 
-    private OrderItem findOrCreateOrderItem(Order order, OrderItemDto orderItemDto) {
-        return order.getOrderItems().stream()
-                .filter(item -> item.getProductId().equals(orderItemDto.getProductId()))
-                .findFirst()
-                .map(existingOrderItem -> {
-                    updateOrderTotalAmount(order, -Optional.ofNullable(existingOrderItem.getTotalAmount()).orElse(0.0));
-                    existingOrderItem.setQuantity(existingOrderItem.getQuantity() + orderItemDto.getQuantity());
-                    updateOrderItemTotalAmount(existingOrderItem);
-                    return existingOrderItem;
-                })
-                .orElseGet(() -> createNewOrderItem(order, orderItemDto));
+    private OrderItem findOrderItemByIdAndOrder(Integer orderItemId, Order order) {
+        log.info("Finding order item by id: {} for order: {}", orderItemId, order.getId());
+        return orderItemRepository.findByIdAndOrderId(orderItemId, order.getId())
+                .orElseThrow(() -> {
+                    log.error("Order item not found with id {} for order {}", orderItemId, order.getId());
+                    return new IllegalArgumentException("Order item not found with id " + orderItemId + " for order " + order.getId());
+                });
     }
 
-    private OrderItem createNewOrderItem(Order order, OrderItemDto orderItemDto) {
-        OrderItem orderItem = new OrderItem();
-        BeanUtils.copyProperties(orderItemDto, orderItem);
-        updateOrderItemTotalAmount(orderItem);
-        orderItem.setOrder(order);
-        order.getOrderItems().add(orderItem);
-        return orderItem;
+    private void updateOrderItemTotalAmount(OrderItem orderItem) {
+        double price = getPrice(orderItem.getProductId());
+        orderItem.setPrice(price);
+        orderItem.setTotalAmount(price * orderItem.getQuantity());
     }
 
-    private void updateOrderItemTotalAmount(OrderItem orderItem) {
-        ProductDto productDto = productServiceClient.getProductById(orderItem.getProductId());
-        orderItem.setPrice(productDto.getPrice());
-        orderItem.setTotalAmount(productDto.getPrice() * orderItem.getQuantity());
+    // Önce yerel fiyat replikası (ağ çağrısı yok), yoksa ProductService
+    private double getPrice(Integer productId) {
+        double price = priceReplica.getPrice(productId);
+        if (!Double.isNaN(price)) {
+            return price;
+        }
+        ProductDto productDto = productServiceClient.getProductById(productId);
+        return productDto.getPrice();
     }
 
-    private void updateOrderTotalAmount(Order order, double amount) {
-        order.setTotalAmount(Optional.ofNullable(order.getTotalAmount()).orElse(0.0) + amount);
+    private void updateOrderTotalAmount(Integer orderId, double amount) {
+        orderRepository.addToTotalAmount(orderId, amount);
     }
 
     private void updateOrderItemDetails(OrderItem orderItem, OrderItemDto orderItemDto) {
         orderItem.setQuantity(orderItemDto.getQuantity());
         updateOrderItemTotalAmount(orderItem);
     }
-
-    private void validateOrderItemBelongsToOrder(Order order, OrderItem orderItem) {
-        if (!order.getOrderItems().contains(orderItem)) {
-            throw new IllegalArgumentException("Order item does not belong to the specified order.");
-        }
-    }
 }
\ No newline at end of file
@@ -2,9 +2,9 @@ package com.example.OrderService.service;
 
 import com.example.OrderService.dto.OrderDto;
 import com.example.OrderService.entity.Order;
+import com.example.OrderService.mapper.OrderMapper;
 import com.example.OrderService.repository.OrderRepository;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
@@ -22,16 +22,15 @@ public class OrderService {
     @Autowired
     private OrderRepository orderRepository;
 
+    @Autowired
+    private OrderMapper orderMapper;
+
     @Cacheable("order")
     @Transactional(readOnly = true)
     public Optional<OrderDto> getOrderById(Integer id) {
         log.info("Getting order by id: {}", id);
         return orderRepository.findById(id)
-                .map(order -> {
-                    OrderDto orderDto = new OrderDto();
-                    BeanUtils.copyProperties(order, orderDto); // Entity'den DTO'ya kopyalama
-                    return orderDto;
-                })
+                .map(orderMapper::toDto)
                 .or(() -> {
                     log.error("Order not found with id {}", id);
                     throw new IllegalArgumentException("Order not found with id " + id);
@@ -44,8 +43,7 @@ public class OrderService {
         log.info("Creating order: {}", orderDto);
 
         // Order entity'sini oluştur ve varsayılan değerleri ata
-        Order order = new Order();
-        BeanUtils.copyProperties(orderDto, order); // DTO'dan Entity'ye kopyalama
+        Order order = orderMapper.toEntity(orderDto); // DTO'dan Entity'ye kopyalama
         order.setOrderDate(LocalDateTime.now()); // Sipariş tarihi şu anki zaman olarak ayarlanır
         order.setStatus(1); // Varsayılan durum (örneğin, "Yeni Sipariş")
         order.setTotalAmount(0.0); // Başlangıçta toplam tutar 0
@@ -54,12 +52,10 @@ public class OrderService {
         order = orderRepository.save(order);
 
         // DTO'ya dönüştür ve döndür
-        OrderDto resultDto = new OrderDto();
-        BeanUtils.copyProperties(order, resultDto); // Entity'den DTO'ya kopyalama
-        return resultDto;
+        return orderMapper.toDto(order);
     }
 
-    @CachePut(value = "order", key = "#orderDto.id")
+    @CachePut(value = "order", key = "#id")
     @Transactional
     public OrderDto updateOrder(Integer id, OrderDto orderDto) {
         log.info("Updating order with id: {}", id);
@@ -69,16 +65,14 @@ public class OrderService {
                 .orElseThrow(() -> new IllegalArgumentException("Order not found with id: " + id));
 
         // DTO'dan Entity'ye kopyalama
-        BeanUtils.copyProperties(orderDto, order);
+        orderMapper.update(orderDto, order);
         order.setId(id); // ID'yi güncelle
 
         // Order'ı kaydet
         order = orderRepository.save(order);
 
         // DTO'ya dönüştür ve döndür
-        OrderDto resultDto = new OrderDto();
-        BeanUtils.copyProperties(order, resultDto); // Entity'den DTO'ya kopyalama
-        return resultDto;
+        return orderMapper.toDto(order);
     }
 
     @CacheEvict(value = "order", key = "#id")
@@ -91,4 +85,21 @@ public class OrderService {
                 .orElseThrow(() -> new IllegalArgumentException("Order not found with id: " + id));
         orderRepository.delete(order);
     }
+
+    @CachePut(value = "order", key = "#id")
+    @Transactional
+    public OrderDto recalculateTotalAmount(Integer id) {
+        log.info("Recalculating total amount for order with id: {}", id);
+
+        // Toplamı SQL SUM ile yeniden hesapla
+        if (orderRepository.recalculateTotalAmount(id) == 0) {
+            throw new IllegalArgumentException("Order not found with id: " + id);
+        }
+
+        Order order = orderRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Order not found with id: " + id));
+
+        // DTO'ya dönüştür ve döndür
+        return orderMapper.toDto(order);
+    }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.example.OrderService.aspect;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.reflect.MethodSignature;
 import org.junit.jupiter.api.BeforeEach;
@@ -7,6 +8,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -88,4 +90,73 @@ public class LoggerAspectTest {
         long timeTaken = endTime - startTime;
         assertThat(timeTaken).isGreaterThanOrEqualTo(0); // Zamanın geçtiğini doğrulamak için basit bir kontrol
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testMetricsMode_RecordsTimerWithoutBuildingArguments() throws Throwable {
+        // Arrange
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        enableMetricsMode(meterRegistry);
+        MethodSignature methodSignature = mockSignature();
+        when(joinPoint.getSignature()).thenReturn(methodSignature);
+        when(joinPoint.proceed()).thenReturn("result");
+
+        // Act
+        Object result = loggerAspect.logRequestResponse(joinPoint);
+        loggerAspect.logRequestResponse(joinPoint);
+
+        // Assert
+        assertThat(result).isEqualTo("result");
+        assertThat(meterRegistry.get(LoggerAspect.METRIC_NAME)
+                .tag("class", "String").tag("method", "length").tag("exception", "none")
+                .timer().count()).isEqualTo(2L);
+        verify(joinPoint, never()).getArgs(); // Hızlı çağrılarda argümanlar loglanmaz
+    }
+
+    @Test
+    public void testMetricsMode_Exception_RecordsExceptionTag() throws Throwable {
+        // Arrange
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        enableMetricsMode(meterRegistry);
+        MethodSignature methodSignature = mockSignature();
+        when(joinPoint.getSignature()).thenReturn(methodSignature);
+        when(joinPoint.getArgs()).thenReturn(new Object[]{"arg1"});
+        when(joinPoint.proceed()).thenThrow(new IllegalArgumentException("Test Exception"));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> loggerAspect.logRequestResponse(joinPoint));
+        assertThat(meterRegistry.get(LoggerAspect.METRIC_NAME)
+                .tag("exception", "IllegalArgumentException")
+                .timer().count()).isEqualTo(1L);
+    }
+
+    @Test
+    public void testMetricsMode_SlowCall_LogsArguments() throws Throwable {
+        // Arrange
+        enableMetricsMode(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(loggerAspect, "slowThresholdMs", 0L);
+        MethodSignature methodSignature = mockSignature();
+        when(joinPoint.getSignature()).thenReturn(methodSignature);
+        when(joinPoint.getArgs()).thenReturn(new Object[]{"arg1"});
+        when(joinPoint.proceed()).thenReturn("result");
+
+        // Act
+        loggerAspect.logRequestResponse(joinPoint);
+
+        // Assert
+        verify(joinPoint, times(1)).getArgs();
+    }
+
+    private void enableMetricsMode(SimpleMeterRegistry meterRegistry) {
+        ReflectionTestUtils.setField(loggerAspect, "mode", "metrics");
+        ReflectionTestUtils.setField(loggerAspect, "slowThresholdMs", 500L);
+        ReflectionTestUtils.setField(loggerAspect, "meterRegistry", meterRegistry);
+    }
+
+    private MethodSignature mockSignature() throws NoSuchMethodException {
+        MethodSignature methodSignature = Mockito.mock(MethodSignature.class);
+        when(methodSignature.getMethod()).thenReturn(String.class.getMethod("length"));
+        when(methodSignature.getDeclaringType()).thenReturn(String.class);
+        when(methodSignature.getName()).thenReturn("length");
+        return methodSignature;
+    }
+}
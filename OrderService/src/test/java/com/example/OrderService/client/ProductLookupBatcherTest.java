@@ -0,0 +1,198 @@
+package com.example.OrderService.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+// Pencere zamanlayıcısı testte hiç dolmaz; pencere, çağıranların hepsi biriktikten sonra elle kapatılır
+@SpringBootTest(properties = "product-lookup.batching.window-ms=3600000")
+public class ProductLookupBatcherTest {
+
+    private static final int CONCURRENT_LOOKUPS = 16;
+    private static final long TIMEOUT_SECONDS = 10;
+
+    @MockBean
+    private ProductServiceClient productServiceClient;
+
+    @Autowired
+    private ProductLookupBatcher productLookupBatcher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private ExecutorService executor;
+    private double lookupsBefore;
+
+    @BeforeEach
+    public void setUp() {
+        lookupsBefore = lookups(meterRegistry);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        productLookupBatcher.flush(); // Başarısız bir testten kalan pencere sonrakine taşınmasın
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testConcurrentLookups_SentAsOneDeduplicatedRequest() throws Exception {
+        // Arrange: istenen her id için bir ürün döndür
+        when(productServiceClient.getProductsByIds(anyList())).thenAnswer(invocation -> {
+            List<Integer> ids = invocation.getArgument(0);
+            return ids.stream().map(ProductLookupBatcherTest::product).toList();
+        });
+
+        // Act: 16 çağıran, 4 farklı id
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_LOOKUPS; i++) {
+            ids.add(i % 4 + 1);
+        }
+        List<Future<ProductDto>> futures = lookupInOneWindow(ids);
+
+        // Assert: her çağıran kendi ürününü alır, ProductService'e tek istek gider
+        for (int i = 0; i < CONCURRENT_LOOKUPS; i++) {
+            assertThat(futures.get(i).get(TIMEOUT_SECONDS, TimeUnit.SECONDS).getId()).isEqualTo(ids.get(i));
+        }
+        verify(productServiceClient, times(1)).getProductsByIds(argThat(batch -> batch.size() == 4));
+        verify(productServiceClient, never()).getProductById(any());
+    }
+
+    @Test
+    public void testOpenWindow_SendsNothingUntilFlushed() throws Exception {
+        when(productServiceClient.getProductById(101)).thenReturn(product(101));
+
+        executor = Executors.newSingleThreadExecutor();
+        Future<ProductDto> result = executor.submit(() -> productLookupBatcher.getProductById(101));
+        awaitPendingCallers(1);
+
+        // Pencere açıkken istek gitmez
+        verifyNoInteractions(productServiceClient);
+        assertThat(result).isNotDone();
+
+        productLookupBatcher.flush();
+        assertThat(result.get(TIMEOUT_SECONDS, TimeUnit.SECONDS).getId()).isEqualTo(101);
+    }
+
+    @Test
+    public void testSingleLookup_UsesSingleProductRequest() throws Exception {
+        when(productServiceClient.getProductById(101)).thenReturn(product(101));
+
+        ProductDto result = lookupInOneWindow(List.of(101)).get(0).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        assertThat(result.getId()).isEqualTo(101);
+        verify(productServiceClient, never()).getProductsByIds(anyList());
+    }
+
+    @Test
+    public void testMissingProductInBatch_FailsOnlyThatCaller() throws Exception {
+        when(productServiceClient.getProductsByIds(anyList())).thenReturn(List.of(product(1)));
+
+        List<Future<ProductDto>> futures = lookupInOneWindow(List.of(1, 2));
+
+        assertThat(futures.get(0).get(TIMEOUT_SECONDS, TimeUnit.SECONDS).getId()).isEqualTo(1);
+        Exception exception = assertThrows(Exception.class, () -> futures.get(1).get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertThat(exception.getCause()).isInstanceOf(IllegalArgumentException.class);
+        verify(productServiceClient, never()).getProductById(anyInt());
+    }
+
+    @Test
+    public void testSizeFlush_DoesNotCloseNextWindowEarly() throws Exception {
+        // Arrange: kısa pencereli, iki id'de dolan ayrı bir batcher
+        ResilientProductServiceClient client = mock(ResilientProductServiceClient.class);
+        when(client.getProductsByIds(anyList())).thenReturn(List.of(product(1), product(2)));
+        when(client.getProductById(3)).thenReturn(product(3));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ProductLookupBatcher batcher = new ProductLookupBatcher();
+        ReflectionTestUtils.setField(batcher, "enabled", true);
+        ReflectionTestUtils.setField(batcher, "windowMs", 500L);
+        ReflectionTestUtils.setField(batcher, "maxBatchSize", 2);
+        ReflectionTestUtils.setField(batcher, "timeoutMs", 5000L);
+        ReflectionTestUtils.setField(batcher, "senders", 1);
+        ReflectionTestUtils.setField(batcher, "productServiceClient", client);
+        ReflectionTestUtils.setField(batcher, "meterRegistry", registry);
+        batcher.start();
+        executor = Executors.newFixedThreadPool(3);
+
+        try {
+            // Act: ilk pencere açılır, zamanlayıcısı dolmadan boyut sınırıyla kapanır, hemen yeni pencere açılır
+            executor.submit(() -> batcher.getProductById(1));
+            awaitLookups(registry, 1);
+            Thread.sleep(300);
+            executor.submit(() -> batcher.getProductById(2));
+            awaitLookups(registry, 2);
+            Future<ProductDto> third = executor.submit(() -> batcher.getProductById(3));
+            awaitLookups(registry, 3);
+
+            // Assert: ilk pencerenin zamanlayıcısı dolduğunda yeni pencere açık kalır
+            Thread.sleep(350);
+            assertThat(third).isNotDone();
+            verify(client, never()).getProductById(3);
+
+            // Yeni pencere kendi süresi dolunca kapanır
+            assertThat(third.get(TIMEOUT_SECONDS, TimeUnit.SECONDS).getId()).isEqualTo(3);
+        } finally {
+            batcher.stop();
+        }
+    }
+
+    // Her id ayrı bir thread'den sorulur; hepsi aynı pencereye girince pencere kapatılır
+    private List<Future<ProductDto>> lookupInOneWindow(List<Integer> ids) throws InterruptedException {
+        executor = Executors.newFixedThreadPool(ids.size());
+        List<Future<ProductDto>> futures = new ArrayList<>();
+        for (Integer id : ids) {
+            futures.add(executor.submit(() -> productLookupBatcher.getProductById(id)));
+        }
+        awaitPendingCallers(ids.size());
+        productLookupBatcher.flush();
+        return futures;
+    }
+
+    // product.lookup.calls çağıran pencereye girdikten sonra artar
+    private void awaitPendingCallers(int expected) throws InterruptedException {
+        awaitLookups(meterRegistry, lookupsBefore + expected);
+    }
+
+    private static void awaitLookups(MeterRegistry registry, double expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (lookups(registry) < expected) {
+            if (System.nanoTime() > deadline) {
+                fail("Only " + lookups(registry) + " of " + expected + " lookups reached the window");
+            }
+            Thread.sleep(1);
+        }
+    }
+
+    private static double lookups(MeterRegistry registry) {
+        return registry.get("product.lookup.calls").counter().count();
+    }
+
+    private static ProductDto product(Integer id) {
+        ProductDto productDto = new ProductDto();
+        productDto.setId(id);
+        productDto.setPrice(10.0 * id);
+        return productDto;
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.OrderService.client;
+
+import feign.FeignException;
+import feign.Request;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+// Spring context'i olmadan kurulur: her test kapalı devre, boş bulkhead ve sıfır sayaçlarla başlar
+public class ResilientProductServiceClientTest {
+
+    private ProductServiceClient productServiceClient;
+    private ResilientProductServiceClient resilientProductServiceClient;
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void setUp() {
+        productServiceClient = mock(ProductServiceClient.class);
+        meterRegistry = new SimpleMeterRegistry();
+
+        resilientProductServiceClient = new ResilientProductServiceClient();
+        ReflectionTestUtils.setField(resilientProductServiceClient, "windowSize", 4);
+        ReflectionTestUtils.setField(resilientProductServiceClient, "minimumCalls", 4);
+        ReflectionTestUtils.setField(resilientProductServiceClient, "failureRateThreshold", 50);
+        ReflectionTestUtils.setField(resilientProductServiceClient, "slowCallMs", 1000L);
+        ReflectionTestUtils.setField(resilientProductServiceClient, "openDurationMs", 60000L);
+        ReflectionTestUtils.setField(resilientProductServiceClient, "halfOpenCalls", 5);
+        ReflectionTestUtils.setField(resilientProductServiceClient, "maxConcurrentCalls", 32);
+        ReflectionTestUtils.setField(resilientProductServiceClient, "maxWaitMs", 50L);
+        ReflectionTestUtils.setField(resilientProductServiceClient, "maxStalenessMs", 300000L);
+        ReflectionTestUtils.setField(resilientProductServiceClient, "fallbackMaximumSize", 100000L);
+        ReflectionTestUtils.setField(resilientProductServiceClient, "productServiceClient", productServiceClient);
+        ReflectionTestUtils.setField(resilientProductServiceClient, "meterRegistry", meterRegistry);
+        resilientProductServiceClient.start();
+    }
+
+    @Test
+    public void testOutage_ServesLastKnownPrice() {
+        when(productServiceClient.getProductById(101))
+                .thenReturn(product(101, 50.0))
+                .thenThrow(new RuntimeException("Connection refused"));
+
+        resilientProductServiceClient.getProductById(101);
+        ProductDto result = resilientProductServiceClient.getProductById(101);
+
+        assertThat(result.getPrice()).isEqualTo(50.0);
+        assertThat(meterRegistry.get("product.fallback").tag("result", "stale_price").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    public void testOutage_BatchFallbackRequiresAllProducts() {
+        when(productServiceClient.getProductsByIds(List.of(101)))
+                .thenReturn(List.of(product(101, 50.0)));
+        when(productServiceClient.getProductsByIds(List.of(101, 102)))
+                .thenThrow(new RuntimeException("Connection refused"));
+
+        resilientProductServiceClient.getProductsByIds(List.of(101));
+
+        // 102 hiç görülmedi: eksik liste "ürün bulunamadı" gibi yorumlanmasın
+        assertThrows(ProductServiceUnavailableException.class, () -> resilientProductServiceClient.getProductsByIds(List.of(101, 102)));
+    }
+
+    @Test
+    public void testRepeatedFailures_OpenCircuitAndStopCalling() {
+        when(productServiceClient.getProductById(101)).thenThrow(new RuntimeException("Read timed out"));
+
+        for (int i = 0; i < 10; i++) {
+            assertThrows(ProductServiceUnavailableException.class, () -> resilientProductServiceClient.getProductById(101));
+        }
+
+        // İlk 4 hatadan sonra devre açılır, ProductService'e istek gitmez
+        verify(productServiceClient, times(4)).getProductById(101);
+        assertThat(meterRegistry.get("product.circuit.state").gauge().value()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("product.circuit.calls").tag("outcome", "not_permitted").counter().count()).isEqualTo(6.0);
+    }
+
+    @Test
+    public void testNotFound_IsPassedThroughAndDoesNotOpenCircuit() {
+        Request request = Request.create(Request.HttpMethod.GET, "http://ProductService/api/products/999", Map.of(), null, StandardCharsets.UTF_8, null);
+        when(productServiceClient.getProductById(999)).thenThrow(new FeignException.NotFound("Not Found", request, null, Map.of()));
+
+        for (int i = 0; i < 10; i++) {
+            assertThrows(FeignException.NotFound.class, () -> resilientProductServiceClient.getProductById(999));
+        }
+
+        verify(productServiceClient, times(10)).getProductById(999);
+        assertThat(meterRegistry.get("product.circuit.state").gauge().value()).isEqualTo(0.0);
+    }
+
+    private static ProductDto product(Integer id, Double price) {
+        ProductDto productDto = new ProductDto();
+        productDto.setId(id);
+        productDto.setPrice(price);
+        return productDto;
+    }
+}
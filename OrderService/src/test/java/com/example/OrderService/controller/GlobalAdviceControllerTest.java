@@ -1,5 +1,6 @@
 package com.example.OrderService.controller;
 
+import com.example.OrderService.client.ProductServiceUnavailableException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
@@ -39,6 +40,14 @@ public class GlobalAdviceControllerTest {
         assertThat(response.getBody()).isEqualTo("Illegal argument");
     }
 
+    @Test
+    public void testHandleProductServiceUnavailableException() {
+        ProductServiceUnavailableException ex = new ProductServiceUnavailableException("ProductService circuit breaker is open");
+        ResponseEntity<String> response = globalAdviceController.handleProductServiceUnavailableException(ex);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     @Test
     public void testHandleValidationException() {
         FieldError fieldError = new FieldError("objectName", "field", "defaultMessage");
@@ -83,6 +83,18 @@ public class OrderControllerTest {
         verify(orderService, times(1)).deleteOrder(1);
     }
 
+    @Test
+    public void testRecalculateTotalAmount() {
+        OrderDto orderDto = new OrderDto();
+        when(orderService.recalculateTotalAmount(1)).thenReturn(orderDto);
+
+        ResponseEntity<OrderDto> response = orderController.recalculateTotalAmount(1);
+
+        assertThat(response.getStatusCode()).isEqualTo(OK);
+        assertThat(response.getBody()).isEqualTo(orderDto);
+        verify(orderService, times(1)).recalculateTotalAmount(1);
+    }
+
     @Test
     public void testCreateOrder_ServiceThrowsException() {
         OrderDto orderDto = new OrderDto();
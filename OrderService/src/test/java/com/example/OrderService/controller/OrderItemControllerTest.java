@@ -6,9 +6,15 @@ import com.example.OrderService.service.OrderItemService;
 import com.example.OrderService.service.OrderService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.Mockito;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
 
 import java.util.Arrays;
 import java.util.List;
@@ -18,7 +24,11 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 public class OrderItemControllerTest {
 
@@ -48,6 +58,21 @@ public class OrderItemControllerTest {
         verify(orderItemService, times(1)).addOrderItem(any(OrderDto.class), any(OrderItemDto.class));
     }
 
+    @Test
+    public void testAddOrderItems_Success() {
+        OrderDto orderDto = new OrderDto();
+        List<OrderItemDto> orderItems = Arrays.asList(new OrderItemDto(), new OrderItemDto());
+        when(orderService.getOrderById(anyInt())).thenReturn(Optional.of(orderDto));
+        when(orderItemService.addOrderItems(any(OrderDto.class), anyList())).thenReturn(orderItems);
+
+        ResponseEntity<List<OrderItemDto>> response = orderItemController.addOrderItems(1, orderItems);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo(orderItems);
+        verify(orderService, times(1)).getOrderById(1);
+        verify(orderItemService, times(1)).addOrderItems(any(OrderDto.class), anyList());
+    }
+
     @Test
     public void testUpdateOrderItem_Success() {
         OrderDto orderDto = new OrderDto();
@@ -134,4 +159,47 @@ public class OrderItemControllerTest {
         verify(orderService, times(1)).getOrderById(1);
         verify(orderItemService, times(0)).getOrderItemsByOrderId(any(OrderDto.class));
     }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "[{\"productId\":101}]",
+            "[{\"productId\":101,\"quantity\":null}]",
+            "[{\"productId\":101,\"quantity\":0}]",
+            "[{\"quantity\":2}]",
+            "[{\"productId\":101,\"quantity\":2},{\"productId\":102,\"quantity\":-1}]"
+    })
+    public void testAddOrderItems_InvalidLineIsBadRequest(String body) throws Exception {
+        when(orderService.getOrderById(anyInt())).thenReturn(Optional.of(new OrderDto()));
+
+        mockMvc().perform(post("/api/orders/{orderId}/items/batch", 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Validation failed"));
+
+        verify(orderItemService, never()).addOrderItems(any(OrderDto.class), anyList());
+    }
+
+    @Test
+    public void testAddOrderItem_InvalidBodyIsBadRequest() throws Exception {
+        when(orderService.getOrderById(anyInt())).thenReturn(Optional.of(new OrderDto()));
+
+        mockMvc().perform(post("/api/orders/{orderId}/items", 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"productId\":101,\"quantity\":0}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Validation failed"));
+
+        verify(orderItemService, never()).addOrderItem(any(OrderDto.class), any(OrderItemDto.class));
+    }
+
+    // Doğrulama Spring MVC'de çalışır; controller doğrudan çağrıldığında devreye girmez
+    private MockMvc mockMvc() {
+        LocalValidatorFactoryBean validator = new LocalValidatorFactoryBean();
+        validator.afterPropertiesSet();
+        return MockMvcBuilders.standaloneSetup(orderItemController)
+                .setControllerAdvice(new GlobalAdviceController())
+                .setValidator(validator)
+                .build();
+    }
 }
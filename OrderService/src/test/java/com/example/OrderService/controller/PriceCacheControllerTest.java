@@ -0,0 +1,39 @@
+package com.example.OrderService.controller;
+
+import com.example.OrderService.client.CachingProductServiceClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+public class PriceCacheControllerTest {
+
+    private PriceCacheController priceCacheController;
+    private CachingProductServiceClient cachingProductServiceClient;
+
+    @BeforeEach
+    public void setUp() {
+        cachingProductServiceClient = Mockito.mock(CachingProductServiceClient.class);
+        priceCacheController = new PriceCacheController(cachingProductServiceClient);
+    }
+
+    @Test
+    public void testEvictPrice() {
+        ResponseEntity<Void> response = priceCacheController.evictPrice(101);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+        verify(cachingProductServiceClient, times(1)).evict(101);
+    }
+
+    @Test
+    public void testEvictAllPrices() {
+        ResponseEntity<Void> response = priceCacheController.evictAllPrices();
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+        verify(cachingProductServiceClient, times(1)).evictAll();
+    }
+}
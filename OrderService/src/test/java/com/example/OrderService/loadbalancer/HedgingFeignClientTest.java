@@ -0,0 +1,133 @@
+package com.example.OrderService.loadbalancer;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import feign.Util;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HedgingFeignClientTest {
+
+    private final AtomicInteger calls = new AtomicInteger();
+    // Yavaş instance, test bırakana kadar yanıt vermez: sonuç zamanlamaya bağlı değildir
+    private final CountDownLatch slowResponseReleased = new CountDownLatch(1);
+    // Hızlı instance'ın yanıt kodu
+    private volatile int fastStatus = 200;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ExecutorService executor;
+    private HedgingFeignClient hedgingClient;
+
+    @BeforeEach
+    public void setUp() {
+        // İlk çağrı yavaş instance'a (latch bırakılana kadar bekler), sonrakiler hızlı instance'a gider
+        Client delegate = (request, options) -> {
+            if (calls.incrementAndGet() == 1) {
+                await(slowResponseReleased);
+                return response(request, 200, "slow");
+            }
+            if (fastStatus >= 500) {
+                // 5xx yanıtı döndükten sonra yavaş instance da yanıt versin
+                CompletableFuture.runAsync(slowResponseReleased::countDown, CompletableFuture.delayedExecutor(50, TimeUnit.MILLISECONDS));
+            }
+            return response(request, fastStatus, "fast");
+        };
+
+        // p95 ~10ms
+        InstanceLatencyStats latencyStats = new InstanceLatencyStats(10000);
+        ServiceInstance instance = new DefaultServiceInstance("product-1", "ProductService", "10.0.0.1", 6666, false);
+        for (int i = 0; i < 200; i++) {
+            latencyStats.requestStarted(instance);
+            latencyStats.requestCompleted(instance, TimeUnit.MILLISECONDS.toNanos(10));
+        }
+
+        executor = Executors.newCachedThreadPool();
+        hedgingClient = new HedgingFeignClient(delegate, latencyStats, executor, "ProductService", 5, 1.0, meterRegistry);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        slowResponseReleased.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testSlowGet_IsHedgedAndFirstResponseWins() throws Exception {
+        Response response = hedgingClient.execute(request(Request.HttpMethod.GET), new Request.Options());
+
+        // İlk istek hâlâ bekliyor: yanıt ancak hedge'ten gelmiş olabilir
+        assertThat(Util.toString(response.body().asReader(StandardCharsets.UTF_8))).isEqualTo("fast");
+        assertThat(slowResponseReleased.getCount()).isEqualTo(1);
+        assertThat(calls.get()).isEqualTo(2);
+        assertThat(meterRegistry.get("product.hedge.requests").tag("outcome", "won").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    public void testHedgeServerError_WaitsForPrimary() throws Exception {
+        fastStatus = 503;
+
+        Response response = hedgingClient.execute(request(Request.HttpMethod.GET), new Request.Options());
+
+        // Önce gelen 503 yanıt sayılmaz; ilk isteğin başarılı yanıtı döner
+        assertThat(response.status()).isEqualTo(200);
+        assertThat(Util.toString(response.body().asReader(StandardCharsets.UTF_8))).isEqualTo("slow");
+        assertThat(meterRegistry.get("product.hedge.requests").tag("outcome", "won").counter().count()).isZero();
+    }
+
+    @Test
+    public void testHedgeClientError_IsAResponse() throws Exception {
+        fastStatus = 404;
+
+        Response response = hedgingClient.execute(request(Request.HttpMethod.GET), new Request.Options());
+
+        // 4xx diğer instance'ta da aynıdır: beklenmez
+        assertThat(response.status()).isEqualTo(404);
+        assertThat(slowResponseReleased.getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testPost_IsNotHedged() throws Exception {
+        slowResponseReleased.countDown(); // POST hedge edilmez, doğrudan ilk çağrının yanıtı beklenir
+
+        Response response = hedgingClient.execute(request(Request.HttpMethod.POST), new Request.Options());
+
+        assertThat(Util.toString(response.body().asReader(StandardCharsets.UTF_8))).isEqualTo("slow");
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    private static Request request(Request.HttpMethod method) {
+        return Request.create(method, "http://ProductService/api/products/1", Map.of(), null, StandardCharsets.UTF_8, null);
+    }
+
+    private static Response response(Request request, int status, String body) {
+        return Response.builder()
+                .status(status)
+                .request(request)
+                .headers(Map.of())
+                .body(body, StandardCharsets.UTF_8)
+                .build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
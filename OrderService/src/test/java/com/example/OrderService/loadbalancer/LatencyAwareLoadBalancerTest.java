@@ -0,0 +1,61 @@
+package com.example.OrderService.loadbalancer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class LatencyAwareLoadBalancerTest {
+
+    private final ServiceInstance slowInstance = new DefaultServiceInstance("product-1", "ProductService", "10.0.0.1", 6666, false);
+    private final ServiceInstance fastInstance = new DefaultServiceInstance("product-2", "ProductService", "10.0.0.2", 6666, false);
+
+    private InstanceLatencyStats latencyStats;
+    private LatencyAwareLoadBalancer loadBalancer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        latencyStats = new InstanceLatencyStats(10000);
+        loadBalancer = new LatencyAwareLoadBalancer(mock(ObjectProvider.class), latencyStats, "ProductService");
+    }
+
+    @Test
+    public void testChoose_AvoidsSlowInstance() {
+        // product-1 GC duraklamasında: tek bir yavaş yanıt EWMA'yı hemen yükseltir
+        record(fastInstance, 5);
+        record(slowInstance, 5);
+        record(slowInstance, 800);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(loadBalancer.choose(List.of(slowInstance, fastInstance)).getServer()).isEqualTo(fastInstance);
+        }
+    }
+
+    @Test
+    public void testChoose_PrefersInstanceWithFewerOutstandingRequests() {
+        record(slowInstance, 5);
+        record(fastInstance, 5);
+        for (int i = 0; i < 10; i++) {
+            latencyStats.requestStarted(fastInstance);
+        }
+
+        assertThat(loadBalancer.choose(List.of(slowInstance, fastInstance)).getServer()).isEqualTo(slowInstance);
+    }
+
+    @Test
+    public void testChoose_NoInstances() {
+        assertThat(loadBalancer.choose(List.of()).hasServer()).isFalse();
+    }
+
+    private void record(ServiceInstance instance, long latencyMs) {
+        latencyStats.requestStarted(instance);
+        latencyStats.requestCompleted(instance, latencyMs * 1_000_000);
+    }
+}
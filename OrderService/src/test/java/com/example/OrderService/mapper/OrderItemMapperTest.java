@@ -0,0 +1,51 @@
+package com.example.OrderService.mapper;
+
+import com.example.OrderService.dto.OrderDto;
+import com.example.OrderService.dto.OrderItemDto;
+import com.example.OrderService.entity.Order;
+import com.example.OrderService.entity.OrderItem;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OrderItemMapperTest {
+
+    private final OrderItemMapper orderItemMapper = new OrderItemMapperImpl();
+    private final OrderMapper orderMapper = new OrderMapperImpl();
+
+    @Test
+    public void testToDto_CopiesFieldsAndOrderId() {
+        Order order = new Order();
+        order.setId(1);
+
+        OrderItem orderItem = new OrderItem(10, order, 101, 2, 50.0, 100.0);
+
+        OrderItemDto result = orderItemMapper.toDto(orderItem);
+
+        assertThat(result).isEqualTo(new OrderItemDto(10, 1, 101, 2, 50.0, 100.0));
+    }
+
+    @Test
+    public void testToEntity_LeavesOrderToService() {
+        OrderItem result = orderItemMapper.toEntity(new OrderItemDto(null, 1, 101, 2, null, null));
+
+        assertThat(result.getOrder()).isNull();
+        assertThat(result.getProductId()).isEqualTo(101);
+        assertThat(result.getQuantity()).isEqualTo(2);
+    }
+
+    @Test
+    public void testUpdateOrder_KeepsOrderItems() {
+        Order order = new Order();
+        order.setId(1);
+        order.setOrderItems(List.of(new OrderItem()));
+
+        orderMapper.update(new OrderDto(null, null, 250.0, 2), order);
+
+        assertThat(order.getTotalAmount()).isEqualTo(250.0);
+        assertThat(order.getStatus()).isEqualTo(2);
+        assertThat(order.getOrderItems()).hasSize(1);
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.OrderService.querybudget;
+
+import com.example.OrderService.client.ProductDto;
+import com.example.OrderService.client.ProductServiceClient;
+import com.example.OrderService.entity.Order;
+import com.example.OrderService.entity.OrderItem;
+import com.example.OrderService.repository.OrderItemRepository;
+import com.example.OrderService.repository.OrderRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Her endpoint'in tek istekte çalıştırabileceği en fazla SQL ifadesi sayısı. Siparişte
+ * {@value #ITEM_COUNT} satır varken bütçeler satır sayısından çok küçüktür: satır başına
+ * sorgu atan (N+1) bir değişiklik bu testi kırar.
+ */
+@SpringBootTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "eureka.client.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:orderbudget;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        // OrderService.yml ile aynı: satır insert/update/delete'leri tek JDBC batch'inde gider
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "spring.jpa.properties.hibernate.order_inserts=true",
+        "spring.jpa.properties.hibernate.order_updates=true",
+        "price-replica.enabled=false"
+})
+@AutoConfigureMockMvc
+public class EndpointQueryBudgetTest {
+
+    private static final int ITEM_COUNT = 20;
+
+    @MockBean
+    private ProductServiceClient productServiceClient;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private QueryCounter queryCounter;
+    private Fixture fixture;
+
+    // Testlerin kullandığı id'ler; identity ve sequence değerleri testler arasında sıfırlanmaz
+    record Fixture(Integer orderId, List<Integer> orderItemIds, Integer emptyOrderId) {
+
+        Integer orderItemId() {
+            return orderItemIds.get(0);
+        }
+    }
+
+    @BeforeEach
+    public void setUp() {
+        orderItemRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+
+        // ITEM_COUNT satırlı bir sipariş ve satırı olmayan bir sipariş
+        Order order = orderRepository.save(order());
+        List<OrderItem> orderItems = new ArrayList<>();
+        for (int productId = 1; productId <= ITEM_COUNT; productId++) {
+            orderItems.add(new OrderItem(null, order, productId, 1, price(productId), price(productId)));
+        }
+        List<Integer> orderItemIds = orderItemRepository.saveAll(orderItems).stream()
+                .map(OrderItem::getId)
+                .collect(Collectors.toList());
+        Integer emptyOrderId = orderRepository.save(order()).getId();
+
+        fixture = new Fixture(order.getId(), orderItemIds, emptyOrderId);
+
+        // Fiyatlar ProductService yerine sabit
+        when(productServiceClient.getProductById(anyInt())).thenAnswer(invocation -> product(invocation.getArgument(0)));
+        when(productServiceClient.getProductsByIds(any())).thenAnswer(invocation -> invocation.<List<Integer>>getArgument(0).stream()
+                .map(EndpointQueryBudgetTest::product)
+                .collect(Collectors.toList()));
+
+        // Cache'ten dönen istekler sorgu atmaz; her istek soğuk cache ile ölçülür
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+
+        queryCounter = new QueryCounter(entityManagerFactory);
+        queryCounter.reset();
+    }
+
+    @ParameterizedTest(name = "{0} <= {1}")
+    @MethodSource("endpoints")
+    public void testEndpointStaysWithinQueryBudget(String endpoint, int budget, Function<Fixture, RequestBuilder> request) throws Exception {
+        mockMvc.perform(request.apply(fixture))
+                .andExpect(status().is2xxSuccessful());
+
+        assertThat(queryCounter.count())
+                .as("%s SQL ifadesi sayısı", endpoint)
+                .isLessThanOrEqualTo(budget);
+    }
+
+    static Stream<Arguments> endpoints() {
+        return Stream.of(
+                budget("GET /api/orders/{id}", 1, f -> get("/api/orders/{id}", f.orderId())),
+                budget("POST /api/orders", 1, f -> post("/api/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}")),
+                budget("PUT /api/orders/{id}", 2, f -> put("/api/orders/{id}", f.orderId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":2}")),
+                budget("POST /api/orders/{id}/recalculate", 2, f -> post("/api/orders/{id}/recalculate", f.orderId())),
+                // Satırlar tek sorguda yüklenir, tek batch'te silinir
+                budget("DELETE /api/orders/{id}", 4, f -> delete("/api/orders/{id}", f.orderId())),
+
+                // Satırların order'ı lazy: listelerken order ayrıca yüklenmez
+                budget("GET /api/orders/{orderId}/items", 3, f -> get("/api/orders/{orderId}/items", f.orderId())),
+                // +1: order_item_seq havuzu tükendiyse bir sonraki blok alınır
+                budget("POST /api/orders/{orderId}/items", 6, f -> post("/api/orders/{orderId}/items", f.orderId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"productId\":" + (ITEM_COUNT + 1) + ",\"quantity\":2}")),
+                budget("POST /api/orders/{orderId}/items/batch", 6, f -> post("/api/orders/{orderId}/items/batch", f.emptyOrderId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(IntStream.rangeClosed(1, ITEM_COUNT)
+                                .mapToObj(productId -> "{\"productId\":" + productId + ",\"quantity\":1}")
+                                .collect(Collectors.joining(",", "[", "]")))),
+                budget("PUT /api/orders/{orderId}/items/{orderItemId}", 5, f -> put("/api/orders/{orderId}/items/{orderItemId}", f.orderId(), f.orderItemId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"quantity\":3}")),
+                budget("DELETE /api/orders/{orderId}/items/{orderItemId}", 5, f -> delete("/api/orders/{orderId}/items/{orderItemId}", f.orderId(), f.orderItemId())),
+
+                budget("DELETE /api/price-cache/{productId}", 0, f -> delete("/api/price-cache/{productId}", 1)),
+                budget("DELETE /api/price-cache", 0, f -> delete("/api/price-cache")),
+                budget("POST /internal/cache-invalidations", 0, f -> post("/internal/cache-invalidations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"productIds\":[1]}"))
+        );
+    }
+
+    private static Arguments budget(String endpoint, int maxStatements, Function<Fixture, RequestBuilder> request) {
+        return Arguments.of(endpoint, maxStatements, request);
+    }
+
+    private static Order order() {
+        Order order = new Order();
+        order.setOrderDate(LocalDateTime.now());
+        order.setStatus(1);
+        order.setTotalAmount(0.0);
+        return order;
+    }
+
+    private static double price(int productId) {
+        return 10.0 + productId;
+    }
+
+    private static ProductDto product(Integer productId) {
+        ProductDto productDto = new ProductDto();
+        productDto.setId(productId);
+        productDto.setPrice(price(productId));
+        return productDto;
+    }
+}
@@ -0,0 +1,259 @@
+package com.example.OrderService.replica;
+
+import com.example.OrderService.client.ProductChangeDto;
+import com.example.OrderService.client.ResilientProductServiceClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+// Refresher thread'i yerine planlanan işler yakalanıp testte elle çalıştırılır
+public class PriceReplicaTest {
+
+    private static final int PAGE_SIZE = 2;
+
+    @TempDir
+    Path tempDir;
+
+    private ResilientProductServiceClient productServiceClient;
+    private ScheduledExecutorService refresher;
+    private PriceTable table;
+    private PriceReplica priceReplica;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        productServiceClient = mock(ResilientProductServiceClient.class);
+        refresher = mock(ScheduledExecutorService.class);
+        table = PriceTable.open(tempDir.resolve("prices.dat"), 16);
+
+        priceReplica = new PriceReplica();
+        ReflectionTestUtils.setField(priceReplica, "path", tempDir.resolve("prices.dat").toString());
+        ReflectionTestUtils.setField(priceReplica, "pageSize", PAGE_SIZE);
+        ReflectionTestUtils.setField(priceReplica, "maxStalenessMs", 30000L);
+        ReflectionTestUtils.setField(priceReplica, "productServiceClient", productServiceClient);
+        ReflectionTestUtils.setField(priceReplica, "table", table);
+        ReflectionTestUtils.setField(priceReplica, "refresher", refresher);
+
+        when(productServiceClient.getProductChanges(anyLong(), anyInt())).thenReturn(List.of());
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        ((PriceTable) ReflectionTestUtils.getField(priceReplica, "table")).close();
+    }
+
+    @Test
+    public void testRefresh_AppliesChangesPageByPage() {
+        // Arrange: tam dolu sayfa bir sonraki sayfanın da istenmesini sağlar
+        when(productServiceClient.getProductChanges(0L, PAGE_SIZE))
+                .thenReturn(List.of(change(101, 50.0, 1L), change(102, 20.0, 2L)));
+        when(productServiceClient.getProductChanges(2L, PAGE_SIZE))
+                .thenReturn(List.of(change(101, 55.0, 3L)));
+
+        // Act
+        priceReplica.refresh();
+
+        // Assert
+        assertThat(priceReplica.getPrice(101)).isEqualTo(55.0);
+        assertThat(priceReplica.getPrice(102)).isEqualTo(20.0);
+        assertThat(table.lastVersion()).isEqualTo(3L);
+        verify(productServiceClient, times(2)).getProductChanges(anyLong(), anyInt());
+    }
+
+    @Test
+    public void testRefresh_DeletedProductIsNotServed() {
+        // Arrange
+        ProductChangeDto deleted = change(101, 50.0, 2L);
+        deleted.setDeleted(true);
+        when(productServiceClient.getProductChanges(0L, PAGE_SIZE)).thenReturn(List.of(change(101, 50.0, 1L)));
+        when(productServiceClient.getProductChanges(1L, PAGE_SIZE)).thenReturn(List.of(deleted));
+
+        // Act
+        priceReplica.refresh();
+        priceReplica.refresh();
+
+        // Assert
+        assertThat(priceReplica.getPrice(101)).isNaN();
+    }
+
+    @Test
+    public void testGetPrice_StaleReplicaIsNotServed() {
+        // Arrange
+        when(productServiceClient.getProductChanges(0L, PAGE_SIZE)).thenReturn(List.of(change(101, 50.0, 1L)));
+        priceReplica.refresh();
+
+        // Act: son başarılı senkronizasyon max-staleness'tan eski
+        ReflectionTestUtils.setField(priceReplica, "lastSyncMillis", System.currentTimeMillis() - 60000L);
+
+        // Assert
+        assertThat(priceReplica.getPrice(101)).isNaN();
+    }
+
+    @Test
+    public void testRefresh_FailureKeepsReplicaStale() {
+        // Arrange
+        when(productServiceClient.getProductChanges(anyLong(), anyInt())).thenThrow(new RuntimeException("Connection refused"));
+
+        // Act
+        priceReplica.refresh();
+
+        // Assert: hiç senkronize olmamış replika kullanılmaz
+        assertThat(priceReplica.getPrice(101)).isNaN();
+    }
+
+    @Test
+    public void testInvalidate_HidesPriceUntilNextRefresh() {
+        // Arrange
+        when(productServiceClient.getProductChanges(0L, PAGE_SIZE)).thenReturn(List.of(change(101, 50.0, 1L)));
+        when(productServiceClient.getProductChanges(1L, PAGE_SIZE)).thenReturn(List.of(change(101, 60.0, 2L)));
+        priceReplica.refresh();
+
+        // Act
+        priceReplica.invalidate(101);
+
+        // Assert: yeni fiyat çekilene kadar eski fiyat verilmez
+        assertThat(priceReplica.getPrice(101)).isNaN();
+        runScheduledRefreshes(1);
+        assertThat(priceReplica.getPrice(101)).isEqualTo(60.0);
+    }
+
+    @Test
+    public void testInvalidate_CoalescesIntoSingleRefresh() {
+        // Arrange
+        priceReplica.refresh();
+        clearInvocations(productServiceClient);
+
+        // Act: bildirim yağmuru
+        for (int productId = 1; productId <= 100; productId++) {
+            priceReplica.invalidate(productId);
+        }
+
+        // Assert: tek refresh planlandı ve hepsini kapsadı
+        runScheduledRefreshes(1);
+        verify(productServiceClient, times(1)).getProductChanges(anyLong(), anyInt());
+    }
+
+    @Test
+    public void testRefresh_KeepsInvalidationUntilChangeIsApplied() {
+        // Arrange: bildirim, değişiklik akışa düşmeden önce geldi
+        when(productServiceClient.getProductChanges(0L, PAGE_SIZE)).thenReturn(List.of(change(101, 50.0, 1L)));
+        priceReplica.refresh();
+        priceReplica.invalidate(101);
+        priceReplica.invalidate(102);
+
+        // Act: 101'in değişikliği henüz akışta yok, 102'ninki var
+        when(productServiceClient.getProductChanges(1L, PAGE_SIZE)).thenReturn(List.of(change(102, 20.0, 2L)));
+        priceReplica.refresh();
+
+        // Assert: yalnızca uygulanan değişikliğin bildirimi düşer
+        assertThat(priceReplica.getPrice(101)).isNaN();
+        assertThat(priceReplica.getPrice(102)).isEqualTo(20.0);
+
+        when(productServiceClient.getProductChanges(2L, PAGE_SIZE)).thenReturn(List.of(change(101, 60.0, 3L)));
+        priceReplica.refresh();
+        assertThat(priceReplica.getPrice(101)).isEqualTo(60.0);
+    }
+
+    @Test
+    public void testInvalidate_DuringPageRequestIsKept() {
+        // Arrange: bildirim, sayfa istendikten sonra ama yanıt uygulanmadan gelir; sayfadaki değişiklik daha eskidir
+        when(productServiceClient.getProductChanges(0L, PAGE_SIZE)).thenAnswer(invocation -> {
+            priceReplica.invalidate(101);
+            return List.of(change(101, 50.0, 1L));
+        });
+
+        // Act
+        priceReplica.refresh();
+
+        // Assert: yeni fiyat bir sonraki sayfada gelir, o zamana kadar replika kullanılmaz
+        assertThat(priceReplica.getPrice(101)).isNaN();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testRefresh_ExpiresInvalidationWithoutChange() {
+        // Arrange: değişikliği akışta hiç görünmeyen, max-staleness'tan eski bildirim
+        when(productServiceClient.getProductChanges(0L, PAGE_SIZE)).thenReturn(List.of(change(101, 50.0, 1L)));
+        priceReplica.refresh();
+        ((Map<Integer, Long>) ReflectionTestUtils.getField(priceReplica, "invalidated"))
+                .put(101, System.nanoTime() - TimeUnit.SECONDS.toNanos(60));
+
+        // Act
+        priceReplica.refresh();
+
+        // Assert
+        assertThat(priceReplica.getPrice(101)).isEqualTo(50.0);
+    }
+
+    @Test
+    public void testGrow_UsesNewFileAndReopensIt() throws Exception {
+        // Arrange: 32 slotluk tablo %70 dolulukta (22 ürün) büyür
+        ReflectionTestUtils.setField(priceReplica, "pageSize", 100);
+        ReflectionTestUtils.setField(priceReplica, "initialCapacity", 16);
+        List<ProductChangeDto> changes = new ArrayList<>();
+        for (int productId = 1; productId <= 30; productId++) {
+            changes.add(change(productId, productId * 1.5, (long) productId));
+        }
+        when(productServiceClient.getProductChanges(0L, 100)).thenReturn(changes);
+
+        // Act
+        priceReplica.refresh();
+
+        // Assert: eşlemesi açık dosyanın üzerine taşınmaz, büyüyen tablo yeni dosyadadır
+        assertThat(tempDir.resolve("prices.dat.1")).exists();
+        assertThat(tempDir.resolve("prices.dat")).doesNotExist();
+        assertThat(priceReplica.getPrice(30)).isEqualTo(45.0);
+
+        // Yeniden başlatma büyüyen dosyadan devam eder
+        ((PriceTable) ReflectionTestUtils.getField(priceReplica, "table")).close();
+        try (PriceTable reopened = priceReplica.openTable()) {
+            assertThat(reopened.capacity()).isEqualTo(64);
+            assertThat(reopened.lastVersion()).isEqualTo(30L);
+            assertThat(reopened.get(30)).isEqualTo(45.0);
+        }
+        ReflectionTestUtils.setField(priceReplica, "table", priceReplica.openTable());
+    }
+
+    @Test
+    public void testInvalidate_AfterRefreshStartsSchedulesAnother() {
+        // Arrange
+        priceReplica.invalidate(101);
+        runScheduledRefreshes(1);
+
+        // Act: önceki refresh çalıştıktan sonra gelen bildirim
+        priceReplica.invalidate(102);
+
+        // Assert
+        verify(refresher, times(2)).execute(any(Runnable.class));
+    }
+
+    private void runScheduledRefreshes(int expected) {
+        ArgumentCaptor<Runnable> tasks = ArgumentCaptor.forClass(Runnable.class);
+        verify(refresher, times(expected)).execute(tasks.capture());
+        tasks.getAllValues().forEach(Runnable::run);
+    }
+
+    private static ProductChangeDto change(Integer id, Double price, Long version) {
+        ProductChangeDto change = new ProductChangeDto();
+        change.setId(id);
+        change.setPrice(price);
+        change.setVersion(version);
+        change.setDeleted(false);
+        return change;
+    }
+}
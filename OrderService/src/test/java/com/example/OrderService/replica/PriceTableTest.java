@@ -0,0 +1,73 @@
+package com.example.OrderService.replica;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PriceTableTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testPutAndGet() throws Exception {
+        try (PriceTable table = PriceTable.open(tempDir.resolve("prices.dat"), 16)) {
+            table.put(101, 50.0);
+            table.put(102, 20.0);
+            table.put(101, 55.0); // Güncelleme aynı slotu kullanır
+
+            assertThat(table.get(101)).isEqualTo(55.0);
+            assertThat(table.get(102)).isEqualTo(20.0);
+            assertThat(table.get(103)).isNaN();
+            assertThat(table.size()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    public void testDeletedProductIsNaN() throws Exception {
+        try (PriceTable table = PriceTable.open(tempDir.resolve("prices.dat"), 16)) {
+            table.put(101, 50.0);
+            table.put(101, Double.NaN);
+
+            assertThat(table.get(101)).isNaN();
+        }
+    }
+
+    @Test
+    public void testReopen_KeepsPricesAndVersion() throws Exception {
+        Path path = tempDir.resolve("prices.dat");
+        try (PriceTable table = PriceTable.open(path, 16)) {
+            table.put(101, 50.0);
+            table.commitVersion(42L);
+        }
+
+        // Yeniden başlatma: tam yükleme olmadan kalınan yerden devam
+        try (PriceTable table = PriceTable.open(path, 16)) {
+            assertThat(table.get(101)).isEqualTo(50.0);
+            assertThat(table.lastVersion()).isEqualTo(42L);
+        }
+    }
+
+    @Test
+    public void testPut_ReturnsFalseWhenFull_AndGrowKeepsEntries() throws Exception {
+        try (PriceTable table = PriceTable.open(tempDir.resolve("prices.dat"), 16)) {
+            int productId = 1;
+            while (table.put(productId, productId * 1.5)) {
+                productId++;
+            }
+            table.commitVersion(7L);
+
+            try (PriceTable grown = table.grow(tempDir.resolve("prices.dat.tmp"))) {
+                assertThat(grown.capacity()).isEqualTo(table.capacity() * 2);
+                assertThat(grown.lastVersion()).isEqualTo(7L);
+                for (int id = 1; id < productId; id++) {
+                    assertThat(grown.get(id)).isEqualTo(id * 1.5);
+                }
+                assertThat(grown.put(productId, 1.0)).isTrue();
+            }
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.OrderService.service;
+
+import com.example.OrderService.client.ProductDto;
+import com.example.OrderService.client.ProductServiceClient;
+import com.example.OrderService.dto.OrderDto;
+import com.example.OrderService.dto.OrderItemDto;
+import com.example.OrderService.entity.Order;
+import com.example.OrderService.entity.OrderItem;
+import com.example.OrderService.repository.OrderItemRepository;
+import com.example.OrderService.repository.OrderRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+// Transaction'lar gerçekten commit edilir: aynı satıra eşzamanlı eklemeler birbirini ezmemeli
+@SpringBootTest(properties = "price-replica.enabled=false")
+public class OrderItemServiceConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int ADDS_PER_THREAD = 5;
+
+    @Autowired
+    private OrderItemService orderItemService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @MockBean
+    private ProductServiceClient productServiceClient;
+
+    private OrderDto orderDto;
+
+    @BeforeEach
+    public void setUp() {
+        ProductDto productDto = new ProductDto();
+        productDto.setId(101);
+        productDto.setPrice(10.0);
+        when(productServiceClient.getProductById(any(Integer.class))).thenReturn(productDto);
+        when(productServiceClient.getProductsByIds(any())).thenReturn(List.of(productDto));
+
+        Order order = new Order();
+        order.setTotalAmount(0.0);
+        order = orderRepository.save(order);
+
+        orderDto = new OrderDto();
+        orderDto.setId(order.getId());
+
+        // Satır önceden var: her ekleme miktarı artırır
+        orderItemService.addOrderItem(orderDto, item(1));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        orderItemRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+    }
+
+    @Test
+    public void testConcurrentAddOrderItem_NoLostUpdates() throws Exception {
+        runConcurrently(() -> orderItemService.addOrderItem(orderDto, item(1)));
+
+        assertQuantityAndTotals(1 + THREADS * ADDS_PER_THREAD);
+    }
+
+    @Test
+    public void testConcurrentAddOrderItems_NoLostUpdates() throws Exception {
+        runConcurrently(() -> orderItemService.addOrderItems(orderDto, List.of(item(1), item(1))));
+
+        assertQuantityAndTotals(1 + THREADS * ADDS_PER_THREAD * 2);
+    }
+
+    private void runConcurrently(Runnable add) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < ADDS_PER_THREAD; j++) {
+                    add.run();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    private void assertQuantityAndTotals(int expectedQuantity) {
+        OrderItem orderItem = orderItemRepository.findByOrderIdAndProductId(orderDto.getId(), 101).orElseThrow();
+        assertEquals(expectedQuantity, orderItem.getQuantity());
+        assertEquals(expectedQuantity * 10.0, orderItem.getTotalAmount());
+        assertEquals(expectedQuantity * 10.0, orderRepository.findById(orderDto.getId()).orElseThrow().getTotalAmount());
+    }
+
+    private static OrderItemDto item(int quantity) {
+        OrderItemDto orderItemDto = new OrderItemDto();
+        orderItemDto.setProductId(101);
+        orderItemDto.setQuantity(quantity);
+        return orderItemDto;
+    }
+}
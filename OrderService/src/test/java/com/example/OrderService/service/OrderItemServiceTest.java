@@ -13,6 +13,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collections;
@@ -21,6 +22,9 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @SpringBootTest
@@ -36,6 +40,9 @@ public class OrderItemServiceTest {
     @Autowired
     private OrderRepository orderRepository;
 
+    @Autowired
+    private CacheManager cacheManager;
+
     @MockBean
     private ProductServiceClient productServiceClient;
 
@@ -46,16 +53,15 @@ public class OrderItemServiceTest {
 
     @BeforeEach
     public void setUp() {
-        // Test verilerini hazırla
-        orderDto = new OrderDto();
-        orderDto.setId(1);
+        // Fiyat cache'ini temizle
+        cacheManager.getCache("productPrice").clear();
 
+        // Test verilerini hazırla
         orderItemDto = new OrderItemDto();
         orderItemDto.setProductId(101);
         orderItemDto.setQuantity(2);
 
         order = new Order();
-        order.setId(1);
         order.setTotalAmount(0.0);
         order.setOrderItems(Collections.emptyList());
 
@@ -63,8 +69,11 @@ public class OrderItemServiceTest {
         productDto.setId(101);
         productDto.setPrice(50.0);
 
-        // Order'ı repository'e kaydet
-        orderRepository.save(order);
+        // Order'ı repository'e kaydet; id veritabanında üretilir
+        order = orderRepository.save(order);
+
+        orderDto = new OrderDto();
+        orderDto.setId(order.getId());
 
         // ProductServiceClient mock'u
         when(productServiceClient.getProductById(any(Integer.class))).thenReturn(productDto);
@@ -86,6 +95,76 @@ public class OrderItemServiceTest {
         assertEquals(100.0, updatedOrder.getTotalAmount());
     }
 
+    @Test
+    public void testAddOrderItem_UsesCachedPrice() {
+        orderItemService.addOrderItem(orderDto, orderItemDto);
+        orderItemService.addOrderItem(orderDto, orderItemDto);
+
+        // İkinci ekleme fiyatı yerel cache'ten okur
+        verify(productServiceClient, times(1)).getProductById(101);
+        Order updatedOrder = orderRepository.findById(orderDto.getId()).orElseThrow();
+        assertEquals(200.0, updatedOrder.getTotalAmount());
+    }
+
+    @Test
+    public void testAddOrderItems() {
+        // İkinci ürün ve aynı ürün için tekrar eden satır
+        ProductDto secondProductDto = new ProductDto();
+        secondProductDto.setId(102);
+        secondProductDto.setPrice(20.0);
+        when(productServiceClient.getProductsByIds(any())).thenReturn(List.of(productDto, secondProductDto));
+
+        OrderItemDto secondItemDto = new OrderItemDto();
+        secondItemDto.setProductId(102);
+        secondItemDto.setQuantity(5);
+
+        OrderItemDto duplicateItemDto = new OrderItemDto();
+        duplicateItemDto.setProductId(101);
+        duplicateItemDto.setQuantity(1);
+
+        // OrderItem'ları toplu ekle
+        List<OrderItemDto> result = orderItemService.addOrderItems(orderDto, List.of(orderItemDto, secondItemDto, duplicateItemDto));
+
+        // Sonuçları doğrula
+        assertEquals(2, result.size());
+        assertEquals(3, result.get(0).getQuantity()); // 2 + 1 birleştirildi
+        assertEquals(150.0, result.get(0).getTotalAmount()); // 3 * 50.0 = 150.0
+        assertEquals(100.0, result.get(1).getTotalAmount()); // 5 * 20.0 = 100.0
+
+        // Order'ın totalAmount'unun tek seferde güncellendiğini doğrula
+        Order updatedOrder = orderRepository.findById(orderDto.getId()).orElseThrow();
+        assertEquals(250.0, updatedOrder.getTotalAmount());
+    }
+
+    @Test
+    public void testAddOrderItems_ProductNotFound() {
+        when(productServiceClient.getProductsByIds(any())).thenReturn(Collections.emptyList());
+
+        assertThrows(IllegalArgumentException.class, () -> {
+            orderItemService.addOrderItems(orderDto, List.of(orderItemDto));
+        });
+    }
+
+    @Test
+    public void testAddOrderItems_EmptyList() {
+        List<OrderItemDto> result = orderItemService.addOrderItems(orderDto, List.of());
+
+        // ProductService'e gidilmez, toplam değişmez
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(productServiceClient);
+        assertEquals(0.0, orderRepository.findById(orderDto.getId()).orElseThrow().getTotalAmount());
+    }
+
+    @Test
+    public void testAddOrderItems_NullQuantity() {
+        orderItemDto.setQuantity(null);
+
+        assertThrows(IllegalArgumentException.class, () -> {
+            orderItemService.addOrderItems(orderDto, List.of(orderItemDto));
+        });
+        verifyNoInteractions(productServiceClient);
+    }
+
     @Test
     public void testUpdateOrderItem() {
         // Önce bir OrderItem ekle
@@ -157,6 +236,25 @@ public class OrderItemServiceTest {
         });
     }
 
+    @Test
+    public void testUpdateOrderItem_BelongsToAnotherOrder() {
+        // Önce bir OrderItem ekle
+        OrderItemDto addedItem = orderItemService.addOrderItem(orderDto, orderItemDto);
+
+        // Başka bir order oluştur
+        Order otherOrder = new Order();
+        otherOrder.setTotalAmount(0.0);
+        otherOrder = orderRepository.save(otherOrder);
+
+        OrderDto otherOrderDto = new OrderDto();
+        otherOrderDto.setId(otherOrder.getId());
+
+        // OrderItem başka bir order üzerinden güncellenemez
+        assertThrows(IllegalArgumentException.class, () -> {
+            orderItemService.updateOrderItem(otherOrderDto, addedItem.getId(), orderItemDto);
+        });
+    }
+
     @Test
     public void testDeleteOrderItem_OrderItemNotFound() {
         // Var olmayan bir OrderItem ID'si ile silme işlemi yapmaya çalış
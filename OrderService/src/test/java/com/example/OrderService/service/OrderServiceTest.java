@@ -2,6 +2,8 @@ package com.example.OrderService.service;
 
 import com.example.OrderService.dto.OrderDto;
 import com.example.OrderService.entity.Order;
+import com.example.OrderService.entity.OrderItem;
+import com.example.OrderService.repository.OrderItemRepository;
 import com.example.OrderService.repository.OrderRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -25,6 +27,9 @@ public class OrderServiceTest {
     @Autowired
     private OrderRepository orderRepository;
 
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
     @Autowired
     private CacheManager cacheManager;
 
@@ -34,7 +39,6 @@ public class OrderServiceTest {
     public void setUp() {
         // Test verilerini hazırla
         orderDto = new OrderDto();
-        orderDto.setId(1);
         orderDto.setTotalAmount(100.0);
     }
 
@@ -42,14 +46,13 @@ public class OrderServiceTest {
     public void testGetOrderById() {
         // Order oluştur ve kaydet
         Order order = new Order();
-        order.setId(1);
         order.setTotalAmount(100.0);
         order.setOrderDate(LocalDateTime.now());
         order.setStatus(1);
-        orderRepository.save(order);
+        order = orderRepository.save(order); // Id veritabanında üretilir
 
         // Order'ı getir
-        OrderDto result = orderService.getOrderById(1).orElseThrow();
+        OrderDto result = orderService.getOrderById(order.getId()).orElseThrow();
 
         // Sonuçları doğrula
         assertNotNull(result);
@@ -59,7 +62,7 @@ public class OrderServiceTest {
         assertEquals(order.getOrderDate(), result.getOrderDate());
 
         // Cache'den doğru verinin alındığını doğrula
-        OrderDto cachedOrder = cacheManager.getCache("order").get(1, OrderDto.class);
+        OrderDto cachedOrder = cacheManager.getCache("order").get(order.getId(), OrderDto.class);
         assertNotNull(cachedOrder);
         assertEquals(order.getId(), cachedOrder.getId());
     }
@@ -79,7 +82,7 @@ public class OrderServiceTest {
 
         // Sonuçları doğrula
         assertNotNull(result);
-        assertEquals(orderDto.getTotalAmount(), result.getTotalAmount());
+        assertEquals(0.0, result.getTotalAmount()); // Toplam satırlardan hesaplanır, başlangıçta 0
         assertEquals(1, result.getStatus()); // Varsayılan status değeri
         assertNotNull(result.getOrderDate()); // Sipariş tarihi otomatik olarak atanmalı
 
@@ -100,19 +103,17 @@ public class OrderServiceTest {
     public void testUpdateOrder() {
         // Order oluştur ve kaydet
         Order order = new Order();
-        order.setId(1);
         order.setTotalAmount(100.0);
         order.setOrderDate(LocalDateTime.now());
         order.setStatus(1);
-        orderRepository.save(order);
+        order = orderRepository.save(order); // Id veritabanında üretilir
 
         // Order'ı güncelle
         OrderDto updatedOrderDto = new OrderDto();
-        updatedOrderDto.setId(1);
         updatedOrderDto.setTotalAmount(200.0);
         updatedOrderDto.setStatus(2); // Yeni status değeri
 
-        OrderDto result = orderService.updateOrder(1, updatedOrderDto);
+        OrderDto result = orderService.updateOrder(order.getId(), updatedOrderDto);
 
         // Sonuçları doğrula
         assertNotNull(result);
@@ -144,20 +145,19 @@ public class OrderServiceTest {
     public void testDeleteOrder() {
         // Order oluştur ve kaydet
         Order order = new Order();
-        order.setId(1);
         order.setTotalAmount(100.0);
         order.setOrderDate(LocalDateTime.now());
         order.setStatus(1);
-        orderRepository.save(order);
+        order = orderRepository.save(order); // Id veritabanında üretilir
 
         // Order'ı sil
-        orderService.deleteOrder(1);
+        orderService.deleteOrder(order.getId());
 
         // Order'ın repository'den silindiğini doğrula
-        assertFalse(orderRepository.findById(1).isPresent());
+        assertFalse(orderRepository.findById(order.getId()).isPresent());
 
         // Cache'den verinin silindiğini doğrula
-        assertNull(cacheManager.getCache("order").get(1, OrderDto.class));
+        assertNull(cacheManager.getCache("order").get(order.getId(), OrderDto.class));
     }
 
     @Test
@@ -167,4 +167,36 @@ public class OrderServiceTest {
             orderService.deleteOrder(999);
         });
     }
+
+    @Test
+    public void testRecalculateTotalAmount() {
+        // Toplamı hatalı olan bir Order ve ona ait bir OrderItem oluştur
+        Order order = new Order();
+        order.setTotalAmount(999.0);
+        order.setOrderDate(LocalDateTime.now());
+        order.setStatus(1);
+        order = orderRepository.save(order);
+
+        OrderItem orderItem = new OrderItem();
+        orderItem.setOrder(order);
+        orderItem.setProductId(101);
+        orderItem.setQuantity(2);
+        orderItem.setPrice(50.0);
+        orderItem.setTotalAmount(100.0);
+        orderItemRepository.save(orderItem);
+
+        // Toplamı SQL SUM ile yeniden hesapla
+        OrderDto result = orderService.recalculateTotalAmount(order.getId());
+
+        // Sonuçları doğrula
+        assertEquals(100.0, result.getTotalAmount());
+        assertEquals(100.0, orderRepository.findById(order.getId()).orElseThrow().getTotalAmount());
+    }
+
+    @Test
+    public void testRecalculateTotalAmount_OrderNotFound() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            orderService.recalculateTotalAmount(999);
+        });
+    }
 }
\ No newline at end of file
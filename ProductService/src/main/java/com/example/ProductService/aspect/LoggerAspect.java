@@ -1,18 +1,61 @@
 package com.example.ProductService.aspect;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Servis ve controller çağrılarını izler. İki modu vardır (logging-aspect.mode):
+ * <ul>
+ *     <li>log: her çağrı argümanları ve sonucuyla INFO seviyesinde loglanır</li>
+ *     <li>metrics: her metod için "method.calls" timer'ı (nanoTime) tutulur; argümanlar ve sonuç yalnızca
+ *     slow-threshold-ms'i aşan çağrılarda (WARN) ve sample-rate oranındaki çağrılarda (INFO) loglanır</li>
+ * </ul>
+ */
 @Aspect
 @Component
 public class LoggerAspect {
     private static final Logger logger = LoggerFactory.getLogger(LoggerAspect.class);
 
+    static final String METRIC_NAME = "method.calls";
+
+    @Value("${logging-aspect.mode:log}")
+    private String mode;
+
+    @Value("${logging-aspect.slow-threshold-ms:500}")
+    private long slowThresholdMs;
+
+    // 0..1; metrics modunda yavaş olmayan çağrıların loglanma oranı
+    @Value("${logging-aspect.sample-rate:0.0}")
+    private double sampleRate;
+
+    // Prometheus'ta histogram_quantile için bucket'lar yayınlanır
+    @Value("${logging-aspect.histogram:true}")
+    private boolean histogram;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Başarılı çağrıların timer'ı: her çağrıda registry araması ve tag dizisi oluşturulmasın
+    private final Map<Method, Timer> timers = new ConcurrentHashMap<>();
+
     // Tüm servis metodlarını hedef alan bir Pointcut tanımlayın
     @Pointcut("execution(* com.example.ProductService.service.*.*(..))")
     private void serviceMethods() {
@@ -31,6 +74,10 @@ public class LoggerAspect {
     // Around advice: Hedef metodun öncesinde ve sonrasında çalışır
     @Around("allMethods()")
     public Object logRequestResponse(ProceedingJoinPoint joinPoint) throws Throwable {
+        if ("metrics".equalsIgnoreCase(mode) && meterRegistry != null) {
+            return recordMetrics(joinPoint);
+        }
+
         long startTime = System.currentTimeMillis();
 
         // Yöntem çağrısı öncesi loglama
@@ -51,4 +98,46 @@ public class LoggerAspect {
 
         return result;
     }
-}
\ No newline at end of file
+
+    private Object recordMetrics(ProceedingJoinPoint joinPoint) throws Throwable {
+        long startTime = System.nanoTime();
+
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable throwable) {
+            long elapsedNanos = System.nanoTime() - startTime;
+            timer(joinPoint.getSignature(), throwable.getClass().getSimpleName()).record(elapsedNanos, TimeUnit.NANOSECONDS);
+            logger.error("Exception in method: {} with arguments: {} after {}ms with cause: {}", joinPoint.getSignature(), joinPoint.getArgs(),
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos), throwable.getCause() != null ? throwable.getCause() : throwable.toString());
+            throw throwable;
+        }
+
+        long elapsedNanos = System.nanoTime() - startTime;
+        Signature signature = joinPoint.getSignature();
+        timers.computeIfAbsent(((MethodSignature) signature).getMethod(), method -> timer(signature, "none"))
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+        // Argümanlar ve sonuç (toString) yalnızca gerektiğinde oluşturulur
+        if (elapsedNanos >= TimeUnit.MILLISECONDS.toNanos(slowThresholdMs)) {
+            logger.warn("Slow method: {} with arguments: {} returned: {} in: {}ms", signature, joinPoint.getArgs(), result,
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        } else if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            logger.info("Method executed: {} with arguments: {} returned: {} in: {}ms", signature, joinPoint.getArgs(), result,
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        }
+        return result;
+    }
+
+    private Timer timer(Signature signature, String exception) {
+        return Timer.builder(METRIC_NAME)
+                .description("Servis ve controller metodlarının çalışma süresi")
+                .tag("class", signature.getDeclaringType().getSimpleName())
+                .tag("method", signature.getName())
+                .tag("exception", exception)
+                .publishPercentileHistogram(histogram)
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.ProductService.cache;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Cache yan etkilerini yazının görünür olduğu ana erteler. Aktif bir transaction varsa iş commit'ten
+ * sonra çalışır, geri alınırsa hiç çalışmaz; transaction yoksa hemen çalışır.
+ * Commit'ten önce yapılan bir eviction, aradaki okumanın eski satırı yeniden cache'lemesine izin verir.
+ */
+public final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    public static void run(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || !TransactionSynchronizationManager.isActualTransactionActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.ProductService.cache;
+
+import com.example.ProductService.dto.CacheInvalidationDto;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.serviceregistry.Registration;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Bir node'da yazılan ürün/stok/katalog için diğer instance'lardaki yerel cache kayıtlarını düşürür.
+ * Değişiklikler flush aralığı boyunca biriktirilir (aynı id bir kez gönderilir) ve DiscoveryClient'tan
+ * bulunan her peer'a tek bir POST /internal/cache-invalidations olarak iletilir. Transaction içindeki
+ * değişiklikler yalnızca commit edilirse kuyruğa girer.
+ * Aboneler (örn. OrderService'in fiyat cache'i) aynı endpoint'i sunar.
+ * <p>
+ * Gönderim en iyi çabadır: ulaşılamayan peer'daki kayıt TTL ile düşer.
+ */
+@Component
+@Slf4j
+public class CacheInvalidationBus {
+
+    public static final String INVALIDATION_PATH = "/internal/cache-invalidations";
+
+    @Value("${cache.invalidation.enabled:true}")
+    private boolean enabled;
+
+    @Value("${cache.invalidation.flush-interval-ms:50}")
+    private long flushIntervalMs;
+
+    @Value("${cache.invalidation.timeout-ms:500}")
+    private int timeoutMs;
+
+    // Kendi servisinin diğer instance'larına ek olarak bildirim alacak servisler
+    @Value("${cache.invalidation.subscribers:}")
+    private List<String> subscribers;
+
+    @Value("${spring.application.name}")
+    private String applicationName;
+
+    @Autowired
+    private DiscoveryClient discoveryClient;
+
+    @Autowired
+    private ObjectProvider<Registration> registration;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private CatalogGenerations catalogGenerations;
+
+    private CacheInvalidationDto pending = new CacheInvalidationDto();
+    private RestClient restClient;
+    private ScheduledExecutorService flusher;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(timeoutMs);
+        requestFactory.setReadTimeout(timeoutMs);
+        restClient = RestClient.builder().requestFactory(requestFactory).build();
+
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cache-invalidation-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (flusher == null) {
+            return;
+        }
+        flusher.shutdown();
+        flusher.awaitTermination(flushIntervalMs * 10, TimeUnit.MILLISECONDS);
+        flush(); // Kapanırken bekleyen bildirimleri gönder
+    }
+
+    // Bildirimler çağıranın transaction'ı commit edildikten sonra kuyruğa girer; geri alınan yazı yayınlanmaz
+    public void productChanged(Integer productId) {
+        enqueue(productId, CacheInvalidationDto::getProductIds);
+    }
+
+    public void stockChanged(Integer stockId) {
+        enqueue(stockId, CacheInvalidationDto::getStockIds);
+    }
+
+    public void catalogChanged(Integer catalogId) {
+        enqueue(catalogId, CacheInvalidationDto::getCatalogIds);
+    }
+
+    private void enqueue(Integer id, Function<CacheInvalidationDto, Set<Integer>> ids) {
+        if (enabled && id != null) {
+            AfterCommit.run(() -> {
+                synchronized (this) {
+                    ids.apply(pending).add(id);
+                }
+            });
+        }
+    }
+
+    // Peer'dan gelen bildirimi yalnızca yerelde uygular, tekrar yayınlamaz
+    public void applyLocally(CacheInvalidationDto invalidation) {
+        evict("product", invalidation.getProductIds());
+        evict("stock", invalidation.getStockIds());
+        evict("catalog", invalidation.getCatalogIds());
+        invalidation.getCatalogIds().forEach(catalogGenerations::invalidate);
+    }
+
+    synchronized CacheInvalidationDto drain() {
+        CacheInvalidationDto batch = pending;
+        pending = new CacheInvalidationDto();
+        return batch;
+    }
+
+    void flush() {
+        CacheInvalidationDto batch = drain();
+        if (batch.isEmpty()) {
+            return;
+        }
+        for (ServiceInstance peer : peers()) {
+            try {
+                restClient.post()
+                        .uri(peer.getUri().resolve(INVALIDATION_PATH))
+                        .body(batch)
+                        .retrieve()
+                        .toBodilessEntity();
+            } catch (Exception e) {
+                log.warn("Could not send cache invalidation to {} ({}): {}", peer.getInstanceId(), peer.getUri(), e.getMessage());
+            }
+        }
+    }
+
+    private List<ServiceInstance> peers() {
+        String selfInstanceId = registration.getIfAvailable() != null ? registration.getIfAvailable().getInstanceId() : null;
+        List<ServiceInstance> peers = new ArrayList<>();
+        discoveryClient.getInstances(applicationName).stream()
+                .filter(instance -> selfInstanceId == null || !selfInstanceId.equals(instance.getInstanceId()))
+                .forEach(peers::add);
+        subscribers.forEach(serviceId -> peers.addAll(discoveryClient.getInstances(serviceId)));
+        return peers;
+    }
+
+    private void evict(String cacheName, Iterable<Integer> keys) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            keys.forEach(cache::evict);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.ProductService.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Katalog başına nesil (generation) sayacı. "productsByCatalog" anahtarı katalog id'si ile
+ * mevcut nesilden oluşur; bir ürün yazıldığında yalnızca ilgili kataloğun nesli artırılır.
+ * Eski nesildeki liste bir daha okunmaz ve TTL/boyut sınırıyla cache'ten düşer.
+ * <p>
+ * Nesil transaction commit edildikten sonra artırılır: commit'ten önce artırılsaydı aradaki bir okuma
+ * henüz görünmeyen yazıdan önceki listeyi yeni nesil altında cache'ler ve liste TTL'e kadar eski kalırdı.
+ */
+@Component("catalogGenerations")
+public class CatalogGenerations {
+
+    private final Map<Integer, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    public long current(Integer catalogId) {
+        AtomicLong generation = generations.get(catalogId);
+        return generation != null ? generation.get() : 0L;
+    }
+
+    public void invalidate(Integer catalogId) {
+        if (catalogId != null) {
+            AfterCommit.run(() -> generations.computeIfAbsent(catalogId, id -> new AtomicLong()).incrementAndGet());
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.ProductService.changefeed;
+
+import com.example.ProductService.repository.ProductRepository;
+import com.example.ProductService.repository.StockRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Version kolonu eklenmeden önce yazılmış ürün ve stoklara açılışta version verir;
+ * böylece since=0 ile başlayan bir tüketici tüm satırları görür.
+ * Satırlar parça parça, her parça kendi transaction'ında kilitlenip damgalanır.
+ * <p>
+ * Stok düşümleri version'ı boşaltır; bu satırlar {@code change-feed.stamp-interval-ms} aralıkla
+ * aynı şekilde damgalanır. Böylece sayaç satırı düşümlerin sıcak yolundan çıkar, eşzamanlı
+ * düşümler tek satırda sıraya girmez. Değişiklik akışında bir düşüm en fazla bir aralık gecikir.
+ */
+@Component
+@Slf4j
+public class ChangeVersionBackfill {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private ChangeVersions changeVersions;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // 0: düşülen stoklar damgalanmaz (yalnızca açılıştaki doldurma)
+    @Value("${change-feed.stamp-interval-ms:100}")
+    private long stampIntervalMs;
+
+    private ScheduledExecutorService stamper;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        backfill();
+        if (stampIntervalMs <= 0) {
+            return;
+        }
+        stamper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "change-version-stamper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        stamper.scheduleWithFixedDelay(this::stampStocks, stampIntervalMs, stampIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (stamper == null) {
+            return;
+        }
+        stamper.shutdown();
+        stamper.awaitTermination(stampIntervalMs * 10, TimeUnit.MILLISECONDS);
+    }
+
+    public void backfill() {
+        try {
+            int products = backfill(productRepository::findIdsWithoutVersion, productRepository::updateVersion);
+            int stocks = backfill(stockRepository::findIdsWithoutVersion, stockRepository::updateVersion);
+            if (products > 0 || stocks > 0) {
+                log.info("Assigned change versions to {} products and {} stocks", products, stocks);
+            }
+        } catch (Exception e) {
+            log.error("Change version backfill failed, it will be retried on next startup", e);
+        }
+    }
+
+    // Düşümlerden sonra version'ı boşalan stokları damgalar
+    public int stampStocks() {
+        try {
+            return backfill(stockRepository::findIdsWithoutVersion, stockRepository::updateVersion);
+        } catch (Exception e) {
+            log.warn("Could not stamp change versions of reduced stocks, will retry", e);
+            return 0;
+        }
+    }
+
+    private int backfill(Function<PageRequest, List<Integer>> findIds, BiConsumer<Integer, Long> updateVersion) {
+        int total = 0;
+        int updated;
+        do {
+            updated = transactionTemplate.execute(status -> {
+                List<Integer> ids = findIds.apply(PageRequest.of(0, BATCH_SIZE)); // Satırlar kilitlenir
+                if (ids.isEmpty()) {
+                    return 0;
+                }
+                long version = changeVersions.next(ids.size()); // Sayaç kilidi en son alınır
+                for (Integer id : ids) {
+                    updateVersion.accept(id, version++);
+                }
+                return ids.size();
+            });
+            total += updated;
+        } while (updated == BATCH_SIZE);
+        return total;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.ProductService.changefeed;
+
+import com.example.ProductService.repository.ChangeVersionRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Ürün ve stok yazımlarına global, artan version verir.
+ * <p>
+ * Sayaç satırı commit'e kadar kilitli kaldığı için version'lar commit sırasıyla aynıdır:
+ * bir tüketici N'yi gördüyse N'den küçük version'lı bir değişiklik sonradan ortaya çıkmaz.
+ * Kilit süresini kısa tutmak ve deadlock'u önlemek için version her zaman transaction'daki
+ * son yazım olarak, satırlar yazıldıktan sonra alınır.
+ * <p>
+ * Stok düşümleri sayacı almaz (tek satırlık sayaç tüm düşümleri sıraya sokardı): düşüm stoğun
+ * version'ını boşaltır, {@link ChangeVersionBackfill} bu satırları arka planda damgalar.
+ */
+@Component
+public class ChangeVersions {
+
+    @Autowired
+    private ChangeVersionRepository changeVersionRepository;
+
+    @PostConstruct
+    public void init() {
+        try {
+            changeVersionRepository.insertIfMissing();
+        } catch (DataIntegrityViolationException e) {
+            // Başka bir instance aynı anda ekledi
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long next() {
+        return next(1);
+    }
+
+    // count adet ardışık version ayırır, ilkini döner
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long next(int count) {
+        changeVersionRepository.increment(count);
+        return changeVersionRepository.currentVersion().longValue() - count + 1;
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.ProductService.coalescing;
+
+import com.example.ProductService.config.CoalescingProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Aynı anahtarlı eşzamanlı GET isteklerinden yalnızca ilki controller'a (sorgu, DTO dönüşümü,
+ * JSON yazımı) kadar iner; o sürede gelen aynı istekler ilkinin yanıtının kopyasını alır.
+ * Böylece soğuk cache'e aynı anda gelen binlerce istek veritabanına tek sorgu olarak yansır.
+ * <p>
+ * Yalnızca devam eden bir hesaplamaya katılınır, yanıt saklanmaz. Bu yüzden bir yazma
+ * commit edildikten hemen sonra gelen okuma, yazmadan önce başlamış bir okumanın sonucunu
+ * alabilir; bu, cache'lerin zaten verdiği tazelikten daha zayıf değildir.
+ */
+@Slf4j
+public class RequestCoalescingFilter extends OncePerRequestFilter {
+
+    // Kopyalanan yanıta taşınmayan başlıklar
+    private static final Set<String> SKIPPED_HEADERS = Set.of(
+            HttpHeaders.CONTENT_LENGTH.toLowerCase(), HttpHeaders.TRANSFER_ENCODING.toLowerCase(),
+            HttpHeaders.DATE.toLowerCase(), HttpHeaders.CONNECTION.toLowerCase());
+
+    private final List<Endpoint> endpoints = new ArrayList<>();
+    private final long timeoutMs;
+    private final SingleFlight<String, CapturedResponse> singleFlight = new SingleFlight<>();
+
+    public RequestCoalescingFilter(CoalescingProperties properties) {
+        this.timeoutMs = properties.getTimeout().toMillis();
+        properties.getEndpoints().forEach((name, endpoint) -> endpoints.add(new Endpoint(
+                name, PathPatternParser.defaultInstance.parse(endpoint.getPattern()), List.copyOf(endpoint.getKey()))));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String key = "GET".equals(request.getMethod()) ? key(request) : null;
+        if (key == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        AtomicBoolean leader = new AtomicBoolean();
+        SingleFlight.Result<CapturedResponse> result;
+        try {
+            result = singleFlight.execute(key, () -> {
+                leader.set(true);
+                return capture(request, response, filterChain);
+            }, timeoutMs);
+        } catch (IOException | ServletException | RuntimeException e) {
+            if (leader.get()) {
+                throw e;
+            }
+            // Liderin isteği başarısız oldu ya da çok uzun sürdü: bu istek kendisi çalışır
+            log.debug("Coalesced request {} failed, executing it separately: {}", key, e.toString());
+            filterChain.doFilter(request, response);
+            return;
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            if (leader.get()) {
+                throw new ServletException(e);
+            }
+            log.debug("Coalesced request {} timed out, executing it separately", key);
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (result.shared()) {
+            result.value().writeTo(response);
+        }
+    }
+
+    // Eşleşen endpoint yoksa null: istek birleştirilmez
+    String key(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        for (Endpoint endpoint : endpoints) {
+            PathPattern.PathMatchInfo match = endpoint.pattern().matchAndExtract(path);
+            if (match == null) {
+                continue;
+            }
+            StringBuilder key = new StringBuilder(endpoint.name());
+            for (String part : endpoint.key()) {
+                key.append('|').append(extract(part, request, match.getUriVariables()));
+            }
+            // Farklı içerik türü isteyenler aynı yanıtı paylaşmasın
+            return key.append('|').append(request.getHeader(HttpHeaders.ACCEPT)).toString();
+        }
+        return null;
+    }
+
+    private static String extract(String part, HttpServletRequest request, Map<String, String> uriVariables) {
+        int separator = part.indexOf(':');
+        String source = part.substring(0, separator);
+        String name = part.substring(separator + 1);
+        return switch (source) {
+            case "path" -> uriVariables.get(name);
+            case "query" -> {
+                String[] values = request.getParameterValues(name);
+                yield values != null ? String.join(",", values) : null;
+            }
+            case "header" -> request.getHeader(name);
+            default -> throw new IllegalArgumentException("Unknown coalescing key source: " + part);
+        };
+    }
+
+    private static CapturedResponse capture(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws IOException, ServletException {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, wrapper);
+
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (String name : wrapper.getHeaderNames()) {
+            if (!SKIPPED_HEADERS.contains(name.toLowerCase())) {
+                headers.put(name, List.copyOf(wrapper.getHeaders(name)));
+            }
+        }
+        CapturedResponse captured = new CapturedResponse(wrapper.getStatus(), wrapper.getContentType(), headers,
+                wrapper.getContentAsByteArray());
+        wrapper.copyBodyToResponse(); // Liderin kendi yanıtı
+        return captured;
+    }
+
+    private record Endpoint(String name, PathPattern pattern, List<String> key) {
+    }
+
+    private record CapturedResponse(int status, String contentType, Map<String, List<String>> headers, byte[] body) {
+
+        void writeTo(HttpServletResponse response) throws IOException {
+            response.setStatus(status);
+            headers.forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+            if (contentType != null) {
+                response.setContentType(contentType);
+            }
+            response.setContentLength(body.length);
+            response.getOutputStream().write(body);
+            response.flushBuffer();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.ProductService.coalescing;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Aynı anahtar için aynı anda yapılan hesaplamaları tek bir hesaplamaya indirir.
+ * İlk gelen (lider) hesaplamayı kendi thread'inde yapar; o sürede gelenler sonucunu bekler.
+ * Sonuç saklanmaz: hesaplama bitince anahtar silinir, sonraki çağrı yeniden hesaplar.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    public Result<V> execute(K key, Callable<V> computation, long timeoutMs) throws Exception {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            return new Result<>(await(existing, timeoutMs), true);
+        }
+
+        try {
+            V value = computation.call();
+            future.complete(value);
+            return new Result<>(value, false);
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private static <V> V await(CompletableFuture<V> future, long timeoutMs) throws Exception {
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception exception) {
+                throw exception;
+            }
+            throw e;
+        }
+    }
+
+    // shared: sonuç başka bir çağrının hesaplamasından geldi
+    public record Result<V>(V value, boolean shared) {
+    }
+}
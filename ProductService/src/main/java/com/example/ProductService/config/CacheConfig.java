@@ -0,0 +1,104 @@
+package com.example.ProductService.config;
+
+import com.example.ProductService.service.ProductService;
+import com.example.ProductService.service.StockService;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.NullValue;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Varsayılan sınırsız ConcurrentMapCache yerine boyut/ağırlık ve süre sınırlı Caffeine cache'leri.
+ * İstatistikler (hit/miss/eviction) her cache için kaydedilir.
+ */
+@Configuration
+@EnableConfigurationProperties(CachingProperties.class)
+public class CacheConfig {
+
+    @Bean
+    public CacheManager cacheManager(CachingProperties properties,
+                                     ObjectProvider<ProductService> productService,
+                                     ObjectProvider<StockService> stockService,
+                                     ObjectProvider<Ticker> ticker) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // Testler süreleri beklemek yerine kendi Ticker'ı ile ilerletir
+        Ticker cacheTicker = ticker.getIfAvailable(Ticker::systemTicker);
+
+        // Loader'lı cache'ler LoadingCache olur: aynı anahtar için eşzamanlı istekler tek bir
+        // yüklemeyi bekler, refresh-after dolunca eski değer dönerken arka planda yenilenir.
+        // Servisler ObjectProvider ile tembel çözülür (servisler de CacheManager'a bağımlı).
+        Map<String, CacheLoader<Object, Object>> loaders = Map.of(
+                "product", key -> productService.getObject().loadProduct((Integer) key).<Object>map(value -> value).orElse(NullValue.INSTANCE),
+                "stock", key -> stockService.getObject().loadStock((Integer) key).<Object>map(value -> value).orElse(NullValue.INSTANCE));
+
+        // Ayarı verilmemiş cache'ler varsayılanlarla oluşturulur
+        cacheManager.setCaffeine(caffeine(properties.getDefaults(), cacheTicker));
+
+        Set<String> cacheNames = new LinkedHashSet<>(properties.getCaches().keySet());
+        cacheNames.addAll(loaders.keySet());
+        for (String name : cacheNames) {
+            CachingProperties.Spec spec = properties.getCaches().getOrDefault(name, new CachingProperties.Spec())
+                    .withDefaults(properties.getDefaults());
+            Caffeine<Object, Object> builder = caffeine(spec, cacheTicker);
+            CacheLoader<Object, Object> loader = loaders.get(name);
+            if (loader == null) {
+                cacheManager.registerCustomCache(name, builder.build());
+                continue;
+            }
+            if (spec.getRefreshAfter() != null) {
+                builder.refreshAfterWrite(spec.getRefreshAfter());
+            }
+            cacheManager.registerCustomCache(name, builder.build(loader));
+        }
+        return cacheManager;
+    }
+
+    private Caffeine<Object, Object> caffeine(CachingProperties.Spec spec, Ticker ticker) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder().ticker(ticker).recordStats();
+
+        if (spec.getMaximumWeight() != null) {
+            builder.maximumWeight(spec.getMaximumWeight())
+                    .weigher((key, value) -> value instanceof Collection<?> collection ? Math.max(1, collection.size()) : 1);
+        } else if (spec.getMaximumSize() != null) {
+            builder.maximumSize(spec.getMaximumSize());
+        }
+
+        long ttlNanos = toNanos(spec.getTtl());
+        long negativeTtlNanos = spec.getNegativeTtl() != null ? toNanos(spec.getNegativeTtl()) : ttlNanos;
+        builder.expireAfter(new Expiry<Object, Object>() {
+            @Override
+            public long expireAfterCreate(Object key, Object value, long currentTime) {
+                // Boş Optional sonuçları Spring tarafından NullValue olarak saklanır
+                return value == NullValue.INSTANCE ? negativeTtlNanos : ttlNanos;
+            }
+
+            @Override
+            public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+                return expireAfterCreate(key, value, currentTime);
+            }
+
+            @Override
+            public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+        });
+        return builder;
+    }
+
+    private long toNanos(Duration duration) {
+        return duration != null ? duration.toNanos() : Long.MAX_VALUE;
+    }
+}
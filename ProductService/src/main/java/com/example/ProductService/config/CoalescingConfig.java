@@ -0,0 +1,21 @@
+package com.example.ProductService.config;
+
+import com.example.ProductService.coalescing.RequestCoalescingFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(CoalescingProperties.class)
+public class CoalescingConfig {
+
+    @Bean
+    @ConditionalOnProperty(value = "request-coalescing.enabled", matchIfMissing = true)
+    public FilterRegistrationBean<RequestCoalescingFilter> requestCoalescingFilter(CoalescingProperties properties) {
+        FilterRegistrationBean<RequestCoalescingFilter> registration = new FilterRegistrationBean<>(new RequestCoalescingFilter(properties));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.ProductService.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Eşzamanlı aynı GET isteklerinin birleştirilmesi (ConfigServer ProductService.yml içindeki
+ * "request-coalescing" bölümü). Her endpoint için bir path pattern ve isteğin anahtarını
+ * oluşturan parçalar verilir: "path:&lt;değişken&gt;", "query:&lt;parametre&gt;" veya "header:&lt;ad&gt;".
+ */
+@Data
+@ConfigurationProperties(prefix = "request-coalescing")
+public class CoalescingProperties {
+
+    private boolean enabled = true;
+    private Duration timeout = Duration.ofSeconds(5); // Bekleyen istek bu süreden sonra kendisi çalışır
+    private Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+
+    @Data
+    public static class Endpoint {
+        private String pattern;
+        private List<String> key = new ArrayList<>();
+    }
+}
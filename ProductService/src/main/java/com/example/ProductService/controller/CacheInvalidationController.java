@@ -0,0 +1,29 @@
+package com.example.ProductService.controller;
+
+import com.example.ProductService.cache.CacheInvalidationBus;
+import com.example.ProductService.config.InternalNetworks;
+import com.example.ProductService.dto.CacheInvalidationDto;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+public class CacheInvalidationController {
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final InternalNetworks internalNetworks;
+
+    // Yalnızca iç ağdaki peer'lar çağırabilir: dışarıdan gelen bildirimler cache'i sürekli boşaltabilirdi
+    @PostMapping(CacheInvalidationBus.INVALIDATION_PATH)
+    public ResponseEntity<Void> invalidate(@RequestBody CacheInvalidationDto invalidation, HttpServletRequest request) {
+        if (!internalNetworks.contains(request.getRemoteAddr())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        cacheInvalidationBus.applyLocally(invalidation);
+        return ResponseEntity.noContent().build();
+    }
+}
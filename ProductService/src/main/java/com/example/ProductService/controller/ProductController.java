@@ -1,5 +1,6 @@
 package com.example.ProductService.controller;
 
+import com.example.ProductService.dto.ProductChangeDto;
 import com.example.ProductService.dto.ProductDto;
 import com.example.ProductService.service.ProductService;
 import lombok.RequiredArgsConstructor;
@@ -21,6 +22,20 @@ public class ProductController {
         return productDto.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
     }
 
+    // Artımlı replikasyon: since'ten sonra değişen ürünler; bir sonraki istek son version ile yapılır
+    @GetMapping("/changes")
+    public ResponseEntity<List<ProductChangeDto>> getProductChanges(@RequestParam(defaultValue = "0") Long since,
+                                                                    @RequestParam(defaultValue = "1000") Integer limit) {
+        List<ProductChangeDto> changes = productService.getProductChanges(since, limit);
+        return ResponseEntity.ok(changes);
+    }
+
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<ProductDto>> getProductsByIds(@RequestParam List<Integer> ids) {
+        List<ProductDto> products = productService.getProductsByIds(ids);
+        return ResponseEntity.ok(products);
+    }
+
     @PostMapping
     public ResponseEntity<ProductDto> createProduct(@RequestBody ProductDto productDto) {
         ProductDto createdProduct = productService.createProduct(productDto);
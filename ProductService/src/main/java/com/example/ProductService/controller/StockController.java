@@ -1,11 +1,17 @@
 package com.example.ProductService.controller;
 
+import com.example.ProductService.dto.StockChangeDto;
 import com.example.ProductService.dto.StockDto;
+import com.example.ProductService.dto.StockReductionDto;
+import com.example.ProductService.dto.StockReductionResultDto;
 import com.example.ProductService.service.StockService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Optional;
 
 @RestController
@@ -20,6 +26,13 @@ public class StockController {
         return stockDto.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
     }
 
+    @GetMapping("/changes")
+    public ResponseEntity<List<StockChangeDto>> getStockChanges(@RequestParam(defaultValue = "0") Long since,
+                                                                @RequestParam(defaultValue = "1000") Integer limit) {
+        List<StockChangeDto> changes = stockService.getStockChanges(since, limit);
+        return ResponseEntity.ok(changes);
+    }
+
     @PostMapping
     public ResponseEntity<StockDto> createStock(@RequestBody StockDto stockDto) {
         StockDto createdStock = stockService.createStock(stockDto);
@@ -40,8 +53,17 @@ public class StockController {
     }
 
     @PutMapping("/{id}/reduce")
-    public ResponseEntity<Void> reduceStock(@PathVariable Integer id, @RequestParam Integer quantity) {
-        stockService.reduceStock(id, quantity);
+    public ResponseEntity<String> reduceStock(@PathVariable Integer id, @RequestParam Integer quantity) {
+        if (!stockService.reduceStock(id, quantity)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Insufficient stock for product id: " + id);
+        }
         return ResponseEntity.ok().build();
     }
+
+    @PostMapping("/reduce-batch")
+    public ResponseEntity<List<StockReductionResultDto>> reduceStocks(@RequestBody List<@Valid StockReductionDto> reductions) {
+        List<StockReductionResultDto> results = stockService.reduceStocks(reductions);
+        boolean allReduced = results.stream().allMatch(result -> result.getStatus() == StockReductionResultDto.Status.REDUCED);
+        return ResponseEntity.status(allReduced ? HttpStatus.OK : HttpStatus.CONFLICT).body(results);
+    }
 }
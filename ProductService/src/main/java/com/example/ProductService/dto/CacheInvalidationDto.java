@@ -0,0 +1,17 @@
+package com.example.ProductService.dto;
+
+import lombok.Data;
+
+import java.util.HashSet;
+import java.util.Set;
+
+@Data
+public class CacheInvalidationDto {
+    private Set<Integer> productIds = new HashSet<>();
+    private Set<Integer> stockIds = new HashSet<>();
+    private Set<Integer> catalogIds = new HashSet<>();
+
+    public boolean isEmpty() {
+        return productIds.isEmpty() && stockIds.isEmpty() && catalogIds.isEmpty();
+    }
+}
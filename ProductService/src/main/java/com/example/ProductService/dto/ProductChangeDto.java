@@ -0,0 +1,19 @@
+package com.example.ProductService.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductChangeDto {
+    private Integer id;
+    private String name;
+    private String description;
+    private Boolean status;
+    private Double price;
+    private Integer catalogId;
+    private Long version;
+    private Boolean deleted;
+}
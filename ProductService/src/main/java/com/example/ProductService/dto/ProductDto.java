@@ -1,8 +1,12 @@
 package com.example.ProductService.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class ProductDto {
     private Integer id;
     private String name;
@@ -10,4 +14,4 @@ public class ProductDto {
     private Boolean status;
     private Double price;
     private Integer catalogId;
-}
\ No newline at end of file
+}
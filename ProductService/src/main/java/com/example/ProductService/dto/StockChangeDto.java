@@ -0,0 +1,15 @@
+package com.example.ProductService.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockChangeDto {
+    private Integer id;
+    private Integer productId;
+    private Integer quantity;
+    private Long version;
+}
@@ -0,0 +1,19 @@
+package com.example.ProductService.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReductionDto {
+    @NotNull
+    private Integer productId;
+
+    @NotNull
+    @Positive
+    private Integer quantity;
+}
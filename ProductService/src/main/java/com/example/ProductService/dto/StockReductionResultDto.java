@@ -0,0 +1,25 @@
+package com.example.ProductService.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReductionResultDto {
+    private Integer productId;
+    private Integer quantity;
+    private Boolean reduced; // Yalnızca düşüm commit edildiyse true
+    private Status status;
+
+    public StockReductionResultDto(Integer productId, Integer quantity, Status status) {
+        this(productId, quantity, status == Status.REDUCED, status);
+    }
+
+    public enum Status {
+        REDUCED,      // Düşüldü
+        INSUFFICIENT, // Stok yetmedi; batch'in tamamı geri alındı
+        ROLLED_BACK   // Stok yeterdi ama batch'teki başka bir satır yüzünden geri alındı
+    }
+}
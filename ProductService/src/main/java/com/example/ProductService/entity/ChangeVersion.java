@@ -0,0 +1,18 @@
+package com.example.ProductService.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Tek satırlık global sayaç: ürün ve stok yazımlarına verilen son version
+@Entity
+@Table(name = "change_version")
+@Data
+@NoArgsConstructor
+public class ChangeVersion {
+    @Id
+    private Integer id;
+
+    @Column(name = "current_version", nullable = false)
+    private Long currentVersion;
+}
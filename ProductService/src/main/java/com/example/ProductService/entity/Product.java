@@ -5,6 +5,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
+@Table(indexes = @Index(name = "idx_product_version", columnList = "version"))
 @Data
 @NoArgsConstructor
 public class Product {
@@ -17,6 +18,9 @@ public class Product {
     private Boolean status;
     private Double price;
 
+    // Değişiklik akışı için global sıra numarası (ChangeVersions); optimistic lock @Version'ı değildir
+    private Long version;
+
     @ManyToOne
     @JoinColumn(name = "catalog_id")
     private Catalog catalog;
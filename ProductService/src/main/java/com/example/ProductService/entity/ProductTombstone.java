@@ -0,0 +1,19 @@
+package com.example.ProductService.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Silinen ürünlerin değişiklik akışında görünebilmesi için tutulan kayıt
+@Entity
+@Table(indexes = @Index(name = "idx_product_tombstone_version", columnList = "version"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductTombstone {
+    @Id
+    private Integer productId;
+
+    private Long version;
+}
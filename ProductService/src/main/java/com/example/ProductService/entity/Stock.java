@@ -5,6 +5,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
+@Table(indexes = @Index(name = "idx_stock_version", columnList = "version"))
 @Data
 @NoArgsConstructor
 public class Stock {
@@ -14,6 +15,9 @@ public class Stock {
 
     private Integer quantity;
 
+    // Değişiklik akışı için global sıra numarası (ChangeVersions); optimistic lock @Version'ı değildir
+    private Long version;
+
     @OneToOne(fetch = FetchType.LAZY) // Lazy loading eklendi
     @JoinColumn(name = "product_id")
     private Product product;
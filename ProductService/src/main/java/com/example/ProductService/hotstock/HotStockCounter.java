@@ -0,0 +1,93 @@
+package com.example.ProductService.hotstock;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bir node'un tek bir ürün için veritabanından kiraladığı (lease) stoğu hücrelere bölünmüş
+ * olarak bellekte tutar. Her thread önce kendi hücresinden CAS ile düşer, yetmezse diğer
+ * hücrelere, o da yetmezse tüm hücreleri toplayıp yeniden dağıtan kilitli yola geçer.
+ * Toplam hiçbir zaman sıfırın altına inmez; sayaç boş başlar, stok {@link #add} ile eklenir.
+ */
+class HotStockCounter {
+
+    // 64 byte'lık cache line / 8 byte'lık long: komşu hücreler aynı satırı paylaşmasın
+    private static final int PADDING = 8;
+
+    private final int stripes;
+    private final AtomicLongArray cells;
+
+    HotStockCounter(int stripes) {
+        this.stripes = stripes;
+        this.cells = new AtomicLongArray(stripes * PADDING);
+    }
+
+    boolean reserve(int quantity) {
+        int start = stripeIndex();
+        for (int i = 0; i < stripes; i++) {
+            if (tryTake((start + i) % stripes, quantity)) {
+                return true;
+            }
+        }
+        return reserveSlow(quantity);
+    }
+
+    void release(int quantity) {
+        cells.addAndGet(stripeIndex() * PADDING, quantity);
+    }
+
+    // Yeni kiralanan stok
+    synchronized void add(long quantity) {
+        distribute(quantity);
+    }
+
+    // Kalan stoğun tamamını alır (kapanırken veritabanına iade edilir)
+    synchronized long drain() {
+        return drainCells();
+    }
+
+    long available() {
+        long total = 0;
+        for (int i = 0; i < stripes; i++) {
+            total += cells.get(i * PADDING);
+        }
+        return total;
+    }
+
+    private boolean tryTake(int stripe, int quantity) {
+        int index = stripe * PADDING;
+        long current;
+        while ((current = cells.get(index)) >= quantity) {
+            if (cells.compareAndSet(index, current, current - quantity)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private synchronized boolean reserveSlow(int quantity) {
+        long total = drainCells();
+        boolean reserved = total >= quantity;
+        distribute(reserved ? total - quantity : total);
+        return reserved;
+    }
+
+    private long drainCells() {
+        long total = 0;
+        for (int i = 0; i < stripes; i++) {
+            total += cells.getAndSet(i * PADDING, 0);
+        }
+        return total;
+    }
+
+    private void distribute(long quantity) {
+        long share = quantity / stripes;
+        long remainder = quantity % stripes;
+        for (int i = 0; i < stripes; i++) {
+            cells.addAndGet(i * PADDING, share + (i < remainder ? 1 : 0));
+        }
+    }
+
+    private int stripeIndex() {
+        return (int) (Thread.currentThread().getId() % stripes);
+    }
+}
@@ -0,0 +1,208 @@
+package com.example.ProductService.hotstock;
+
+import com.example.ProductService.cache.AfterCommit;
+import com.example.ProductService.cache.CacheInvalidationBus;
+import com.example.ProductService.entity.Stock;
+import com.example.ProductService.repository.StockRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hot-SKU modu: işaretlenen ürünlerin stok düşümleri satır kilidi yerine bellekteki
+ * {@link HotStockCounter}'lardan karşılanır.
+ * <p>
+ * Her node stoğu veritabanından parça parça kiralar (lease): parça, koşullu bir düşümle
+ * ({@code quantity >= :quantity}) satırdan alınıp yalnızca bu node'un sayacına eklenir. Bir birim
+ * aynı anda tek bir node'da bulunduğu için kaç instance çalışırsa çalışsın fazla satış olmaz ve
+ * veritabanı negatife düşmez. Veritabanındaki miktar kiralanmamış kalandır; satış anında ayrıca
+ * yazılacak bir şey yoktur.
+ * <p>
+ * Sayaç bir parçanın altına indiğinde arka planda yeni parça kiralanır; bir node en fazla iki parça
+ * tutar. Kiralama yalnızca arka plandaki refiller thread'inde yapılır: sayaç isteği karşılayamazsa
+ * istek kiralama beklemez (kiralama ayrı bir transaction, yani havuzdan ikinci bir bağlantı isterdi),
+ * düşüm çağıranın transaction'ında koşullu UPDATE ile doğrudan veritabanından yapılır. Stok tükenirken kalan birimler başka node'larda olabilir: o node'lar satana ya da kapanışta
+ * iade edene kadar bu node ürünü tükenmiş görür.
+ * <p>
+ * Kapanışta kullanılmayan parça iade edilir. Çökmede kiralanmış ama satılmamış stok veritabanına
+ * dönmez (fazla satış yerine eksik satış tarafında kalınır); kayıp en fazla node başına iki parçadır.
+ */
+@Component
+@Slf4j
+public class HotStockRegistry {
+
+    @Value("${stock.hot-sku.enabled:false}")
+    private boolean enabled;
+
+    @Value("${stock.hot-sku.product-ids:}")
+    private List<Integer> productIds;
+
+    // 0: işlemci sayısı kadar hücre
+    @Value("${stock.hot-sku.stripes:0}")
+    private int stripes;
+
+    @Value("${stock.hot-sku.lease-size:100}")
+    private int leaseSize;
+
+    @Value("${stock.hot-sku.refill-interval-ms:200}")
+    private long refillIntervalMs;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    private final Map<Integer, HotStockCounter> counters = new ConcurrentHashMap<>();
+    private final Map<Integer, Integer> stockIds = new ConcurrentHashMap<>(); // product id -> stok id
+    private TransactionTemplate leaseTransaction;
+    private ScheduledExecutorService refiller;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled || productIds.isEmpty()) {
+            return;
+        }
+        // Kiralama ve iade (başlangıç, refiller, kapanış) kendi transaction'ında commit edilir:
+        // parça sayaca eklendiğinde veritabanından düşülmüş olur
+        leaseTransaction = new TransactionTemplate(transactionManager);
+        leaseTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        int stripeCount = stripes > 0 ? stripes : Runtime.getRuntime().availableProcessors();
+        for (Stock stock : stockRepository.findByProductIdIn(productIds)) {
+            counters.put(stock.getProduct().getId(), new HotStockCounter(stripeCount));
+            stockIds.put(stock.getProduct().getId(), stock.getId());
+        }
+        log.info("Hot stock mode enabled for products {}", counters.keySet());
+        refill();
+
+        refiller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "hot-stock-refiller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refiller.scheduleWithFixedDelay(this::refill, refillIntervalMs, refillIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (refiller == null) {
+            return;
+        }
+        refiller.shutdown();
+        refiller.awaitTermination(refillIntervalMs * 10, TimeUnit.MILLISECONDS);
+
+        // Kullanılmayan parçaları iade et
+        counters.forEach((productId, counter) -> {
+            long remaining = counter.drain();
+            if (remaining > 0) {
+                try {
+                    leaseTransaction.executeWithoutResult(status -> {
+                        stockRepository.incrementQuantity(productId, Math.toIntExact(remaining));
+                        stockChanged(productId);
+                    });
+                } catch (Exception e) {
+                    log.error("Could not return {} leased units of product {}", remaining, productId, e);
+                }
+            }
+        });
+    }
+
+    public boolean isHot(Integer productId) {
+        return counters.containsKey(productId);
+    }
+
+    // Transaction içinde çağrılırsa ayrılan miktar, transaction commit edilmezse sayaca geri döner
+    public boolean reserve(Integer productId, Integer quantity) {
+        if (quantity == null || quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive: " + quantity);
+        }
+        HotStockCounter counter = counters.get(productId);
+        if (!counter.reserve(quantity)) {
+            return reserveFromDatabase(productId, quantity);
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        counter.release(quantity);
+                    }
+                }
+            });
+        }
+        return true;
+    }
+
+    // Sayaç yetmediğinde kiralanmamış stoktan, çağıranın bağlantısı ve transaction'ıyla düşülür;
+    // geri alınırsa veritabanı da geri alınır
+    private boolean reserveFromDatabase(Integer productId, Integer quantity) {
+        if (stockRepository.decrementQuantity(productId, quantity) == 0) {
+            return false;
+        }
+        stockChanged(productId);
+        return true;
+    }
+
+    // Sayacı bir parçanın altına düşen ürünler için istekleri beklemeden yeni parça kiralar.
+    // Kiralanmamış stok bir parçadan azsa kiralanmaz; kalan birimler istek yolunda doğrudan veritabanından düşülür
+    void refill() {
+        counters.forEach((productId, counter) -> {
+            if (counter.available() < leaseSize) {
+                try {
+                    tryLease(productId, counter, leaseSize);
+                } catch (Exception e) {
+                    log.warn("Could not lease hot stock for product {}", productId, e);
+                }
+            }
+        });
+    }
+
+    private void tryLease(Integer productId, HotStockCounter counter, int quantity) {
+        boolean leased = Boolean.TRUE.equals(leaseTransaction.execute(status -> {
+            if (stockRepository.decrementQuantity(productId, quantity) == 0) {
+                return false;
+            }
+            stockChanged(productId);
+            return true;
+        }));
+        if (leased) {
+            counter.add(quantity);
+        }
+    }
+
+    // Kiralama stok satırını değiştirir: bu node'daki ve diğer node'lardaki cache kaydı commit'ten sonra düşürülür
+    private void stockChanged(Integer productId) {
+        Integer stockId = stockIds.get(productId);
+        AfterCommit.run(() -> {
+            Cache cache = cacheManager.getCache("stock");
+            if (cache != null) {
+                cache.evict(stockId);
+            }
+        });
+        cacheInvalidationBus.stockChanged(stockId);
+    }
+}
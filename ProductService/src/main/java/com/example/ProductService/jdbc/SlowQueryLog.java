@@ -0,0 +1,250 @@
+package com.example.ProductService.jdbc;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * JDBC seviyesinde sorgu gecikmeleri (MonitoringDataSource tarafından beslenir).
+ * <ul>
+ *     <li>Her normalleştirilmiş SQL ifadesi için "jdbc.query" timer'ı (p50/p95/p99)</li>
+ *     <li>slow-threshold-ms'i aşan en yavaş slow-log-size sorgu, bind parametreleriyle</li>
+ *     <li>explain-threshold-ms'i aşan SELECT'ler için arka planda alınan EXPLAIN çıktısı</li>
+ * </ul>
+ * Hepsi /actuator/slowqueries'ten okunur.
+ */
+@Component
+@Slf4j
+public class SlowQueryLog {
+
+    static final String METRIC_NAME = "jdbc.query";
+    static final String OTHER_STATEMENT = "other";
+
+    // IN listelerindeki parametre sayısı farklı ifadeler tek ifade olarak sayılır
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    @Value("${jdbc-monitoring.slow-threshold-ms:100}")
+    private long slowThresholdMs;
+
+    @Value("${jdbc-monitoring.slow-log-size:50}")
+    private int slowLogSize;
+
+    // 0 ya da negatif: EXPLAIN alınmaz
+    @Value("${jdbc-monitoring.explain-threshold-ms:500}")
+    private long explainThresholdMs;
+
+    @Value("${jdbc-monitoring.explain-interval-ms:300000}")
+    private long explainIntervalMs;
+
+    // Farklı ifade sayısı bunu aşarsa yenileri "other" timer'ına yazılır (metrik kardinalitesi)
+    @Value("${jdbc-monitoring.max-statements:500}")
+    private int maxStatements;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // EXPLAIN, izlenmeyen asıl DataSource üzerinden çalıştırılır
+    @Autowired
+    private ObjectProvider<DataSource> dataSource;
+
+    private final Map<String, String> normalizedSql = new ConcurrentHashMap<>();
+    private final Map<String, StatementStats> statements = new ConcurrentHashMap<>();
+
+    // En yavaş slowLogSize sorgu; kökte en hızlısı durur, daha yavaş bir sorgu geldiğinde o çıkarılır
+    private final PriorityQueue<SlowQuery> slowLog = new PriorityQueue<>(Comparator.comparingDouble(SlowQuery::getElapsedMs));
+    private ThreadPoolExecutor explainer;
+
+    @PostConstruct
+    public void start() {
+        // Tek thread, kısa kuyruk: EXPLAIN yığılırsa fazlası atlanır
+        explainer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(16), runnable -> {
+            Thread thread = new Thread(runnable, "slow-query-explain");
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    @PreDestroy
+    public void stop() {
+        explainer.shutdownNow();
+    }
+
+    void record(String sql, Object[] parameters, int parameterCount, long elapsedNanos) {
+        if (sql == null) {
+            return;
+        }
+        StatementStats stats = stats(normalize(sql));
+        stats.timer().record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+        if (elapsedNanos < TimeUnit.MILLISECONDS.toNanos(slowThresholdMs)) {
+            return;
+        }
+
+        // Parametreler yalnızca yavaş sorgularda kopyalanır
+        SlowQuery slowQuery = new SlowQuery(sql, copyParameters(parameters, parameterCount), elapsedNanos / 1_000_000.0, Instant.now(), null);
+        synchronized (this) {
+            if (slowLog.size() < Math.max(1, slowLogSize)) {
+                slowLog.add(slowQuery);
+            } else if (slowQuery.getElapsedMs() > slowLog.peek().getElapsedMs()) {
+                slowLog.poll();
+                slowLog.add(slowQuery);
+            }
+        }
+        log.warn("Slow query ({} ms): {} parameters: {}", String.format("%.1f", slowQuery.getElapsedMs()), sql, slowQuery.getParameters());
+
+        if (explainThresholdMs > 0 && elapsedNanos >= TimeUnit.MILLISECONDS.toNanos(explainThresholdMs) && isSelect(sql)
+                && stats.tryStartExplain(System.currentTimeMillis(), explainIntervalMs)) {
+            explainer.execute(() -> explain(slowQuery, stats));
+        }
+    }
+
+    // Toplam süreye göre sıralı ifadeler ve en yavaştan hızlıya en yavaş sorgular
+    Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("slowThresholdMs", slowThresholdMs);
+        snapshot.put("explainThresholdMs", explainThresholdMs);
+        snapshot.put("statements", statements.values().stream()
+                .sorted(Comparator.comparingDouble((StatementStats stats) -> stats.timer().totalTime(TimeUnit.MILLISECONDS)).reversed())
+                .map(this::toMap)
+                .collect(Collectors.toList()));
+
+        List<SlowQuery> slowQueries;
+        synchronized (this) {
+            slowQueries = new ArrayList<>(slowLog);
+        }
+        slowQueries.sort(Comparator.comparingDouble(SlowQuery::getElapsedMs).reversed());
+        snapshot.put("slowQueries", slowQueries);
+        return snapshot;
+    }
+
+    // Yavaş sorgu kayıtları ve EXPLAIN'ler temizlenir; timer'lar kümülatiftir, sıfırlanmaz
+    synchronized void reset() {
+        slowLog.clear();
+        statements.values().forEach(StatementStats::resetExplain);
+    }
+
+    private StatementStats stats(String statement) {
+        StatementStats stats = statements.get(statement);
+        if (stats != null) {
+            return stats;
+        }
+        String key = statements.size() < maxStatements ? statement : OTHER_STATEMENT;
+        return statements.computeIfAbsent(key, sql -> new StatementStats(sql, Timer.builder(METRIC_NAME)
+                .description("JDBC statement çalışma süresi")
+                .tag("statement", sql)
+                // İfade başına histogram kovaları (statement x ~70 seri) Prometheus'u şişirirdi; yalnızca yüzdelikler yayınlanır
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .minimumExpectedValue(Duration.ofNanos(100_000))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(meterRegistry)));
+    }
+
+    private String normalize(String sql) {
+        String normalized = normalizedSql.get(sql);
+        if (normalized == null) {
+            normalized = IN_LIST.matcher(WHITESPACE.matcher(sql.trim()).replaceAll(" ")).replaceAll("(?)");
+            // Sınırsız farklı SQL (örn. literal içeren ifadeler) belleği şişirmesin
+            if (normalizedSql.size() < maxStatements * 4) {
+                normalizedSql.put(sql, normalized);
+            }
+        }
+        return normalized;
+    }
+
+    private void explain(SlowQuery slowQuery, StatementStats stats) {
+        DataSource target = dataSource.getObject();
+        if (target instanceof MonitoringDataSource monitoringDataSource) {
+            target = monitoringDataSource.getTargetDataSource();
+        }
+        try (Connection connection = target.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + slowQuery.getSql())) {
+            List<Object> parameters = slowQuery.getParameters();
+            for (int i = 0; i < parameters.size(); i++) {
+                statement.setObject(i + 1, parameters.get(i));
+            }
+
+            List<Map<String, Object>> rows = new ArrayList<>();
+            try (ResultSet resultSet = statement.executeQuery()) {
+                ResultSetMetaData metaData = resultSet.getMetaData();
+                while (resultSet.next()) {
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    for (int column = 1; column <= metaData.getColumnCount(); column++) {
+                        row.put(metaData.getColumnLabel(column), resultSet.getObject(column));
+                    }
+                    rows.add(row);
+                }
+            }
+            slowQuery.setExplain(rows);
+            stats.explain(rows);
+            log.warn("EXPLAIN for slow query {}: {}", stats.sql(), rows);
+        } catch (SQLException e) {
+            log.warn("Could not EXPLAIN slow query {}: {}", stats.sql(), e.getMessage());
+        }
+    }
+
+    private Map<String, Object> toMap(StatementStats stats) {
+        Timer timer = stats.timer();
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("sql", stats.sql());
+        map.put("count", timer.count());
+        map.put("totalMs", timer.totalTime(TimeUnit.MILLISECONDS));
+        map.put("meanMs", timer.mean(TimeUnit.MILLISECONDS));
+        map.put("maxMs", timer.max(TimeUnit.MILLISECONDS));
+        HistogramSnapshot snapshot = timer.takeSnapshot();
+        for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+            map.put("p" + Math.round(percentile.percentile() * 100) + "Ms", percentile.value(TimeUnit.MILLISECONDS));
+        }
+        if (stats.explain() != null) {
+            map.put("explain", stats.explain());
+        }
+        return map;
+    }
+
+    private static boolean isSelect(String sql) {
+        return sql.stripLeading().regionMatches(true, 0, "select", 0, 6);
+    }
+
+    // JSON'a yazılabilir ve EXPLAIN'e yeniden bağlanabilir değerler; akışlar/LOB'lar metin olarak tutulur
+    private static List<Object> copyParameters(Object[] parameters, int parameterCount) {
+        List<Object> copy = new ArrayList<>(parameterCount);
+        for (int i = 0; i < parameterCount; i++) {
+            Object value = parameters[i];
+            boolean simple = value == null || value instanceof Number || value instanceof CharSequence || value instanceof Boolean
+                    || value instanceof TemporalAccessor || value instanceof Date;
+            copy.add(simple ? value : String.valueOf(value));
+        }
+        return copy;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.ProductService.mapper;
+
+import com.example.ProductService.dto.CatalogDto;
+import com.example.ProductService.entity.Catalog;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+
+@Mapper(componentModel = "spring")
+public interface CatalogMapper {
+
+    CatalogDto toDto(Catalog catalog);
+
+    @Mapping(target = "products", ignore = true)
+    Catalog toEntity(CatalogDto catalogDto);
+
+    // Yüklenmiş kataloğu DTO'daki değerlerle günceller; ürün koleksiyonuna dokunulmaz (yüklenmez)
+    @Mapping(target = "products", ignore = true)
+    void update(CatalogDto catalogDto, @MappingTarget Catalog catalog);
+}
@@ -0,0 +1,43 @@
+package com.example.ProductService.mapper;
+
+import com.example.ProductService.dto.ProductDto;
+import com.example.ProductService.entity.Catalog;
+import com.example.ProductService.entity.Product;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+
+import java.util.List;
+
+// Derleme zamanında üretilen dönüşüm (ProductMapperImpl); BeanUtils gibi yansıma kullanmaz
+@Mapper(componentModel = "spring")
+public interface ProductMapper {
+
+    @Mapping(target = "catalogId", source = "catalog.id")
+    ProductDto toDto(Product product);
+
+    List<ProductDto> toDtoList(List<Product> products);
+
+    // Stok ve version servis tarafından yönetilir
+    @Mapping(target = "catalog", source = "catalogId")
+    @Mapping(target = "stock", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    Product toEntity(ProductDto productDto);
+
+    // Yüklenmiş ürünü DTO'daki değerlerle günceller; merge edilmediği için kataloğun ürünleri yüklenmez
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "catalog", source = "catalogId")
+    @Mapping(target = "stock", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    void update(ProductDto productDto, @MappingTarget Product product);
+
+    // Yalnızca id'si dolu referans: ilişki için kataloğu yüklemeye gerek yok
+    default Catalog catalogReference(Integer catalogId) {
+        if (catalogId == null) {
+            return null;
+        }
+        Catalog catalog = new Catalog();
+        catalog.setId(catalogId);
+        return catalog;
+    }
+}
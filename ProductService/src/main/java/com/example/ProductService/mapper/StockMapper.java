@@ -0,0 +1,28 @@
+package com.example.ProductService.mapper;
+
+import com.example.ProductService.dto.StockDto;
+import com.example.ProductService.entity.Product;
+import com.example.ProductService.entity.Stock;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(componentModel = "spring")
+public interface StockMapper {
+
+    // Lazy product proxy'sinden yalnızca id okunur, ürün yüklenmez
+    @Mapping(target = "productId", source = "product.id")
+    StockDto toDto(Stock stock);
+
+    @Mapping(target = "product", source = "productId")
+    @Mapping(target = "version", ignore = true)
+    Stock toEntity(StockDto stockDto);
+
+    default Product productReference(Integer productId) {
+        if (productId == null) {
+            return null;
+        }
+        Product product = new Product();
+        product.setId(productId);
+        return product;
+    }
+}
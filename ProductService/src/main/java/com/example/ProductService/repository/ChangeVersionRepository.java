@@ -0,0 +1,27 @@
+package com.example.ProductService.repository;
+
+import com.example.ProductService.entity.ChangeVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface ChangeVersionRepository extends JpaRepository<ChangeVersion, Integer> {
+
+    // Satır yoksa ekler; INSERT ... SELECT ... WHERE NOT EXISTS hem MySQL'de hem H2'de çalışır
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO change_version (id, current_version) SELECT 1, 0 FROM DUAL " +
+            "WHERE NOT EXISTS (SELECT 1 FROM change_version WHERE id = 1)", nativeQuery = true)
+    int insertIfMissing();
+
+    // Sayacı artırır; satır kilidi commit'e kadar tutulur
+    @Modifying
+    @Query(value = "UPDATE change_version SET current_version = current_version + :count WHERE id = 1", nativeQuery = true)
+    int increment(@Param("count") int count);
+
+    // increment'ten sonra aynı transaction'da okunur: satır kilitli olduğu için araya başka bir artış giremez
+    @Query(value = "SELECT current_version FROM change_version WHERE id = 1", nativeQuery = true)
+    Number currentVersion();
+}
@@ -1,10 +1,54 @@
 package com.example.ProductService.repository;
 
+import com.example.ProductService.dto.ProductChangeDto;
+import com.example.ProductService.dto.ProductDto;
 import com.example.ProductService.entity.Product;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ProductRepository extends JpaRepository<Product, Integer> {
-    List<Product> findByCatalogId(Integer catalogId);
+    // Listeler entity yerine doğrudan DTO'ya okunur. Product.stock ters (mappedBy) bir OneToOne olduğu için
+    // lazy olamaz; entity yüklenseydi her satır için ayrı bir stock sorgusu (N+1) atılırdı
+    @Query("SELECT new com.example.ProductService.dto.ProductDto(p.id, p.name, p.description, p.status, p.price, p.catalog.id) " +
+            "FROM Product p WHERE p.catalog.id = :catalogId")
+    List<ProductDto> findDtosByCatalogId(@Param("catalogId") Integer catalogId);
+
+    @Query("SELECT new com.example.ProductService.dto.ProductDto(p.id, p.name, p.description, p.status, p.price, p.catalog.id) " +
+            "FROM Product p WHERE p.id IN :ids")
+    List<ProductDto> findDtosByIdIn(@Param("ids") Collection<Integer> ids);
+
+    @Query("SELECT p.id FROM Product p WHERE p.catalog.id = :catalogId")
+    List<Integer> findIdsByCatalogId(@Param("catalogId") Integer catalogId);
+
+    // Katalog silinirken ürünler cascade yerine tek ifadeyle silinir (stoklar önce StockRepository ile)
+    @Modifying
+    @Query("DELETE FROM Product p WHERE p.catalog.id = :catalogId")
+    int deleteByCatalogId(@Param("catalogId") Integer catalogId);
+
+    // Ürünü yüklemeden mevcut katalog id'sini döner (katalog cache'i geçersizleştirmek için)
+    @Query("SELECT p.catalog.id FROM Product p WHERE p.id = :id")
+    Optional<Integer> findCatalogIdById(@Param("id") Integer id);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Product p SET p.version = :version WHERE p.id = :id")
+    int updateVersion(@Param("id") Integer id, @Param("version") Long version);
+
+    // Keyset sayfalama: idx_product_version üzerinden yalnızca since'ten sonraki satırlar okunur, OFFSET yok
+    @Query("SELECT new com.example.ProductService.dto.ProductChangeDto(p.id, p.name, p.description, p.status, p.price, p.catalog.id, p.version, false) " +
+            "FROM Product p WHERE p.version > :since ORDER BY p.version")
+    List<ProductChangeDto> findChangesSince(@Param("since") Long since, Pageable pageable);
+
+    // Version kolonu eklenmeden önce yazılmış ürünler (bir kerelik doldurma)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p.id FROM Product p WHERE p.version IS NULL ORDER BY p.id")
+    List<Integer> findIdsWithoutVersion(Pageable pageable);
 }
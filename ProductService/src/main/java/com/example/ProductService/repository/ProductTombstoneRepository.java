@@ -0,0 +1,25 @@
+package com.example.ProductService.repository;
+
+import com.example.ProductService.entity.ProductTombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ProductTombstoneRepository extends JpaRepository<ProductTombstone, Integer> {
+    List<ProductTombstone> findByVersionGreaterThanOrderByVersionAsc(Long version, Pageable pageable);
+
+    // Katalog silinirken tüm ürünlerin tombstone'ları tek ifadeyle yazılır: product id sırasıyla
+    // firstVersion, firstVersion + 1, ... (ürünler bu ifadeden sonra silinmelidir).
+    // productIds önceden ayrılan version aralığını sınırlar; arada kataloğa eklenen ürün aralığın dışına taşmaz.
+    @Modifying
+    @Query(value = "INSERT INTO product_tombstone (product_id, version) " +
+            "SELECT p.id, :firstVersion + ROW_NUMBER() OVER (ORDER BY p.id) - 1 FROM product p " +
+            "WHERE p.catalog_id = :catalogId AND p.id IN (:productIds)", nativeQuery = true)
+    int insertForCatalog(@Param("catalogId") Integer catalogId, @Param("productIds") Collection<Integer> productIds,
+                         @Param("firstVersion") Long firstVersion);
+}
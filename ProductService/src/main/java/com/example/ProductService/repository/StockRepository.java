@@ -1,12 +1,18 @@
 package com.example.ProductService.repository;
 
+import com.example.ProductService.dto.StockChangeDto;
 import com.example.ProductService.entity.Stock;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import jakarta.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface StockRepository extends JpaRepository<Stock, Integer> {
@@ -14,4 +20,51 @@ public interface StockRepository extends JpaRepository<Stock, Integer> {
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT s FROM Stock s WHERE s.product.id = :productId")
     Optional<Stock> findByProductIdWithLock(@Param("productId") Integer productId);
+
+    // Kilitsiz koşullu düşüm: yeterli stok yoksa hiçbir satır güncellenmez (0 döner).
+    // Version boşaltılır; ChangeVersionBackfill satırı arka planda yeniden damgalar.
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Stock s SET s.quantity = s.quantity - :quantity, s.version = NULL " +
+            "WHERE s.product.id = :productId AND s.quantity >= :quantity")
+    int decrementQuantity(@Param("productId") Integer productId, @Param("quantity") Integer quantity);
+
+    boolean existsByProductId(Integer productId);
+
+    // Hot-SKU node'unun kullanmadığı kiralık stoğu iade etmesi için
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Stock s SET s.quantity = s.quantity + :quantity, s.version = NULL WHERE s.product.id = :productId")
+    int incrementQuantity(@Param("productId") Integer productId, @Param("quantity") Integer quantity);
+
+    List<Stock> findByProductIdIn(Collection<Integer> productIds);
+
+    // Ürün id'siyle düşülen stokların cache kayıtlarını (stok id'siyle tutulur) düşürmek için
+    @Query("SELECT s.id FROM Stock s WHERE s.product.id = :productId")
+    Optional<Integer> findIdByProductId(@Param("productId") Integer productId);
+
+    @Query("SELECT s.id FROM Stock s WHERE s.product.id IN :productIds")
+    List<Integer> findIdsByProductIdIn(@Param("productIds") Collection<Integer> productIds);
+
+    @Query("SELECT s.id FROM Stock s WHERE s.product.catalog.id = :catalogId")
+    List<Integer> findIdsByCatalogId(@Param("catalogId") Integer catalogId);
+
+    // Katalog silinirken ürünlerin stokları tek ifadeyle silinir
+    @Modifying
+    @Query("DELETE FROM Stock s WHERE s.product.id IN (SELECT p.id FROM Product p WHERE p.catalog.id = :catalogId)")
+    int deleteByCatalogId(@Param("catalogId") Integer catalogId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Stock s SET s.version = :version WHERE s.id = :id")
+    int updateVersion(@Param("id") Integer id, @Param("version") Long version);
+
+    // Keyset sayfalama: idx_stock_version üzerinden yalnızca since'ten sonraki satırlar okunur, OFFSET yok
+    @Query("SELECT new com.example.ProductService.dto.StockChangeDto(s.id, s.product.id, s.quantity, s.version) " +
+            "FROM Stock s WHERE s.version > :since ORDER BY s.version")
+    List<StockChangeDto> findChangesSince(@Param("since") Long since, Pageable pageable);
+
+    // Version'ı olmayan stoklar: version kolonundan önce yazılanlar ve damgalanmayı bekleyen düşümler
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s.id FROM Stock s WHERE s.version IS NULL ORDER BY s.id")
+    List<Integer> findIdsWithoutVersion(Pageable pageable);
 }
@@ -1,15 +1,26 @@
 package com.example.ProductService.service;
 
+import com.example.ProductService.cache.AfterCommit;
+import com.example.ProductService.cache.CacheInvalidationBus;
+import com.example.ProductService.cache.CatalogGenerations;
+import com.example.ProductService.changefeed.ChangeVersions;
 import com.example.ProductService.dto.CatalogDto;
 import com.example.ProductService.entity.Catalog;
+import com.example.ProductService.mapper.CatalogMapper;
 import com.example.ProductService.repository.CatalogRepository;
-import org.springframework.beans.BeanUtils;
+import com.example.ProductService.repository.ProductRepository;
+import com.example.ProductService.repository.ProductTombstoneRepository;
+import com.example.ProductService.repository.StockRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 @Service
@@ -18,40 +29,92 @@ public class CatalogService {
     @Autowired
     private CatalogRepository catalogRepository;
 
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private ProductTombstoneRepository productTombstoneRepository;
+
+    @Autowired
+    private ChangeVersions changeVersions;
+
+    @Autowired
+    private CatalogMapper catalogMapper;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private CatalogGenerations catalogGenerations;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
     @Cacheable("catalog")
     public Optional<CatalogDto> getCatalogById(Integer id) {
-        return catalogRepository.findById(id)
-                .map(catalog -> {
-                    CatalogDto catalogDto = new CatalogDto();
-                    BeanUtils.copyProperties(catalog, catalogDto); // Entity'den DTO'ya kopyalama
-                    return catalogDto;
-                });
+        return catalogRepository.findById(id).map(catalogMapper::toDto);
     }
 
     @CachePut(value = "catalog", key = "#result.id")
     public CatalogDto createCatalog(CatalogDto catalogDto) {
-        Catalog catalog = new Catalog();
-        BeanUtils.copyProperties(catalogDto, catalog); // DTO'dan Entity'ye kopyalama
-        catalog = catalogRepository.save(catalog);
+        Catalog catalog = catalogRepository.save(catalogMapper.toEntity(catalogDto));
 
-        CatalogDto resultDto = new CatalogDto();
-        BeanUtils.copyProperties(catalog, resultDto); // Entity'den DTO'ya kopyalama
+        CatalogDto resultDto = catalogMapper.toDto(catalog);
+        cacheInvalidationBus.catalogChanged(resultDto.getId()); // Diğer node'lardaki kopyayı düşür
         return resultDto;
     }
 
     @CachePut(value = "catalog", key = "#catalogDto.id")
+    @Transactional
     public CatalogDto updateCatalog(CatalogDto catalogDto) {
-        Catalog catalog = new Catalog();
-        BeanUtils.copyProperties(catalogDto, catalog); // DTO'dan Entity'ye kopyalama
+        // Detached bir katalog merge edilseydi products koleksiyonu da merge edilir, tüm ürünler
+        // (ve her birinin stoğu) yüklenirdi; yüklenmiş kataloğun yalnızca kendi alanları güncellenir
+        Catalog catalog = catalogRepository.findById(catalogDto.getId())
+                .orElseThrow(() -> new IllegalArgumentException("Catalog not found with id: " + catalogDto.getId()));
+        catalogMapper.update(catalogDto, catalog);
         catalog = catalogRepository.save(catalog);
 
-        CatalogDto resultDto = new CatalogDto();
-        BeanUtils.copyProperties(catalog, resultDto); // Entity'den DTO'ya kopyalama
+        CatalogDto resultDto = catalogMapper.toDto(catalog);
+        cacheInvalidationBus.catalogChanged(resultDto.getId()); // Diğer node'lardaki kopyayı düşür
         return resultDto;
     }
 
     @CacheEvict(value = "catalog", key = "#id")
+    @Transactional
     public void deleteCatalog(Integer id) {
+        // Toplu DELETE'ler ürün/stok cache'lerini ve değişiklik akışını atlar; silinecek id'ler önce toplanır
+        List<Integer> productIds = productRepository.findIdsByCatalogId(id);
+        List<Integer> stockIds = stockRepository.findIdsByCatalogId(id);
+
+        // Silinen ürünler değişiklik akışında görünsün: ardışık version'lar tek seferde alınır,
+        // tombstone'lar ürünler silinmeden önce tek INSERT ... SELECT ile yazılır
+        if (!productIds.isEmpty()) {
+            productTombstoneRepository.insertForCatalog(id, productIds, changeVersions.next(productIds.size()));
+        }
+
+        // Cascade silme her ürünü ve stoğunu tek tek yükleyip siler; önce toplu DELETE'lerle boşaltılır
+        stockRepository.deleteByCatalogId(id);
+        productRepository.deleteByCatalogId(id);
         catalogRepository.deleteById(id);
+
+        // Cache'ler commit'ten sonra düşürülür: commit'ten önce gelen okuma silinen kaydı yeniden cache'leyemez
+        AfterCommit.run(() -> {
+            evict("product", productIds);
+            evict("stock", stockIds);
+        });
+        productIds.forEach(cacheInvalidationBus::productChanged);
+        stockIds.forEach(cacheInvalidationBus::stockChanged);
+        catalogGenerations.invalidate(id); // Ürünler katalogla birlikte silindi
+        cacheInvalidationBus.catalogChanged(id);
+    }
+
+    private void evict(String cacheName, List<Integer> keys) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            keys.forEach(cache::evict);
+        }
     }
 }
\ No newline at end of file
@@ -1,75 +1,189 @@
 package com.example.ProductService.service;
 
+import com.example.ProductService.cache.CacheInvalidationBus;
+import com.example.ProductService.cache.CatalogGenerations;
+import com.example.ProductService.changefeed.ChangeVersions;
+import com.example.ProductService.dto.ProductChangeDto;
 import com.example.ProductService.dto.ProductDto;
 import com.example.ProductService.entity.Product;
+import com.example.ProductService.entity.ProductTombstone;
+import com.example.ProductService.mapper.ProductMapper;
 import com.example.ProductService.repository.ProductRepository;
-import org.springframework.beans.BeanUtils;
+import com.example.ProductService.repository.ProductTombstoneRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
 public class ProductService {
 
+    private static final int MAX_CHANGES_LIMIT = 10000;
+
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private ProductTombstoneRepository productTombstoneRepository;
+
+    @Autowired
+    private ChangeVersions changeVersions;
+
+    @Autowired
+    private ProductMapper productMapper;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private CatalogGenerations catalogGenerations;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
     @Cacheable("product")
     public Optional<ProductDto> getProductById(Integer id) {
-        return productRepository.findById(id)
-                .map(product -> {
-                    ProductDto productDto = new ProductDto();
-                    BeanUtils.copyProperties(product, productDto); // Entity'den DTO'ya kopyalama
-                    productDto.setCatalogId(product.getCatalog().getId()); // Catalog ID'yi DTO'ya set et
-                    return productDto;
-                });
+        return loadProduct(id);
+    }
+
+    // "product" cache loader'ı tarafından çağrılır (tek uçuşlu yükleme ve refresh-ahead); cache'e bakmaz
+    public Optional<ProductDto> loadProduct(Integer id) {
+        return productRepository.findById(id).map(productMapper::toDto);
     }
 
     @CachePut(value = "product", key = "#result.id")
+    @Transactional
     public ProductDto createProduct(ProductDto productDto) {
-        Product product = new Product();
-        BeanUtils.copyProperties(productDto, product); // DTO'dan Entity'ye kopyalama
+        Product product = productMapper.toEntity(productDto); // DTO'dan Entity'ye, catalogId katalog referansı olur
         product = productRepository.save(product);
+        productRepository.updateVersion(product.getId(), changeVersions.next()); // Version son yazım olarak alınır
+
+        ProductDto resultDto = productMapper.toDto(product);
 
-        ProductDto resultDto = new ProductDto();
-        BeanUtils.copyProperties(product, resultDto); // Entity'den DTO'ya kopyalama
-        resultDto.setCatalogId(product.getCatalog().getId()); // Catalog ID'yi DTO'ya set et
+        catalogGenerations.invalidate(resultDto.getCatalogId()); // Kataloğun ürün listesi artık eski
+        cacheInvalidationBus.productChanged(resultDto.getId()); // Diğer node'larda negatif cache kaydı olabilir
+        cacheInvalidationBus.catalogChanged(resultDto.getCatalogId());
         return resultDto;
     }
 
     @CachePut(value = "product", key = "#productDto.id")
+    @Transactional
     public ProductDto updateProduct(ProductDto productDto) {
-        Product product = new Product();
-        BeanUtils.copyProperties(productDto, product); // DTO'dan Entity'ye kopyalama
-        product = productRepository.save(product);
+        Product product = productRepository.findById(productDto.getId())
+                .orElseThrow(() -> new IllegalArgumentException("Product not found with id: " + productDto.getId()));
+
+        // Ürün başka bir kataloğa taşınıyorsa eski kataloğun listesi de geçersiz olur
+        Integer oldCatalogId = product.getCatalog() != null ? product.getCatalog().getId() : null;
+
+        // Detached bir ürünü merge etmek eski kataloğun tüm ürünlerini yükler; yüklenmiş ürün yerinde güncellenir
+        productMapper.update(productDto, product); // catalogId katalog referansı olur
+        productRepository.updateVersion(product.getId(), changeVersions.next()); // Version son yazım olarak alınır
+
+        ProductDto resultDto = productMapper.toDto(product);
 
-        ProductDto resultDto = new ProductDto();
-        BeanUtils.copyProperties(product, resultDto); // Entity'den DTO'ya kopyalama
-        resultDto.setCatalogId(product.getCatalog().getId()); // Catalog ID'yi DTO'ya set et
+        catalogGenerations.invalidate(oldCatalogId);
+        cacheInvalidationBus.catalogChanged(oldCatalogId);
+        if (!resultDto.getCatalogId().equals(oldCatalogId)) {
+            catalogGenerations.invalidate(resultDto.getCatalogId());
+            cacheInvalidationBus.catalogChanged(resultDto.getCatalogId());
+        }
+        cacheInvalidationBus.productChanged(resultDto.getId());
         return resultDto;
     }
 
     @CacheEvict(value = "product", key = "#id")
+    @Transactional
     public void deleteProduct(Integer id) {
+        Optional<Integer> catalogId = productRepository.findCatalogIdById(id);
         productRepository.deleteById(id);
+        productRepository.flush();
+        // Silme de değişiklik akışında görünsün
+        productTombstoneRepository.save(new ProductTombstone(id, changeVersions.next()));
+        catalogId.ifPresent(catalogGenerations::invalidate);
+        catalogId.ifPresent(cacheInvalidationBus::catalogChanged);
+        cacheInvalidationBus.productChanged(id);
     }
 
-    @Cacheable("productsByCatalog")
+    // Anahtar kataloğun mevcut neslini içerir: ürün yazıldığında eski liste bir daha okunmaz
+    @Cacheable(value = "productsByCatalog", key = "#catalogId + ':' + @catalogGenerations.current(#catalogId)")
     public List<ProductDto> getProductsByCatalogId(Integer catalogId) {
-        return productRepository.findByCatalogId(catalogId)
-                .stream()
-                .map(product -> {
-                    ProductDto productDto = new ProductDto();
-                    BeanUtils.copyProperties(product, productDto); // Entity'den DTO'ya kopyalama
-                    productDto.setCatalogId(product.getCatalog().getId()); // Catalog ID'yi DTO'ya set et
-                    return productDto;
-                })
+        return productRepository.findDtosByCatalogId(catalogId); // Tek sorgu, ürün sayısından bağımsız
+    }
+
+    // since'ten sonra değişen (silinenler dahil) ürünler, version sırasıyla. Tüketici son version'ı bir
+    // sonraki isteğin since'i olarak kullanır. İki sorgu aynı snapshot'ı görsün diye tek transaction'da okunur.
+    @Transactional(readOnly = true)
+    public List<ProductChangeDto> getProductChanges(Long since, Integer limit) {
+        if (limit == null || limit <= 0 || limit > MAX_CHANGES_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_CHANGES_LIMIT + ": " + limit);
+        }
+        PageRequest page = PageRequest.of(0, limit);
+        List<ProductChangeDto> changes = new ArrayList<>(productRepository.findChangesSince(since, page));
+        productTombstoneRepository.findByVersionGreaterThanOrderByVersionAsc(since, page).forEach(tombstone ->
+                changes.add(new ProductChangeDto(tombstone.getProductId(), null, null, null, null, null, tombstone.getVersion(), true)));
+
+        return changes.stream()
+                .sorted(Comparator.comparing(ProductChangeDto::getVersion))
+                .limit(limit)
                 .collect(Collectors.toList());
     }
+
+    // Birden fazla ürünü tek seferde getirir: önce "product" cache'ine bakar, eksikleri tek bir IN sorgusuyla çeker
+    public List<ProductDto> getProductsByIds(List<Integer> ids) {
+        Cache cache = cacheManager.getCache("product");
+        Map<Integer, ProductDto> productsById = new LinkedHashMap<>();
+        List<Integer> missingIds = new ArrayList<>();
+
+        for (Integer id : new LinkedHashSet<>(ids)) {
+            ProductDto cached = peekCachedProduct(cache, id);
+            if (cached != null) {
+                productsById.put(id, cached);
+            } else {
+                missingIds.add(id);
+            }
+        }
+
+        if (!missingIds.isEmpty()) {
+            productRepository.findDtosByIdIn(missingIds).forEach(productDto -> {
+                productsById.put(productDto.getId(), productDto);
+                if (cache != null) {
+                    cache.put(productDto.getId(), productDto);
+                }
+            });
+        }
+
+        // İstenen sırayı koru, bulunamayan id'leri atla
+        return new LinkedHashSet<>(ids).stream()
+                .map(productsById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    // "product" bir LoadingCache olduğu için Cache.get() eksik kaydı tek tek yükler;
+    // toplu yolda yalnızca mevcut kayda bakılır, eksikler tek sorguda çekilir
+    @SuppressWarnings("unchecked")
+    private ProductDto peekCachedProduct(Cache cache, Integer id) {
+        if (cache == null) {
+            return null;
+        }
+        Object cached = cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache
+                ? ((com.github.benmanes.caffeine.cache.Cache<Object, ?>) nativeCache).getIfPresent(id)
+                : cache.get(id, ProductDto.class);
+        return cached instanceof ProductDto productDto ? productDto : null;
+    }
 }
\ No newline at end of file
@@ -1,70 +1,195 @@
 package com.example.ProductService.service;
 
+import com.example.ProductService.cache.AfterCommit;
+import com.example.ProductService.cache.CacheInvalidationBus;
+import com.example.ProductService.changefeed.ChangeVersions;
+import com.example.ProductService.dto.StockChangeDto;
 import com.example.ProductService.dto.StockDto;
+import com.example.ProductService.dto.StockReductionDto;
+import com.example.ProductService.dto.StockReductionResultDto;
 import com.example.ProductService.entity.Stock;
+import com.example.ProductService.hotstock.HotStockRegistry;
+import com.example.ProductService.mapper.StockMapper;
 import com.example.ProductService.repository.StockRepository;
-import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 
 @Service
 public class StockService {
 
+    private static final int MAX_CHANGES_LIMIT = 10000;
+
     @Autowired
     private StockRepository stockRepository;
 
+    @Autowired
+    private ChangeVersions changeVersions;
+
+    @Autowired
+    private StockMapper stockMapper;
+
+    @Autowired
+    private HotStockRegistry hotStockRegistry;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Autowired
+    private CacheManager cacheManager;
+
     @Cacheable("stock")
     public Optional<StockDto> getStockById(Integer id) {
-        return stockRepository.findById(id)
-                .map(stock -> {
-                    StockDto stockDto = new StockDto();
-                    BeanUtils.copyProperties(stock, stockDto); // Entity'den DTO'ya kopyalama
-                    stockDto.setProductId(stock.getProduct().getId()); // Product ID'yi DTO'ya set et
-                    return stockDto;
-                });
+        return loadStock(id);
+    }
+
+    // "stock" cache loader'ı tarafından çağrılır (tek uçuşlu yükleme ve refresh-ahead); cache'e bakmaz
+    public Optional<StockDto> loadStock(Integer id) {
+        return stockRepository.findById(id).map(stockMapper::toDto);
     }
 
     @CachePut(value = "stock", key = "#result.id")
+    @Transactional
     public StockDto createStock(StockDto stockDto) {
-        Stock stock = new Stock();
-        BeanUtils.copyProperties(stockDto, stock); // DTO'dan Entity'ye kopyalama
+        Stock stock = stockMapper.toEntity(stockDto); // DTO'dan Entity'ye, productId ürün referansı olur
         stock = stockRepository.save(stock);
+        stockRepository.updateVersion(stock.getId(), changeVersions.next()); // Version son yazım olarak alınır
 
-        StockDto resultDto = new StockDto();
-        BeanUtils.copyProperties(stock, resultDto); // Entity'den DTO'ya kopyalama
-        resultDto.setProductId(stock.getProduct().getId()); // Product ID'yi DTO'ya set et
+        StockDto resultDto = stockMapper.toDto(stock);
+        cacheInvalidationBus.stockChanged(resultDto.getId()); // Diğer node'lardaki kopyayı düşür
         return resultDto;
     }
 
     @CachePut(value = "stock", key = "#stockDto.id")
+    @Transactional
     public StockDto updateStock(StockDto stockDto) {
-        Stock stock = new Stock();
-        BeanUtils.copyProperties(stockDto, stock); // DTO'dan Entity'ye kopyalama
+        Stock stock = stockMapper.toEntity(stockDto); // DTO'dan Entity'ye, productId ürün referansı olur
         stock = stockRepository.save(stock);
+        stockRepository.updateVersion(stock.getId(), changeVersions.next()); // Version son yazım olarak alınır
 
-        StockDto resultDto = new StockDto();
-        BeanUtils.copyProperties(stock, resultDto); // Entity'den DTO'ya kopyalama
-        resultDto.setProductId(stock.getProduct().getId()); // Product ID'yi DTO'ya set et
+        StockDto resultDto = stockMapper.toDto(stock);
+        cacheInvalidationBus.stockChanged(resultDto.getId()); // Diğer node'lardaki kopyayı düşür
         return resultDto;
     }
 
     @CacheEvict(value = "stock", key = "#id")
     public void deleteStock(Integer id) {
         stockRepository.deleteById(id);
+        cacheInvalidationBus.stockChanged(id);
     }
 
+    // Tek bir koşullu UPDATE ile stok düşer; satır kilidi ve version sayacı beklenmez
+    // (version'ı ChangeVersionBackfill arka planda verir).
+    // Hot-SKU ürünleri sayaç yettiği sürece veritabanına gitmeden bellekteki sayaçtan karşılanır
+    // (stok satırı değiştiğinde cache'i HotStockRegistry düşürür).
     @Transactional
-    public void reduceStock(Integer productId, Integer quantity) {
+    public boolean reduceStock(Integer productId, Integer quantity) {
+        // Sıfır ya da negatif miktar koşullu UPDATE'te stoğu artırırdı
+        if (quantity == null || quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive: " + quantity);
+        }
+        if (hotStockRegistry.isHot(productId)) {
+            return hotStockRegistry.reserve(productId, quantity);
+        }
+        if (stockRepository.decrementQuantity(productId, quantity) > 0) {
+            stockRepository.findIdByProductId(productId).ifPresent(this::stockReduced);
+            return true;
+        }
+        if (!stockRepository.existsByProductId(productId)) {
+            throw new IllegalArgumentException("Stock not found for product id: " + productId);
+        }
+        return false; // Yetersiz stok
+    }
+
+    // Birden fazla ürünün stoğunu tek transaction'da düşer: ya hepsi ya hiçbiri
+    @Transactional
+    public List<StockReductionResultDto> reduceStocks(List<StockReductionDto> reductions) {
+        // Aynı ürüne ait satırları birleştir; TreeMap ile product id sırasına diz.
+        // Satır kilitleri her zaman aynı sırayla alındığı için eşzamanlı checkout'lar deadlock'a girmez.
+        Map<Integer, Integer> quantitiesByProductId = new TreeMap<>();
+        for (StockReductionDto reduction : reductions) {
+            // Controller @Valid ile doğrular; servisi doğrudan çağıranlar için de stok artırılmasın
+            if (reduction.getProductId() == null || reduction.getQuantity() == null || reduction.getQuantity() <= 0) {
+                throw new IllegalArgumentException("Invalid stock reduction: " + reduction);
+            }
+            quantitiesByProductId.merge(reduction.getProductId(), reduction.getQuantity(), Integer::sum);
+        }
+
+        Map<Integer, Boolean> reducedByProductId = new TreeMap<>();
+        boolean allReduced = true;
+        for (Map.Entry<Integer, Integer> entry : quantitiesByProductId.entrySet()) {
+            boolean reduced = hotStockRegistry.isHot(entry.getKey())
+                    ? hotStockRegistry.reserve(entry.getKey(), entry.getValue())
+                    : stockRepository.decrementQuantity(entry.getKey(), entry.getValue()) > 0;
+            reducedByProductId.put(entry.getKey(), reduced);
+            allReduced &= reduced;
+        }
+
+        // Bir satır bile düşülemediyse tüm düşümleri geri al; düşülmüş satırlar da geri alındı olarak raporlanır.
+        // Hot-SKU ayırmaları transaction commit edilmezse (geri alma ya da sonradan atılan bir exception)
+        // HotStockRegistry tarafından sayaca iade edilir.
+        List<StockReductionResultDto> results = new ArrayList<>();
+        for (Map.Entry<Integer, Integer> entry : quantitiesByProductId.entrySet()) {
+            StockReductionResultDto.Status status = !reducedByProductId.get(entry.getKey()) ? StockReductionResultDto.Status.INSUFFICIENT
+                    : allReduced ? StockReductionResultDto.Status.REDUCED : StockReductionResultDto.Status.ROLLED_BACK;
+            results.add(new StockReductionResultDto(entry.getKey(), entry.getValue(), status));
+        }
+        if (!allReduced) {
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            return results;
+        }
+
+        // Düşülen satırların stok id'leri tek sorguyla alınır
+        List<Integer> databaseProductIds = quantitiesByProductId.keySet().stream()
+                .filter(productId -> !hotStockRegistry.isHot(productId))
+                .toList();
+        if (!databaseProductIds.isEmpty()) {
+            stockRepository.findIdsByProductIdIn(databaseProductIds).forEach(this::stockReduced);
+        }
+        return results;
+    }
+
+    // Düşülen stoğun bu node'daki ve diğer node'lardaki cache kaydı commit'ten sonra düşürülür
+    private void stockReduced(Integer stockId) {
+        AfterCommit.run(() -> {
+            Cache cache = cacheManager.getCache("stock");
+            if (cache != null) {
+                cache.evict(stockId);
+            }
+        });
+        cacheInvalidationBus.stockChanged(stockId);
+    }
+
+    // PESSIMISTIC_WRITE kilitli eski yol; kıyaslama (benchmark) için tutuluyor
+    @Transactional
+    public void reduceStockWithLock(Integer productId, Integer quantity) {
         Optional<Stock> optionalStock = stockRepository.findByProductIdWithLock(productId);
         optionalStock.ifPresent(stock -> {
             stock.setQuantity(stock.getQuantity() - quantity);
+            stock.setVersion(null); // Diğer düşüm yolları gibi version arka planda verilir
             stockRepository.save(stock);
         });
     }
+
+    // since'ten sonra değişen stoklar, version sırasıyla (keyset sayfalama)
+    @Transactional(readOnly = true)
+    public List<StockChangeDto> getStockChanges(Long since, Integer limit) {
+        if (limit == null || limit <= 0 || limit > MAX_CHANGES_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_CHANGES_LIMIT + ": " + limit);
+        }
+        return stockRepository.findChangesSince(since, PageRequest.of(0, limit));
+    }
 }
\ No newline at end of file
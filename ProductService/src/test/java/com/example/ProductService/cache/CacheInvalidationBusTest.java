@@ -0,0 +1,153 @@
+package com.example.ProductService.cache;
+
+import com.example.ProductService.dto.CacheInvalidationDto;
+import com.example.ProductService.dto.ProductDto;
+import com.example.ProductService.repository.ProductRepository;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Bildirimlerin biriktirilip tekrarsız gönderildiğini ve localhost'taki peer'lara ulaştığını doğrular.
+ */
+@SpringBootTest(properties = {
+        "cache.invalidation.enabled=true",
+        "cache.invalidation.flush-interval-ms=3600000", // Flush'ı test kendisi tetikler
+        "cache.invalidation.subscribers=OrderService"
+})
+public class CacheInvalidationBusTest {
+
+    @MockBean
+    private DiscoveryClient discoveryClient;
+
+    @MockBean
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Autowired
+    private CatalogGenerations catalogGenerations;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private HttpServer peer;
+    private final List<String> receivedBodies = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        cacheInvalidationBus.drain();
+        cacheManager.getCache("product").clear();
+
+        // Localhost'ta ikinci bir instance gibi davranan HTTP sunucusu
+        peer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        peer.createContext(CacheInvalidationBus.INVALIDATION_PATH, exchange -> {
+            receivedBodies.add(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        peer.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        peer.stop(0);
+    }
+
+    @Test
+    public void testChangesAreCoalesced() {
+        cacheInvalidationBus.productChanged(1);
+        cacheInvalidationBus.productChanged(1);
+        cacheInvalidationBus.productChanged(2);
+        cacheInvalidationBus.catalogChanged(7);
+
+        CacheInvalidationDto batch = cacheInvalidationBus.drain();
+
+        assertThat(batch.getProductIds()).containsExactlyInAnyOrder(1, 2);
+        assertThat(batch.getCatalogIds()).containsExactly(7);
+        assertThat(cacheInvalidationBus.drain().isEmpty()).isTrue();
+    }
+
+    @Test
+    public void testChangesInTransaction_QueuedOnlyAfterCommit() {
+        // Act
+        transactionTemplate.executeWithoutResult(status -> {
+            cacheInvalidationBus.productChanged(1);
+            cacheInvalidationBus.stockChanged(3);
+
+            // Assert: commit'ten önce flush edilen batch'te yer almaz
+            assertThat(cacheInvalidationBus.drain().isEmpty()).isTrue();
+        });
+
+        CacheInvalidationDto batch = cacheInvalidationBus.drain();
+        assertThat(batch.getProductIds()).containsExactly(1);
+        assertThat(batch.getStockIds()).containsExactly(3);
+    }
+
+    @Test
+    public void testChangesInRolledBackTransaction_AreDropped() {
+        // Act
+        transactionTemplate.executeWithoutResult(status -> {
+            cacheInvalidationBus.productChanged(1);
+            cacheInvalidationBus.catalogChanged(7);
+            status.setRollbackOnly();
+        });
+
+        // Assert: geri alınan yazı peer'lara yayınlanmaz
+        assertThat(cacheInvalidationBus.drain().isEmpty()).isTrue();
+    }
+
+    @Test
+    public void testFlush_SendsOneBatchToEachPeer() {
+        int port = peer.getAddress().getPort();
+        when(discoveryClient.getInstances("ProductService")).thenReturn(List.of(
+                new DefaultServiceInstance("ProductService:peer", "ProductService", "localhost", port, false)));
+        when(discoveryClient.getInstances("OrderService")).thenReturn(List.of(
+                new DefaultServiceInstance("OrderService:peer", "OrderService", "localhost", port, false)));
+
+        cacheInvalidationBus.productChanged(1);
+        cacheInvalidationBus.stockChanged(3);
+        cacheInvalidationBus.flush();
+
+        assertThat(receivedBodies).hasSize(2);
+        assertThat(receivedBodies.get(0)).contains("\"productIds\":[1]").contains("\"stockIds\":[3]");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testApplyLocally_EvictsAndBumpsGeneration() {
+        ProductDto productDto = new ProductDto();
+        productDto.setId(1);
+        cacheManager.getCache("product").put(1, productDto);
+        long generation = catalogGenerations.current(7);
+
+        CacheInvalidationDto invalidation = new CacheInvalidationDto();
+        invalidation.getProductIds().add(1);
+        invalidation.getCatalogIds().add(7);
+        cacheInvalidationBus.applyLocally(invalidation);
+
+        // "product" bir LoadingCache: Cache.get() eksik kaydı yükleyeceği için native cache'e bakılır
+        assertThat(((com.github.benmanes.caffeine.cache.Cache<Object, Object>) cacheManager.getCache("product").getNativeCache()).asMap()).doesNotContainKey(1);
+        assertThat(catalogGenerations.current(7)).isEqualTo(generation + 1);
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.ProductService.cache;
+
+import com.example.ProductService.dto.ProductDto;
+import com.example.ProductService.entity.Catalog;
+import com.example.ProductService.entity.Product;
+import com.example.ProductService.repository.CatalogRepository;
+import com.example.ProductService.repository.ProductRepository;
+import com.example.ProductService.repository.StockRepository;
+import com.example.ProductService.service.ProductService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Yazı ile commit arasına giren bir katalog okuması, commit'ten sonra eski listeyi döndürmemeli
+@SpringBootTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "eureka.client.enabled=false",
+        "cache.invalidation.enabled=false",
+        "change-feed.stamp-interval-ms=0"
+})
+public class CatalogGenerationsTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CatalogGenerations catalogGenerations;
+
+    @Autowired
+    private CatalogRepository catalogRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final ExecutorService reader = Executors.newSingleThreadExecutor();
+    private Integer catalogId;
+    private ProductDto productDto;
+
+    @BeforeEach
+    public void setUp() {
+        stockRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        catalogRepository.deleteAllInBatch();
+        cacheManager.getCache("productsByCatalog").clear();
+
+        Catalog catalog = new Catalog();
+        catalog.setName("Catalog");
+        catalog.setStatus(true);
+        catalogId = catalogRepository.save(catalog).getId();
+
+        Product product = new Product();
+        product.setName("Product");
+        product.setPrice(10.0);
+        product.setStatus(true);
+        product.setCatalog(catalog);
+        product = productRepository.save(product);
+
+        productDto = new ProductDto(product.getId(), "Product", null, true, 20.0, catalogId);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        reader.shutdownNow();
+    }
+
+    @Test
+    public void testReadBetweenWriteAndCommit_DoesNotServeStaleListAfterCommit() throws Exception {
+        // Act: ürün transaction içinde güncellenir, commit'ten önce başka bir thread listeyi okuyup cache'ler
+        transactionTemplate.executeWithoutResult(status -> {
+            productService.updateProduct(productDto);
+
+            List<ProductDto> beforeCommit = readInOtherThread();
+            assertThat(beforeCommit).extracting(ProductDto::getPrice).containsExactly(10.0); // Yazı henüz görünmez
+        });
+
+        // Assert: commit'ten sonraki okuma yeni fiyatı görür
+        assertThat(productService.getProductsByCatalogId(catalogId)).extracting(ProductDto::getPrice).containsExactly(20.0);
+    }
+
+    @Test
+    public void testRolledBackWrite_KeepsGeneration() {
+        // Arrange
+        long before = catalogGenerations.current(catalogId);
+
+        // Act
+        transactionTemplate.executeWithoutResult(status -> {
+            productService.updateProduct(productDto);
+            status.setRollbackOnly();
+        });
+
+        // Assert: geri alınan yazı cache'lenmiş listeyi geçersiz kılmaz
+        assertThat(catalogGenerations.current(catalogId)).isEqualTo(before);
+    }
+
+    @Test
+    public void testInvalidateOutsideTransaction_AppliesImmediately() {
+        // Arrange
+        long before = catalogGenerations.current(catalogId);
+
+        // Act: peer'dan gelen bildirim gibi transaction dışında
+        catalogGenerations.invalidate(catalogId);
+
+        // Assert
+        assertThat(catalogGenerations.current(catalogId)).isEqualTo(before + 1);
+    }
+
+    private List<ProductDto> readInOtherThread() {
+        try {
+            return reader.submit(() -> productService.getProductsByCatalogId(catalogId)).get(10, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
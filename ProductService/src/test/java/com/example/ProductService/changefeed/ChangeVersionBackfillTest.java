@@ -0,0 +1,114 @@
+package com.example.ProductService.changefeed;
+
+import com.example.ProductService.entity.Catalog;
+import com.example.ProductService.entity.Product;
+import com.example.ProductService.entity.Stock;
+import com.example.ProductService.repository.CatalogRepository;
+import com.example.ProductService.repository.ProductRepository;
+import com.example.ProductService.repository.StockRepository;
+import com.example.ProductService.service.StockService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "eureka.client.enabled=false",
+        "cache.invalidation.enabled=false",
+        "change-feed.stamp-interval-ms=0" // Damgalama testte elle tetiklenir
+})
+public class ChangeVersionBackfillTest {
+
+    @Autowired
+    private ChangeVersionBackfill changeVersionBackfill;
+
+    @Autowired
+    private ChangeVersions changeVersions;
+
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private CatalogRepository catalogRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Integer productId;
+    private Integer stockId;
+
+    @BeforeEach
+    public void setUp() {
+        stockRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        catalogRepository.deleteAllInBatch();
+
+        Catalog catalog = new Catalog();
+        catalog.setName("Catalog");
+        catalog.setStatus(true);
+        catalog = catalogRepository.save(catalog);
+
+        Product product = new Product();
+        product.setName("Product");
+        product.setPrice(10.0);
+        product.setStatus(true);
+        product.setCatalog(catalog);
+        product.setVersion(nextVersion());
+        product = productRepository.save(product);
+        productId = product.getId();
+
+        Stock stock = new Stock();
+        stock.setProduct(product);
+        stock.setQuantity(10);
+        stock.setVersion(nextVersion());
+        stockId = stockRepository.save(stock).getId();
+    }
+
+    @Test
+    public void testNextAllocatesConsecutiveVersions() {
+        // Act
+        long first = transactionTemplate.execute(status -> changeVersions.next(3));
+        long second = transactionTemplate.execute(status -> changeVersions.next());
+
+        // Assert
+        assertThat(second).isEqualTo(first + 3);
+    }
+
+    @Test
+    public void testReducedStockIsStampedOffThePath() {
+        // Arrange
+        long before = stockRepository.findById(stockId).orElseThrow().getVersion();
+
+        // Act: düşüm version'ı boşaltır
+        assertThat(stockService.reduceStock(productId, 3)).isTrue();
+        assertThat(stockRepository.findById(stockId).orElseThrow().getVersion()).isNull();
+
+        int stamped = changeVersionBackfill.stampStocks();
+
+        // Assert: arka planda öncekinden büyük bir version verildi
+        Stock stock = stockRepository.findById(stockId).orElseThrow();
+        assertThat(stamped).isEqualTo(1);
+        assertThat(stock.getQuantity()).isEqualTo(7);
+        assertThat(stock.getVersion()).isGreaterThan(before);
+    }
+
+    @Test
+    public void testStampStocksWithoutPendingRowsIsNoop() {
+        // Act & Assert
+        assertThat(changeVersionBackfill.stampStocks()).isZero();
+    }
+
+    private long nextVersion() {
+        return transactionTemplate.execute(status -> changeVersions.next());
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.ProductService.coalescing;
+
+import com.example.ProductService.config.CoalescingProperties;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RequestCoalescingFilterTest {
+
+    private static final int CONCURRENT_REQUESTS = 32;
+
+    private final AtomicInteger controllerCalls = new AtomicInteger();
+    private RequestCoalescingFilter filter;
+
+    // Yavaş bir controller: istekler tamamlanmadan üst üste biner
+    private final FilterChain slowController = (request, response) -> {
+        controllerCalls.incrementAndGet();
+        try {
+            Thread.sleep(100);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        response.setContentType("application/json");
+        response.getOutputStream().write(("{\"uri\":\"" + ((MockHttpServletRequest) request).getRequestURI() + "\"}").getBytes(StandardCharsets.UTF_8));
+    };
+
+    @BeforeEach
+    public void setUp() {
+        CoalescingProperties properties = new CoalescingProperties();
+        properties.getEndpoints().put("product-by-id", endpoint("/api/products/{id:\\d+}", "path:id"));
+        properties.getEndpoints().put("products-by-catalog", endpoint("/api/products/catalog/{catalogId}", "path:catalogId"));
+        filter = new RequestCoalescingFilter(properties);
+    }
+
+    @Test
+    public void testConcurrentIdenticalRequests_ShareOneComputation() throws Exception {
+        List<MockHttpServletResponse> responses = concurrently(i -> "/api/products/catalog/1");
+
+        assertThat(controllerCalls.get()).isEqualTo(1);
+        assertThat(responses).allSatisfy(response -> {
+            assertThat(response.getStatus()).isEqualTo(200);
+            assertThat(response.getContentType()).startsWith("application/json");
+            assertThat(response.getContentAsString()).isEqualTo("{\"uri\":\"/api/products/catalog/1\"}");
+        });
+    }
+
+    @Test
+    public void testDifferentKeys_AreNotShared() throws Exception {
+        List<MockHttpServletResponse> responses = concurrently(i -> "/api/products/" + (i % 4 + 1));
+
+        assertThat(controllerCalls.get()).isEqualTo(4);
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            assertThat(responses.get(i).getContentAsString()).isEqualTo("{\"uri\":\"/api/products/" + (i % 4 + 1) + "\"}");
+        }
+    }
+
+    @Test
+    public void testUnconfiguredEndpoint_IsNotCoalesced() {
+        // /api/products/changes since/limit'e göre değişir; {id:\d+} ile eşleşmez
+        assertThat(filter.key(request("/api/products/changes"))).isNull();
+        assertThat(filter.key(request("/api/products/1"))).isNotNull();
+    }
+
+    private interface UriForRequest {
+        String uri(int index);
+    }
+
+    private List<MockHttpServletResponse> concurrently(UriForRequest uris) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_REQUESTS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<MockHttpServletResponse>> futures = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            String uri = uris.uri(i);
+            futures.add(executor.submit(() -> {
+                MockHttpServletResponse response = new MockHttpServletResponse();
+                start.await();
+                filter.doFilter(request(uri), response, slowController);
+                return response;
+            }));
+        }
+        start.countDown();
+
+        List<MockHttpServletResponse> responses = new ArrayList<>();
+        for (Future<MockHttpServletResponse> future : futures) {
+            responses.add(future.get());
+        }
+        executor.shutdown();
+        return responses;
+    }
+
+    private static MockHttpServletRequest request(String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.addHeader("Accept", "application/json");
+        return request;
+    }
+
+    private static CoalescingProperties.Endpoint endpoint(String pattern, String key) {
+        CoalescingProperties.Endpoint endpoint = new CoalescingProperties.Endpoint();
+        endpoint.setPattern(pattern);
+        endpoint.setKey(List.of(key));
+        return endpoint;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.ProductService.controller;
+
+import com.example.ProductService.cache.CacheInvalidationBus;
+import com.example.ProductService.config.InternalNetworks;
+import com.example.ProductService.dto.CacheInvalidationDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mockito;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class CacheInvalidationControllerTest {
+
+    private CacheInvalidationBus cacheInvalidationBus;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void setUp() {
+        cacheInvalidationBus = Mockito.mock(CacheInvalidationBus.class);
+        InternalNetworks internalNetworks = new InternalNetworks(List.of("127.0.0.0/8", "::1/128", "10.0.0.0/8", "172.16.0.0/12"));
+        mockMvc = MockMvcBuilders.standaloneSetup(new CacheInvalidationController(cacheInvalidationBus, internalNetworks)).build();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"127.0.0.1", "10.1.2.3", "172.31.255.254", "::1"})
+    public void testInvalidate_FromInternalNetwork(String remoteAddress) throws Exception {
+        mockMvc.perform(invalidation(remoteAddress))
+                .andExpect(status().isNoContent());
+
+        verify(cacheInvalidationBus).applyLocally(any(CacheInvalidationDto.class));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"203.0.113.7", "172.32.0.1", "2001:db8::1"})
+    public void testInvalidate_FromOutsideIsForbidden(String remoteAddress) throws Exception {
+        mockMvc.perform(invalidation(remoteAddress))
+                .andExpect(status().isForbidden());
+
+        verify(cacheInvalidationBus, never()).applyLocally(any());
+    }
+
+    @Test
+    public void testInvalidate_ForwardedHeaderIsIgnored() throws Exception {
+        // İstemcinin yazdığı başlık uzak adresin yerine geçmez
+        mockMvc.perform(invalidation("203.0.113.7").header("X-Forwarded-For", "10.0.0.1"))
+                .andExpect(status().isForbidden());
+    }
+
+    private static MockHttpServletRequestBuilder invalidation(String remoteAddress) {
+        return post(CacheInvalidationBus.INVALIDATION_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"productIds\":[1]}")
+                .with(request -> {
+                    request.setRemoteAddr(remoteAddress);
+                    return request;
+                });
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.ProductService.controller;
 
+import com.example.ProductService.dto.ProductChangeDto;
 import com.example.ProductService.dto.ProductDto;
 import com.example.ProductService.service.ProductService;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,6 +17,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 public class ProductControllerTest {
@@ -97,6 +99,18 @@ public class ProductControllerTest {
         verify(productService, times(1)).getProductsByCatalogId(1);
     }
 
+    @Test
+    public void testGetProductsByIds_Success() {
+        List<ProductDto> productDtos = Arrays.asList(new ProductDto(), new ProductDto());
+        when(productService.getProductsByIds(anyList())).thenReturn(productDtos);
+
+        ResponseEntity<List<ProductDto>> response = productController.getProductsByIds(Arrays.asList(1, 2));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo(productDtos);
+        verify(productService, times(1)).getProductsByIds(Arrays.asList(1, 2));
+    }
+
     @Test
     public void testCreateProduct_ServiceThrowsException() {
         ProductDto productDto = new ProductDto();
@@ -128,4 +142,16 @@ public class ProductControllerTest {
         assertThat(exception.getMessage()).isEqualTo("Test Exception");
         verify(productService, times(1)).deleteProduct(1);
     }
+
+    @Test
+    public void testGetProductChanges() {
+        List<ProductChangeDto> changes = List.of(new ProductChangeDto());
+        when(productService.getProductChanges(5L, 100)).thenReturn(changes);
+
+        ResponseEntity<List<ProductChangeDto>> response = productController.getProductChanges(5L, 100);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo(changes);
+        verify(productService, times(1)).getProductChanges(5L, 100);
+    }
 }
@@ -1,20 +1,33 @@
 package com.example.ProductService.controller;
 
 import com.example.ProductService.dto.StockDto;
+import com.example.ProductService.dto.StockReductionDto;
+import com.example.ProductService.dto.StockReductionResultDto;
 import com.example.ProductService.service.StockService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.Mockito;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 public class StockControllerTest {
 
@@ -85,14 +98,94 @@ public class StockControllerTest {
 
     @Test
     public void testReduceStock_Success() {
-        doNothing().when(stockService).reduceStock(anyInt(), anyInt());
+        when(stockService.reduceStock(anyInt(), anyInt())).thenReturn(true);
 
-        ResponseEntity<Void> response = stockController.reduceStock(1, 10);
+        ResponseEntity<String> response = stockController.reduceStock(1, 10);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         verify(stockService, times(1)).reduceStock(1, 10);
     }
 
+    @Test
+    public void testReduceStock_InsufficientStock() {
+        when(stockService.reduceStock(anyInt(), anyInt())).thenReturn(false);
+
+        ResponseEntity<String> response = stockController.reduceStock(1, 10);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        verify(stockService, times(1)).reduceStock(1, 10);
+    }
+
+    @Test
+    public void testReduceStocks_Success() {
+        List<StockReductionResultDto> results = List.of(new StockReductionResultDto(1, 10, StockReductionResultDto.Status.REDUCED));
+        when(stockService.reduceStocks(anyList())).thenReturn(results);
+
+        ResponseEntity<List<StockReductionResultDto>> response = stockController.reduceStocks(List.of(new StockReductionDto(1, 10)));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo(results);
+        verify(stockService, times(1)).reduceStocks(anyList());
+    }
+
+    @Test
+    public void testReduceStocks_InsufficientStock() {
+        List<StockReductionResultDto> results = List.of(
+                new StockReductionResultDto(1, 10, StockReductionResultDto.Status.ROLLED_BACK),
+                new StockReductionResultDto(2, 10, StockReductionResultDto.Status.INSUFFICIENT));
+        when(stockService.reduceStocks(anyList())).thenReturn(results);
+
+        ResponseEntity<List<StockReductionResultDto>> response = stockController.reduceStocks(List.of(
+                new StockReductionDto(1, 10), new StockReductionDto(2, 10)));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(response.getBody()).isEqualTo(results);
+    }
+
+    @Test
+    public void testReduceStocks_ConflictBodyReportsLineStatus() throws Exception {
+        when(stockService.reduceStocks(anyList())).thenReturn(List.of(
+                new StockReductionResultDto(1, 10, StockReductionResultDto.Status.ROLLED_BACK),
+                new StockReductionResultDto(2, 10, StockReductionResultDto.Status.INSUFFICIENT)));
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(stockController).build();
+
+        // Geri alınan satır düşülmüş gibi görünmemeli
+        mockMvc.perform(post("/api/stocks/reduce-batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"productId\":1,\"quantity\":10},{\"productId\":2,\"quantity\":10}]"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$[0].status").value("ROLLED_BACK"))
+                .andExpect(jsonPath("$[0].reduced").value(false))
+                .andExpect(jsonPath("$[1].status").value("INSUFFICIENT"))
+                .andExpect(jsonPath("$[1].reduced").value(false));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "[{\"productId\":1,\"quantity\":0}]",
+            "[{\"productId\":1,\"quantity\":-5}]",
+            "[{\"productId\":1}]",
+            "[{\"quantity\":10}]",
+            "[{\"productId\":1,\"quantity\":10},{\"productId\":2,\"quantity\":-1}]"
+    })
+    public void testReduceStocks_InvalidLineIsBadRequest(String body) throws Exception {
+        // Doğrulama Spring MVC'de çalışır; controller doğrudan çağrıldığında devreye girmez
+        LocalValidatorFactoryBean validator = new LocalValidatorFactoryBean();
+        validator.afterPropertiesSet();
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(stockController)
+                .setControllerAdvice(new GlobalAdviceController())
+                .setValidator(validator)
+                .build();
+
+        mockMvc.perform(post("/api/stocks/reduce-batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Validation failed"));
+
+        verify(stockService, never()).reduceStocks(anyList());
+    }
+
     @Test
     public void testCreateStock_ServiceThrowsException() {
         StockDto stockDto = new StockDto();
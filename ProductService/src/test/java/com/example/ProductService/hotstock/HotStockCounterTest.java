@@ -0,0 +1,102 @@
+package com.example.ProductService.hotstock;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HotStockCounterTest {
+
+    @Test
+    public void testReserve() {
+        HotStockCounter counter = counter(10, 4);
+
+        assertThat(counter.reserve(3)).isTrue();
+        assertThat(counter.available()).isEqualTo(7);
+    }
+
+    @Test
+    public void testReserve_EmptyUntilAdded() {
+        HotStockCounter counter = new HotStockCounter(4);
+
+        assertThat(counter.reserve(1)).isFalse();
+        counter.add(2);
+        assertThat(counter.reserve(1)).isTrue();
+        assertThat(counter.available()).isEqualTo(1);
+    }
+
+    @Test
+    public void testReserve_AcrossStripes() {
+        // Hiçbir hücrede tek başına 9 yok (3/3/2/2), kilitli yol hücreleri birleştirmeli
+        HotStockCounter counter = counter(10, 4);
+
+        assertThat(counter.reserve(9)).isTrue();
+        assertThat(counter.available()).isEqualTo(1);
+    }
+
+    @Test
+    public void testReserve_InsufficientStock() {
+        HotStockCounter counter = counter(5, 4);
+
+        assertThat(counter.reserve(6)).isFalse();
+        assertThat(counter.available()).isEqualTo(5);
+    }
+
+    @Test
+    public void testRelease() {
+        HotStockCounter counter = counter(5, 2);
+        counter.reserve(5);
+
+        counter.release(2);
+
+        assertThat(counter.available()).isEqualTo(2);
+    }
+
+    @Test
+    public void testDrain() {
+        HotStockCounter counter = counter(10, 2);
+        counter.reserve(4);
+
+        // Kalan stoğun tamamı alınır (iade edilecek miktar)
+        assertThat(counter.drain()).isEqualTo(6);
+        assertThat(counter.available()).isZero();
+    }
+
+    @Test
+    public void testConcurrentReserve_NeverOversells() throws Exception {
+        HotStockCounter counter = counter(1000, 8);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        AtomicInteger reserved = new AtomicInteger();
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            futures.add(executor.submit(() -> {
+                for (int j = 0; j < 200; j++) {
+                    if (counter.reserve(1)) {
+                        reserved.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // 3200 istekten tam olarak 1000'i karşılanmalı
+        assertThat(reserved.get()).isEqualTo(1000);
+        assertThat(counter.available()).isZero();
+    }
+
+    private static HotStockCounter counter(long quantity, int stripes) {
+        HotStockCounter counter = new HotStockCounter(stripes);
+        counter.add(quantity);
+        return counter;
+    }
+}
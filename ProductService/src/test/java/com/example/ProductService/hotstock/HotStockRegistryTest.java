@@ -0,0 +1,244 @@
+package com.example.ProductService.hotstock;
+
+import com.example.ProductService.cache.CacheInvalidationBus;
+import com.example.ProductService.entity.Catalog;
+import com.example.ProductService.entity.Product;
+import com.example.ProductService.entity.Stock;
+import com.example.ProductService.repository.CatalogRepository;
+import com.example.ProductService.repository.ProductRepository;
+import com.example.ProductService.repository.StockRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Aynı veritabanını paylaşan iki node, her biri kendi HotStockRegistry'si ile
+@SpringBootTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "eureka.client.enabled=false",
+        "cache.invalidation.enabled=false",
+        "change-feed.stamp-interval-ms=0"
+})
+public class HotStockRegistryTest {
+
+    private static final int LEASE_SIZE = 10;
+
+    @Autowired
+    private CatalogRepository catalogRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    private Integer productId;
+    private final List<HotStockRegistry> nodes = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        stockRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        catalogRepository.deleteAllInBatch();
+
+        Catalog catalog = new Catalog();
+        catalog.setName("Catalog");
+        catalog = catalogRepository.save(catalog);
+
+        Product product = new Product();
+        product.setName("Hot Product");
+        product.setCatalog(catalog);
+        productId = productRepository.save(product).getId();
+
+        Stock stock = new Stock();
+        stock.setProduct(product);
+        stock.setQuantity(25);
+        stockRepository.save(stock);
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        for (HotStockRegistry node : nodes) {
+            node.stop();
+        }
+        nodes.clear();
+    }
+
+    @Test
+    public void testStart_LeasesSliceFromDatabase() {
+        // Act
+        HotStockRegistry node = startNode();
+
+        // Assert: stok veritabanından düşülüp node'a geçti
+        assertThat(available(node)).isEqualTo(LEASE_SIZE);
+        assertThat(databaseQuantity()).isEqualTo(25 - LEASE_SIZE);
+    }
+
+    @Test
+    public void testConcurrentReserve_AcrossNodesNeverOversells() throws Exception {
+        // Arrange: iki node toplam 25 birimi paylaşır
+        List<HotStockRegistry> twoNodes = List.of(startNode(), startNode());
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        AtomicInteger reserved = new AtomicInteger();
+
+        // Act
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            HotStockRegistry node = twoNodes.get(i % 2);
+            futures.add(executor.submit(() -> {
+                for (int j = 0; j < 10; j++) {
+                    if (node.reserve(productId, 1)) {
+                        reserved.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // Assert: 80 istekten tam olarak 25'i karşılandı, veritabanı negatife düşmedi
+        assertThat(reserved.get()).isEqualTo(25);
+        assertThat(databaseQuantity()).isZero();
+    }
+
+    @Test
+    public void testReserve_ReleasedWhenTransactionRollsBack() {
+        // Arrange
+        HotStockRegistry node = startNode();
+
+        // Act
+        transactionTemplate.executeWithoutResult(status -> {
+            assertThat(node.reserve(productId, 4)).isTrue();
+            status.setRollbackOnly();
+        });
+
+        // Assert
+        assertThat(available(node)).isEqualTo(LEASE_SIZE);
+    }
+
+    @Test
+    public void testReserve_ReleasedWhenTransactionFails() {
+        // Arrange
+        HotStockRegistry node = startNode();
+
+        // Act
+        assertThrows(IllegalStateException.class, () -> transactionTemplate.executeWithoutResult(status -> {
+            node.reserve(productId, 4);
+            throw new IllegalStateException("Order could not be saved");
+        }));
+
+        // Assert
+        assertThat(available(node)).isEqualTo(LEASE_SIZE);
+    }
+
+    @Test
+    public void testReserve_EmptyCounterFallsBackToDatabaseWithoutLeasing() {
+        // Arrange: sayaçtaki parça isteğe yetmez
+        HotStockRegistry node = startNode();
+
+        // Act
+        transactionTemplate.executeWithoutResult(status ->
+                assertThat(node.reserve(productId, LEASE_SIZE + 1)).isTrue());
+
+        // Assert: istek thread'inde kiralama yapılmadı, kiralanmamış stoktan doğrudan düşüldü
+        assertThat(available(node)).isEqualTo(LEASE_SIZE);
+        assertThat(databaseQuantity()).isEqualTo(25 - LEASE_SIZE - (LEASE_SIZE + 1));
+    }
+
+    @Test
+    public void testReserve_DatabaseFallbackRolledBackWithCaller() {
+        // Arrange
+        HotStockRegistry node = startNode();
+
+        // Act
+        transactionTemplate.executeWithoutResult(status -> {
+            assertThat(node.reserve(productId, LEASE_SIZE + 1)).isTrue();
+            status.setRollbackOnly();
+        });
+
+        // Assert: sayaçtaki stok ile veritabanındaki toplam hâlâ 25
+        assertThat(available(node)).isEqualTo(LEASE_SIZE);
+        assertThat(databaseQuantity()).isEqualTo(25 - LEASE_SIZE);
+    }
+
+    @Test
+    public void testReserve_FailsWhenNeitherCounterNorDatabaseHasEnough() {
+        // Arrange
+        HotStockRegistry node = startNode();
+
+        // Act & Assert: kiralanmamış 15 birim 20'lik isteğe yetmez
+        assertThat(node.reserve(productId, 20)).isFalse();
+        assertThat(available(node)).isEqualTo(LEASE_SIZE);
+        assertThat(databaseQuantity()).isEqualTo(25 - LEASE_SIZE);
+    }
+
+    @Test
+    public void testStop_ReturnsUnusedLease() throws InterruptedException {
+        // Arrange
+        HotStockRegistry node = startNode();
+        node.reserve(productId, 3);
+
+        // Act
+        node.stop();
+        nodes.remove(node);
+
+        // Assert
+        assertThat(databaseQuantity()).isEqualTo(22);
+    }
+
+    private HotStockRegistry startNode() {
+        HotStockRegistry node = new HotStockRegistry();
+        ReflectionTestUtils.setField(node, "enabled", true);
+        ReflectionTestUtils.setField(node, "productIds", List.of(productId));
+        ReflectionTestUtils.setField(node, "stripes", 2);
+        ReflectionTestUtils.setField(node, "leaseSize", LEASE_SIZE);
+        ReflectionTestUtils.setField(node, "refillIntervalMs", 3600000L); // Arka plan kiralaması testte çalışmaz
+        ReflectionTestUtils.setField(node, "stockRepository", stockRepository);
+        ReflectionTestUtils.setField(node, "transactionManager", transactionManager);
+        ReflectionTestUtils.setField(node, "cacheManager", cacheManager);
+        ReflectionTestUtils.setField(node, "cacheInvalidationBus", cacheInvalidationBus);
+        node.start();
+        nodes.add(node);
+        return node;
+    }
+
+    @SuppressWarnings("unchecked")
+    private long available(HotStockRegistry node) {
+        Map<Integer, HotStockCounter> counters = (Map<Integer, HotStockCounter>) ReflectionTestUtils.getField(node, "counters");
+        return counters.get(productId).available();
+    }
+
+    private int databaseQuantity() {
+        return stockRepository.findByProductIdIn(List.of(productId)).get(0).getQuantity();
+    }
+}
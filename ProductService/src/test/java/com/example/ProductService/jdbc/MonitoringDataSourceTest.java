@@ -0,0 +1,169 @@
+package com.example.ProductService.jdbc;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class MonitoringDataSourceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SlowQueryLog slowQueryLog;
+    private DataSource targetDataSource;
+    private Connection connection;
+    private PreparedStatement preparedStatement;
+    private MonitoringDataSource monitoringDataSource;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
+        targetDataSource = mock(DataSource.class);
+        connection = mock(Connection.class);
+        preparedStatement = mock(PreparedStatement.class);
+        when(targetDataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
+
+        slowQueryLog = new SlowQueryLog();
+        ReflectionTestUtils.setField(slowQueryLog, "slowThresholdMs", 10L);
+        ReflectionTestUtils.setField(slowQueryLog, "slowLogSize", 2);
+        ReflectionTestUtils.setField(slowQueryLog, "explainThresholdMs", 0L);
+        ReflectionTestUtils.setField(slowQueryLog, "explainIntervalMs", 300000L);
+        ReflectionTestUtils.setField(slowQueryLog, "maxStatements", 500);
+        ReflectionTestUtils.setField(slowQueryLog, "meterRegistry", meterRegistry);
+        slowQueryLog.start();
+
+        ObjectProvider<SlowQueryLog> slowQueryLogProvider = mock(ObjectProvider.class);
+        when(slowQueryLogProvider.getIfAvailable()).thenReturn(slowQueryLog);
+        monitoringDataSource = new MonitoringDataSource(targetDataSource, slowQueryLogProvider);
+
+        ObjectProvider<DataSource> dataSourceProvider = mock(ObjectProvider.class);
+        when(dataSourceProvider.getObject()).thenReturn(monitoringDataSource);
+        ReflectionTestUtils.setField(slowQueryLog, "dataSource", dataSourceProvider);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        slowQueryLog.stop();
+    }
+
+    @Test
+    public void testFastQuery_RecordsTimerPerNormalizedStatement() throws Exception {
+        // Act
+        executeQuery("select * from product\n where id in (?, ?)", 1, 2);
+        executeQuery("select * from product where id in (?,?,?)", 1, 2, 3);
+
+        // Assert: IN listesinin uzunluğu farklı ifade sayılmaz
+        assertThat(meterRegistry.get(SlowQueryLog.METRIC_NAME)
+                .tag("statement", "select * from product where id in (?)")
+                .timer().count()).isEqualTo(2L);
+        assertThat((List<?>) slowQueryLog.snapshot().get("slowQueries")).isEmpty();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSlowQuery_KeepsBindParameters() throws Exception {
+        // Arrange
+        when(preparedStatement.executeQuery()).thenAnswer(invocation -> {
+            Thread.sleep(20);
+            return mock(ResultSet.class);
+        });
+
+        // Act
+        executeQuery("select * from product where catalog_id = ? and status = ?", 7, true);
+
+        // Assert
+        List<SlowQuery> slowQueries = (List<SlowQuery>) slowQueryLog.snapshot().get("slowQueries");
+        assertThat(slowQueries).hasSize(1);
+        assertThat(slowQueries.get(0).getSql()).isEqualTo("select * from product where catalog_id = ? and status = ?");
+        assertThat(slowQueries.get(0).getParameters()).containsExactly(7, true);
+        assertThat(slowQueries.get(0).getElapsedMs()).isGreaterThanOrEqualTo(20.0);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSlowLog_KeepsSlowestEntries() {
+        // Act: slow-log-size = 2
+        record("select * from product where id = ?", 1, 30);
+        record("select * from product where id = ?", 2, 50);
+        record("select * from product where id = ?", 3, 20);
+        record("select * from product where id = ?", 4, 40);
+
+        // Assert: son gelenler değil en yavaşlar, en yavaştan hızlıya
+        List<SlowQuery> slowQueries = (List<SlowQuery>) slowQueryLog.snapshot().get("slowQueries");
+        assertThat(slowQueries).extracting(slowQuery -> slowQuery.getParameters().get(0)).containsExactly(2, 4);
+    }
+
+    @Test
+    public void testTimer_PublishesNoHistogramBuckets() throws Exception {
+        // Act
+        executeQuery("select * from product where id = ?", 1);
+
+        // Assert: ifade başına yalnızca yüzdelikler
+        Timer timer = meterRegistry.get(SlowQueryLog.METRIC_NAME).tag("statement", "select * from product where id = ?").timer();
+        assertThat(timer.takeSnapshot().histogramCounts()).isEmpty();
+        assertThat(timer.takeSnapshot().percentileValues()).hasSize(3);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testVerySlowSelect_CapturesExplainOnTargetDataSource() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(slowQueryLog, "slowThresholdMs", 0L);
+        ReflectionTestUtils.setField(slowQueryLog, "explainThresholdMs", 1L);
+        when(preparedStatement.executeQuery()).thenAnswer(invocation -> {
+            Thread.sleep(5);
+            return mock(ResultSet.class);
+        });
+
+        PreparedStatement explainStatement = mock(PreparedStatement.class);
+        ResultSet explainResult = mock(ResultSet.class);
+        ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        when(connection.prepareStatement("EXPLAIN select * from product where catalog_id = ?")).thenReturn(explainStatement);
+        when(explainStatement.executeQuery()).thenReturn(explainResult);
+        when(explainResult.getMetaData()).thenReturn(metaData);
+        when(explainResult.next()).thenReturn(true, false);
+        when(metaData.getColumnCount()).thenReturn(1);
+        when(metaData.getColumnLabel(1)).thenReturn("type");
+        when(explainResult.getObject(1)).thenReturn("ALL");
+
+        // Act
+        executeQuery("select * from product where catalog_id = ?", 7);
+
+        // Assert
+        verify(explainStatement, timeout(1000)).setObject(1, 7);
+        verify(explainStatement, timeout(1000)).close(); // EXPLAIN sonucu kaydedildikten sonra kapanır
+        List<SlowQuery> slowQueries = (List<SlowQuery>) slowQueryLog.snapshot().get("slowQueries");
+        assertThat(slowQueries.get(0).getExplain()).containsExactly(Map.of("type", "ALL"));
+    }
+
+    private void record(String sql, int parameter, long elapsedMs) {
+        slowQueryLog.record(sql, new Object[]{parameter}, 1, TimeUnit.MILLISECONDS.toNanos(elapsedMs));
+    }
+
+    private void executeQuery(String sql, Object... parameters) throws Exception {
+        try (Connection monitoredConnection = monitoringDataSource.getConnection();
+             PreparedStatement statement = monitoredConnection.prepareStatement(sql)) {
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 1, parameters[i]);
+            }
+            statement.executeQuery();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.ProductService.mapper;
+
+import com.example.ProductService.dto.ProductDto;
+import com.example.ProductService.dto.StockDto;
+import com.example.ProductService.entity.Catalog;
+import com.example.ProductService.entity.Product;
+import com.example.ProductService.entity.Stock;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ProductMapperTest {
+
+    private final ProductMapper productMapper = new ProductMapperImpl();
+    private final StockMapper stockMapper = new StockMapperImpl();
+
+    @Test
+    public void testToDto_CopiesFieldsAndCatalogId() {
+        Catalog catalog = new Catalog();
+        catalog.setId(1);
+
+        Product product = new Product();
+        product.setId(101);
+        product.setName("Test Product");
+        product.setDescription("Test Description");
+        product.setStatus(true);
+        product.setPrice(50.0);
+        product.setCatalog(catalog);
+
+        ProductDto result = productMapper.toDto(product);
+
+        assertThat(result.getId()).isEqualTo(101);
+        assertThat(result.getName()).isEqualTo("Test Product");
+        assertThat(result.getDescription()).isEqualTo("Test Description");
+        assertThat(result.getStatus()).isTrue();
+        assertThat(result.getPrice()).isEqualTo(50.0);
+        assertThat(result.getCatalogId()).isEqualTo(1);
+    }
+
+    @Test
+    public void testToEntity_CatalogIdBecomesReference() {
+        ProductDto productDto = new ProductDto();
+        productDto.setId(101);
+        productDto.setPrice(50.0);
+        productDto.setCatalogId(1);
+
+        Product result = productMapper.toEntity(productDto);
+
+        assertThat(result.getCatalog().getId()).isEqualTo(1);
+        assertThat(result.getStock()).isNull();
+        assertThat(result.getVersion()).isNull();
+    }
+
+    @Test
+    public void testStockToEntity_ProductIdBecomesReference() {
+        StockDto stockDto = new StockDto();
+        stockDto.setId(1);
+        stockDto.setQuantity(50);
+        stockDto.setProductId(101);
+
+        Stock result = stockMapper.toEntity(stockDto);
+
+        assertThat(result.getProduct().getId()).isEqualTo(101);
+        assertThat(stockMapper.toDto(result).getProductId()).isEqualTo(101);
+    }
+}
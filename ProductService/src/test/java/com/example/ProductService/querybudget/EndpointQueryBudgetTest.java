@@ -0,0 +1,214 @@
+package com.example.ProductService.querybudget;
+
+import com.example.ProductService.entity.Catalog;
+import com.example.ProductService.entity.Product;
+import com.example.ProductService.entity.Stock;
+import com.example.ProductService.repository.CatalogRepository;
+import com.example.ProductService.repository.ProductRepository;
+import com.example.ProductService.repository.ProductTombstoneRepository;
+import com.example.ProductService.repository.StockRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Her endpoint'in tek istekte çalıştırabileceği en fazla SQL ifadesi sayısı. Katalogda
+ * {@value #PRODUCT_COUNT} ürün varken listeleme bütçeleri ürün sayısından çok küçüktür:
+ * satır başına sorgu atan (N+1) bir değişiklik bu testi kırar.
+ */
+@SpringBootTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "eureka.client.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:productbudget;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "cache.invalidation.enabled=false",
+        // Arka plandaki version damgalayıcısı ölçülen isteklerin sayısına karışmasın
+        "change-feed.stamp-interval-ms=0"
+})
+@AutoConfigureMockMvc
+public class EndpointQueryBudgetTest {
+
+    private static final int PRODUCT_COUNT = 20;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CatalogRepository catalogRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductTombstoneRepository productTombstoneRepository;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private QueryCounter queryCounter;
+    private Fixture fixture;
+
+    // Testlerin kullandığı id'ler; identity kolonları testler arasında sıfırlanmaz
+    record Fixture(Integer catalogId, Integer otherCatalogId, List<Integer> productIds, List<Integer> stockIds,
+                   Integer productWithoutStockId) {
+
+        Integer productId() {
+            return productIds.get(0);
+        }
+
+        Integer stockId() {
+            return stockIds.get(0);
+        }
+    }
+
+    @BeforeEach
+    public void setUp() {
+        stockRepository.deleteAllInBatch();
+        productTombstoneRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        catalogRepository.deleteAllInBatch();
+
+        // Bir katalogda stoklu PRODUCT_COUNT ürün, diğerinde stoğu olmayan tek ürün
+        Catalog catalog = catalogRepository.save(catalog("Catalog"));
+        List<Integer> productIds = new ArrayList<>();
+        List<Integer> stockIds = new ArrayList<>();
+        for (int i = 1; i <= PRODUCT_COUNT; i++) {
+            Product product = productRepository.save(product(catalog, i));
+            productIds.add(product.getId());
+
+            Stock stock = new Stock();
+            stock.setProduct(product);
+            stock.setQuantity(100);
+            stock.setVersion((long) i);
+            stockIds.add(stockRepository.save(stock).getId());
+        }
+        Catalog otherCatalog = catalogRepository.save(catalog("Other Catalog"));
+        Integer productWithoutStockId = productRepository.save(product(otherCatalog, PRODUCT_COUNT + 1)).getId();
+
+        fixture = new Fixture(catalog.getId(), otherCatalog.getId(), productIds, stockIds, productWithoutStockId);
+
+        // Cache'ten dönen istekler sorgu atmaz; her istek soğuk cache ile ölçülür
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+
+        queryCounter = new QueryCounter(entityManagerFactory);
+        queryCounter.reset();
+    }
+
+    @ParameterizedTest(name = "{0} <= {1}")
+    @MethodSource("endpoints")
+    public void testEndpointStaysWithinQueryBudget(String endpoint, int budget, Function<Fixture, RequestBuilder> request) throws Exception {
+        mockMvc.perform(request.apply(fixture))
+                .andExpect(status().is2xxSuccessful());
+
+        assertThat(queryCounter.count())
+                .as("%s SQL ifadesi sayısı", endpoint)
+                .isLessThanOrEqualTo(budget);
+    }
+
+    static Stream<Arguments> endpoints() {
+        return Stream.of(
+                // Ürün, katalog ve stok tek join'le
+                budget("GET /api/products/{id}", 2, f -> get("/api/products/{id}", f.productId())),
+                // DTO projeksiyonları: ürün sayısından bağımsız tek sorgu
+                budget("GET /api/products/catalog/{catalogId}", 1, f -> get("/api/products/catalog/{catalogId}", f.catalogId())),
+                budget("GET /api/products?ids", 1, f -> get("/api/products").param("ids", join(f.productIds()))),
+                budget("GET /api/products/changes", 2, f -> get("/api/products/changes").param("since", "0")),
+                // Yazımlarda change_version sayacı iki ifadedir (UPDATE + SELECT)
+                budget("POST /api/products", 4, f -> post("/api/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"New Product\",\"price\":10.0,\"catalogId\":" + f.catalogId() + "}")),
+                // Yüklenmiş ürün yerinde güncellenir; merge eski kataloğun ürünlerini yüklemez
+                budget("PUT /api/products/{id}", 5, f -> put("/api/products/{id}", f.productId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Updated Product\",\"price\":20.0,\"catalogId\":" + f.otherCatalogId() + "}")),
+                budget("DELETE /api/products/{id}", 8, f -> delete("/api/products/{id}", f.productId())),
+
+                budget("GET /api/catalogs/{id}", 1, f -> get("/api/catalogs/{id}", f.catalogId())),
+                budget("POST /api/catalogs", 1, f -> post("/api/catalogs")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"New Catalog\",\"status\":true}")),
+                // Ürün koleksiyonu yüklenmez
+                budget("PUT /api/catalogs/{id}", 2, f -> put("/api/catalogs/{id}", f.catalogId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Updated Catalog\",\"status\":true}")),
+                // Stok ve ürünler toplu DELETE ile, tombstone'lar tek INSERT ... SELECT ile yazılır: ürün sayısından bağımsız
+                budget("DELETE /api/catalogs/{id}", 10, f -> delete("/api/catalogs/{id}", f.catalogId())),
+
+                budget("GET /api/stocks/{id}", 1, f -> get("/api/stocks/{id}", f.stockId())),
+                budget("GET /api/stocks/changes", 1, f -> get("/api/stocks/changes").param("since", "0")),
+                budget("POST /api/stocks", 4, f -> post("/api/stocks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"quantity\":10,\"productId\":" + f.productWithoutStockId() + "}")),
+                budget("PUT /api/stocks/{id}", 5, f -> put("/api/stocks/{id}", f.stockId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"quantity\":50,\"productId\":" + f.productId() + "}")),
+                budget("DELETE /api/stocks/{id}", 2, f -> delete("/api/stocks/{id}", f.stockId())),
+                // Koşullu UPDATE ve cache'i düşürülecek stok id'si
+                budget("PUT /api/stocks/{id}/reduce", 2, f -> put("/api/stocks/{id}/reduce", f.productId()).param("quantity", "1")),
+                // Satır kilitleri product id sırasıyla alındığı için düşüm satır başına bir UPDATE'tir (version arka planda);
+                // cache'i düşürülecek stok id'leri tek sorguyla alınır, satır başına ek bir sorgu bütçeyi aşar
+                budget("POST /api/stocks/reduce-batch", PRODUCT_COUNT + 1, f -> post("/api/stocks/reduce-batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(f.productIds().stream()
+                                .map(productId -> "{\"productId\":" + productId + ",\"quantity\":1}")
+                                .collect(Collectors.joining(",", "[", "]")))),
+
+                budget("POST /internal/cache-invalidations", 0, f -> post("/internal/cache-invalidations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"productIds\":[" + f.productId() + "]}"))
+        );
+    }
+
+    private static Arguments budget(String endpoint, int maxStatements, Function<Fixture, RequestBuilder> request) {
+        return Arguments.of(endpoint, maxStatements, request);
+    }
+
+    private static String join(List<Integer> ids) {
+        return ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+    }
+
+    private static Catalog catalog(String name) {
+        Catalog catalog = new Catalog();
+        catalog.setName(name);
+        catalog.setStatus(true);
+        return catalog;
+    }
+
+    private static Product product(Catalog catalog, int index) {
+        Product product = new Product();
+        product.setName("Product " + index);
+        product.setDescription("Description " + index);
+        product.setStatus(true);
+        product.setPrice(10.0 + index);
+        product.setVersion((long) index);
+        product.setCatalog(catalog);
+        return product;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.ProductService.querybudget;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+/**
+ * Hibernate istatistiklerinden hazırlanan SQL ifadesi sayısını okur. JDBC batch'indeki
+ * satırlar tek ifade sayılır; sayı veritabanına giden ifade (round trip) sayısıdır.
+ */
+class QueryCounter {
+
+    private final Statistics statistics;
+
+    QueryCounter(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.statistics.setStatisticsEnabled(true);
+    }
+
+    void reset() {
+        statistics.clear();
+    }
+
+    long count() {
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.ProductService.repository;
+
+import com.example.ProductService.entity.Catalog;
+import com.example.ProductService.entity.Product;
+import com.example.ProductService.entity.ProductTombstone;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "eureka.client.enabled=false",
+        "cache.invalidation.enabled=false",
+        "change-feed.stamp-interval-ms=0"
+})
+public class ProductTombstoneRepositoryTest {
+
+    @Autowired
+    private ProductTombstoneRepository productTombstoneRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CatalogRepository catalogRepository;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Catalog catalog;
+    private final List<Integer> productIds = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        stockRepository.deleteAllInBatch();
+        productTombstoneRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        catalogRepository.deleteAllInBatch();
+
+        catalog = catalogRepository.save(catalog("Catalog"));
+        for (int i = 0; i < 3; i++) {
+            productIds.add(productRepository.save(product(catalog)).getId());
+        }
+        productRepository.save(product(catalogRepository.save(catalog("Other Catalog"))));
+    }
+
+    @Test
+    public void testInsertForCatalog_ConsecutiveVersionsInProductIdOrder() {
+        // Act
+        int inserted = transactionTemplate.execute(status -> productTombstoneRepository.insertForCatalog(catalog.getId(), productIds, 100L));
+
+        // Assert: yalnızca kataloğun ürünleri, product id sırasıyla 100, 101, 102
+        assertThat(inserted).isEqualTo(3);
+        assertThat(productTombstoneRepository.findAll())
+                .extracting(ProductTombstone::getProductId, ProductTombstone::getVersion)
+                .containsExactlyInAnyOrder(
+                        tuple(productIds.get(0), 100L),
+                        tuple(productIds.get(1), 101L),
+                        tuple(productIds.get(2), 102L));
+    }
+
+    @Test
+    public void testInsertForCatalog_ProductAddedAfterIdsWereReadIsSkipped() {
+        // Arrange: version aralığı iki ürün için ayrıldıktan sonra kataloğa üçüncü ürün eklendi
+        List<Integer> reserved = productIds.subList(0, 2);
+
+        // Act
+        transactionTemplate.execute(status -> productTombstoneRepository.insertForCatalog(catalog.getId(), reserved, 100L));
+
+        // Assert: ayrılan aralığın dışına version yazılmaz
+        assertThat(productTombstoneRepository.findAll()).extracting(ProductTombstone::getVersion).containsExactlyInAnyOrder(100L, 101L);
+    }
+
+    private static Catalog catalog(String name) {
+        Catalog catalog = new Catalog();
+        catalog.setName(name);
+        catalog.setStatus(true);
+        return catalog;
+    }
+
+    private static Product product(Catalog catalog) {
+        Product product = new Product();
+        product.setName("Product");
+        product.setPrice(10.0);
+        product.setStatus(true);
+        product.setCatalog(catalog);
+        return product;
+    }
+}
@@ -0,0 +1,207 @@
+package com.example.ProductService.service;
+
+import com.example.ProductService.dto.ProductDto;
+import com.example.ProductService.dto.StockDto;
+import com.example.ProductService.entity.Catalog;
+import com.example.ProductService.entity.Product;
+import com.example.ProductService.entity.Stock;
+import com.example.ProductService.repository.ProductRepository;
+import com.example.ProductService.repository.StockRepository;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Süresi dolan / soğuk bir anahtara aynı anda gelen isteklerin veritabanına
+ * tek bir sorgu olarak yansıdığını doğrular. Zaman {@link ManualTicker} ile ilerletilir,
+ * yavaş veritabanı latch'lerle taklit edilir: test duvar saatine bağlı değildir.
+ */
+@SpringBootTest(properties = {
+        "caching.caches.product.refresh-after=200ms",
+        "caching.caches.stock.refresh-after=200ms"
+})
+public class CacheStampedeTest {
+
+    private static final int CONCURRENT_REQUESTS = 64;
+    private static final long TIMEOUT_SECONDS = 10;
+
+    @TestConfiguration
+    static class TickerConfig {
+
+        @Bean
+        public ManualTicker cacheTicker() {
+            return new ManualTicker();
+        }
+    }
+
+    static class ManualTicker implements Ticker {
+        private final AtomicLong nanos = new AtomicLong();
+
+        @Override
+        public long read() {
+            return nanos.get();
+        }
+
+        void advance(Duration duration) {
+            nanos.addAndGet(duration.toNanos());
+        }
+    }
+
+    @MockBean
+    private ProductRepository productRepository;
+
+    @MockBean
+    private StockRepository stockRepository;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ManualTicker ticker;
+
+    // Veritabanı yüklemesi bu latch açılana kadar bekler
+    private CountDownLatch databaseGate;
+    private CountDownLatch loadStarted;
+    private ExecutorService executor;
+
+    private Product product;
+    private Stock stock;
+
+    @BeforeEach
+    public void setUp() {
+        // Cache'i temizle
+        cacheManager.getCache("product").clear();
+        cacheManager.getCache("stock").clear();
+
+        databaseGate = new CountDownLatch(1);
+        loadStarted = new CountDownLatch(1);
+
+        Catalog catalog = new Catalog();
+        catalog.setId(1);
+
+        product = new Product();
+        product.setId(1);
+        product.setPrice(100.0);
+        product.setCatalog(catalog);
+
+        stock = new Stock();
+        stock.setId(1);
+        stock.setQuantity(50);
+        stock.setProduct(product);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        databaseGate.countDown(); // Bekleyen yükleme kalmasın
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testColdProductKey_LoadsOnce() throws Exception {
+        when(productRepository.findById(1)).thenAnswer(invocation -> slowLoad(product));
+
+        List<Future<Optional<ProductDto>>> requests = concurrently(() -> productService.getProductById(1));
+        assertThat(loadStarted.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+        databaseGate.countDown(); // Yükleme sürerken gelen istekler aynı yüklemeyi bekler
+        List<Optional<ProductDto>> results = await(requests);
+
+        assertThat(results).allMatch(Optional::isPresent);
+        verify(productRepository, times(1)).findById(1);
+    }
+
+    @Test
+    public void testColdStockKey_LoadsOnce() throws Exception {
+        when(stockRepository.findById(1)).thenAnswer(invocation -> slowLoad(stock));
+
+        List<Future<Optional<StockDto>>> requests = concurrently(() -> stockService.getStockById(1));
+        assertThat(loadStarted.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+        databaseGate.countDown(); // Yükleme sürerken gelen istekler aynı yüklemeyi bekler
+        List<Optional<StockDto>> results = await(requests);
+
+        assertThat(results).allMatch(Optional::isPresent);
+        verify(stockRepository, times(1)).findById(1);
+    }
+
+    @Test
+    public void testRefreshAhead_ServesStaleAndReloadsOnce() throws Exception {
+        // İlk yükleme beklemez; sonraki (yenileme) yüklemesi kapı açılana kadar takılı kalır
+        AtomicInteger loads = new AtomicInteger();
+        when(productRepository.findById(1)).thenAnswer(invocation ->
+                loads.incrementAndGet() == 1 ? Optional.of(product) : slowLoad(product));
+
+        productService.getProductById(1);
+        ticker.advance(Duration.ofMillis(300)); // refresh-after süresi doldu
+
+        // Yenileme veritabanında takılıyken okuyucular eski değeri alır; bekleselerdi zaman aşımına düşerlerdi
+        List<Optional<ProductDto>> results = await(concurrently(() -> productService.getProductById(1)));
+
+        assertThat(results).allMatch(Optional::isPresent);
+        assertThat(loadStarted.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+        // 64 okuma tek bir arka plan yenilemesi başlattı
+        verify(productRepository, times(2)).findById(1);
+    }
+
+    // Yükleme başladığını bildirir ve kapı açılana kadar bekler
+    private <T> Optional<T> slowLoad(T value) throws InterruptedException {
+        loadStarted.countDown();
+        databaseGate.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        return Optional.of(value);
+    }
+
+    // İstekler aynı anda bırakılır; sonuçlar await ile toplanır
+    private <T> List<Future<T>> concurrently(Callable<T> request) throws InterruptedException {
+        executor = Executors.newFixedThreadPool(CONCURRENT_REQUESTS);
+        CountDownLatch ready = new CountDownLatch(CONCURRENT_REQUESTS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<T>> futures = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            futures.add(executor.submit(() -> {
+                ready.countDown();
+                start.await();
+                return request.call();
+            }));
+        }
+        ready.await();
+        start.countDown();
+        return futures;
+    }
+
+    private <T> List<T> await(List<Future<T>> futures) throws Exception {
+        List<T> results = new ArrayList<>();
+        for (Future<T> future : futures) {
+            results.add(future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        }
+        return results;
+    }
+}
@@ -1,10 +1,17 @@
 package com.example.ProductService.service;
 
+import com.example.ProductService.changefeed.ChangeVersions;
 import com.example.ProductService.dto.CatalogDto;
+import com.example.ProductService.dto.ProductDto;
+import com.example.ProductService.dto.StockDto;
 import com.example.ProductService.entity.Catalog;
 import com.example.ProductService.repository.CatalogRepository;
+import com.example.ProductService.repository.ProductRepository;
+import com.example.ProductService.repository.ProductTombstoneRepository;
+import com.example.ProductService.repository.StockRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
@@ -16,10 +23,13 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Import;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -31,16 +41,33 @@ public class CatalogServiceTest {
     @MockBean
     private CatalogRepository catalogRepository;
 
+    @MockBean
+    private ProductRepository productRepository;
+
+    @MockBean
+    private StockRepository stockRepository;
+
+    @MockBean
+    private ProductTombstoneRepository productTombstoneRepository;
+
+    @MockBean
+    private ChangeVersions changeVersions;
+
     @Autowired
     private CatalogService catalogService;
 
     @Autowired
     private CacheManager cacheManager;
 
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
     @BeforeEach
     public void setUp() {
         // Cache'i temizle
         cacheManager.getCache("catalog").clear();
+        cacheManager.getCache("product").clear();
+        cacheManager.getCache("stock").clear();
     }
 
     @Test
@@ -101,10 +128,11 @@ public class CatalogServiceTest {
 
         Catalog catalog = new Catalog();
         catalog.setId(1);
-        catalog.setName("Updated Catalog");
-        catalog.setDescription("Updated Description");
+        catalog.setName("Old Catalog");
+        catalog.setDescription("Old Description");
 
-        when(catalogRepository.save(any(Catalog.class))).thenReturn(catalog);
+        when(catalogRepository.findById(1)).thenReturn(Optional.of(catalog));
+        when(catalogRepository.save(any(Catalog.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // Act
         CatalogDto result = catalogService.updateCatalog(catalogDto);
@@ -115,7 +143,20 @@ public class CatalogServiceTest {
         assertThat(result.getName()).isEqualTo("Updated Catalog");
         assertThat(result.getDescription()).isEqualTo("Updated Description");
 
-        verify(catalogRepository, times(1)).save(any(Catalog.class));
+        verify(catalogRepository, times(1)).save(catalog); // Yüklenmiş katalog güncellendi, detached kopya merge edilmedi
+    }
+
+    @Test
+    public void testUpdateCatalog_NotFound() {
+        // Arrange
+        CatalogDto catalogDto = new CatalogDto();
+        catalogDto.setId(1);
+
+        when(catalogRepository.findById(1)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> catalogService.updateCatalog(catalogDto));
+        verify(catalogRepository, never()).save(any(Catalog.class));
     }
 
     @Test
@@ -126,7 +167,65 @@ public class CatalogServiceTest {
         // Act
         catalogService.deleteCatalog(1);
 
-        // Assert
+        // Assert: ürünler ve stokları cascade yerine toplu olarak silindi
+        verify(stockRepository, times(1)).deleteByCatalogId(1);
+        verify(productRepository, times(1)).deleteByCatalogId(1);
         verify(catalogRepository, times(1)).deleteById(1);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testDeleteCatalog_TombstonesAndEvictsProducts() {
+        // Arrange
+        when(productRepository.findIdsByCatalogId(1)).thenReturn(List.of(11, 12));
+        when(stockRepository.findIdsByCatalogId(1)).thenReturn(List.of(21, 22));
+        when(changeVersions.next(2)).thenReturn(7L);
+
+        cacheManager.getCache("product").put(11, new ProductDto());
+        cacheManager.getCache("product").put(12, new ProductDto());
+        cacheManager.getCache("stock").put(21, new StockDto());
+
+        // Act
+        catalogService.deleteCatalog(1);
+
+        // Assert: silinen ürünler ardışık version'larla, ürünler silinmeden önce tek ifadeyle değişiklik akışına girdi
+        InOrder inOrder = inOrder(productTombstoneRepository, productRepository);
+        inOrder.verify(productTombstoneRepository).insertForCatalog(1, List.of(11, 12), 7L);
+        inOrder.verify(productRepository).deleteByCatalogId(1);
+
+        // Toplu silinen ürün ve stoklar yerel cache'ten düştü
+        assertThat(isCached("product", 11)).isFalse();
+        assertThat(isCached("product", 12)).isFalse();
+        assertThat(isCached("stock", 21)).isFalse();
+    }
+
+    @Test
+    public void testDeleteCatalog_EvictsAfterCommit() {
+        // Arrange
+        when(productRepository.findIdsByCatalogId(1)).thenReturn(List.of(11));
+        when(changeVersions.next(1)).thenReturn(7L);
+
+        // Act: silme ile commit arasında gelen bir okuma eski ürünü yeniden cache'ler
+        transactionTemplate.executeWithoutResult(status -> {
+            catalogService.deleteCatalog(1);
+            cacheManager.getCache("product").put(11, new ProductDto());
+        });
+
+        // Assert: commit'ten sonra silinen ürün cache'te kalmaz
+        assertThat(isCached("product", 11)).isFalse();
+    }
+
+    @Test
+    public void testDeleteCatalog_WithoutProductsTakesNoVersion() {
+        // Act
+        catalogService.deleteCatalog(1);
+
+        // Assert
+        verify(changeVersions, never()).next(anyInt());
+        verify(productTombstoneRepository, never()).insertForCatalog(any(), any(), any());
+    }
+
+    // "product" ve "stock" LoadingCache: Cache.get() eksik kaydı yükleyeceği için native cache'e bakılır
+    private boolean isCached(String cacheName, Integer key) {
+        return ((com.github.benmanes.caffeine.cache.Cache<?, ?>) cacheManager.getCache(cacheName).getNativeCache()).asMap().containsKey(key);
+    }
+}
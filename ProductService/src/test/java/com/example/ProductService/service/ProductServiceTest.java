@@ -1,9 +1,13 @@
 package com.example.ProductService.service;
 
+import com.example.ProductService.changefeed.ChangeVersions;
+import com.example.ProductService.dto.ProductChangeDto;
 import com.example.ProductService.dto.ProductDto;
 import com.example.ProductService.entity.Catalog;
 import com.example.ProductService.entity.Product;
+import com.example.ProductService.entity.ProductTombstone;
 import com.example.ProductService.repository.ProductRepository;
+import com.example.ProductService.repository.ProductTombstoneRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,6 +22,7 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -29,6 +34,12 @@ public class ProductServiceTest {
     @MockBean
     private ProductRepository productRepository;
 
+    @MockBean
+    private ProductTombstoneRepository productTombstoneRepository;
+
+    @MockBean
+    private ChangeVersions changeVersions;
+
     @Autowired
     private ProductService productService;
 
@@ -121,12 +132,12 @@ public class ProductServiceTest {
 
         Product product = new Product();
         product.setId(1);
-        product.setName("Updated Product");
-        product.setDescription("Updated Description");
-        product.setPrice(150.0);
+        product.setName("Test Product");
+        product.setDescription("Test Description");
+        product.setPrice(100.0);
         product.setCatalog(catalog); // Catalog nesnesi atandı
 
-        when(productRepository.save(any(Product.class))).thenReturn(product);
+        when(productRepository.findById(1)).thenReturn(Optional.of(product));
 
         // Act
         ProductDto result = productService.updateProduct(productDto);
@@ -139,7 +150,46 @@ public class ProductServiceTest {
         assertThat(result.getPrice()).isEqualTo(150.0);
         assertThat(result.getCatalogId()).isEqualTo(1);
 
-        verify(productRepository, times(1)).save(any(Product.class));
+        // Yüklenmiş ürün yerinde güncellenir, detached merge yapılmaz
+        assertThat(product.getName()).isEqualTo("Updated Product");
+        verify(productRepository, never()).save(any(Product.class));
+    }
+
+    @Test
+    public void testUpdateProduct_NotFound() {
+        // Arrange
+        ProductDto productDto = new ProductDto();
+        productDto.setId(999);
+
+        when(productRepository.findById(999)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> productService.updateProduct(productDto));
+        verify(productRepository, never()).updateVersion(any(), any());
+    }
+
+    @Test
+    public void testUpdateProduct_AssignsChangeVersion() {
+        // Arrange
+        Catalog catalog = new Catalog();
+        catalog.setId(1);
+
+        Product product = new Product();
+        product.setId(1);
+        product.setCatalog(catalog);
+
+        ProductDto productDto = new ProductDto();
+        productDto.setId(1);
+        productDto.setCatalogId(1);
+
+        when(productRepository.findById(1)).thenReturn(Optional.of(product));
+        when(changeVersions.next()).thenReturn(42L);
+
+        // Act
+        productService.updateProduct(productDto);
+
+        // Assert
+        verify(productRepository, times(1)).updateVersion(1, 42L);
     }
 
     @Test
@@ -152,31 +202,41 @@ public class ProductServiceTest {
 
         // Assert
         verify(productRepository, times(1)).deleteById(1);
+        verify(productTombstoneRepository, times(1)).save(any(ProductTombstone.class)); // Silme akışta görünür
     }
 
     @Test
-    public void testGetProductsByCatalogId() {
-        // Arrange
-        Catalog catalog = new Catalog();
-        catalog.setId(1); // Catalog nesnesi oluşturuldu
+    public void testGetProductChanges() {
+        // Arrange: version sırasıyla güncellemeler ve bir silme
+        ProductChangeDto firstChange = new ProductChangeDto(1, "Product 1", null, true, 100.0, 1, 11L, false);
+        ProductChangeDto secondChange = new ProductChangeDto(2, "Product 2", null, true, 200.0, 1, 13L, false);
+        when(productRepository.findChangesSince(eq(10L), any())).thenReturn(List.of(firstChange, secondChange));
+        when(productTombstoneRepository.findByVersionGreaterThanOrderByVersionAsc(eq(10L), any()))
+                .thenReturn(List.of(new ProductTombstone(3, 12L)));
 
-        Product product1 = new Product();
-        product1.setId(1);
-        product1.setName("Product 1");
-        product1.setDescription("Description 1");
-        product1.setPrice(100.0);
-        product1.setCatalog(catalog); // Catalog nesnesi atandı
+        // Act
+        List<ProductChangeDto> result = productService.getProductChanges(10L, 2);
 
-        Product product2 = new Product();
-        product2.setId(2);
-        product2.setName("Product 2");
-        product2.setDescription("Description 2");
-        product2.setPrice(200.0);
-        product2.setCatalog(catalog); // Catalog nesnesi atandı
+        // Assert: iki kaynak version sırasıyla birleşir ve limit uygulanır
+        assertThat(result).extracting(ProductChangeDto::getVersion).containsExactly(11L, 12L);
+        assertThat(result.get(1).getId()).isEqualTo(3);
+        assertThat(result.get(1).getDeleted()).isTrue();
+    }
+
+    @Test
+    public void testGetProductChanges_InvalidLimit() {
+        assertThrows(IllegalArgumentException.class, () -> productService.getProductChanges(0L, 0));
+        assertThrows(IllegalArgumentException.class, () -> productService.getProductChanges(0L, 10001));
+    }
 
-        List<Product> products = Arrays.asList(product1, product2);
+    @Test
+    public void testGetProductsByCatalogId() {
+        // Arrange: ürünler entity yüklenmeden doğrudan DTO olarak okunur
+        List<ProductDto> products = Arrays.asList(
+                new ProductDto(1, "Product 1", "Description 1", true, 100.0, 1),
+                new ProductDto(2, "Product 2", "Description 2", true, 200.0, 1));
 
-        when(productRepository.findByCatalogId(1)).thenReturn(products);
+        when(productRepository.findDtosByCatalogId(1)).thenReturn(products);
 
         // Act
         List<ProductDto> result = productService.getProductsByCatalogId(1);
@@ -195,6 +255,68 @@ public class ProductServiceTest {
         assertThat(result.get(1).getPrice()).isEqualTo(200.0);
         assertThat(result.get(1).getCatalogId()).isEqualTo(1);
 
-        verify(productRepository, times(1)).findByCatalogId(1);
+        verify(productRepository, times(1)).findDtosByCatalogId(1);
+    }
+
+    @Test
+    public void testGetProductsByIds() {
+        // Arrange
+        ProductDto cachedProduct = new ProductDto();
+        cachedProduct.setId(1);
+        cachedProduct.setPrice(100.0);
+        cachedProduct.setCatalogId(1);
+        cacheManager.getCache("product").put(1, cachedProduct); // 1 numaralı ürün cache'te
+
+        ProductDto product2 = new ProductDto(2, "Product 2", null, null, 200.0, 1);
+
+        when(productRepository.findDtosByIdIn(List.of(2, 3))).thenReturn(List.of(product2));
+
+        // Act
+        List<ProductDto> result = productService.getProductsByIds(Arrays.asList(1, 2, 3, 2));
+
+        // Assert
+        assertThat(result).hasSize(2);
+        assertThat(result.get(0).getId()).isEqualTo(1);
+        assertThat(result.get(1).getId()).isEqualTo(2);
+        assertThat(result.get(1).getPrice()).isEqualTo(200.0);
+        assertThat(cacheManager.getCache("product").get(2, ProductDto.class)).isNotNull(); // Eksik ürün cache'e yazıldı
+
+        verify(productRepository, times(1)).findDtosByIdIn(List.of(2, 3));
+    }
+
+    @Test
+    public void testUpdateProduct_InvalidatesOldAndNewCatalogLists() {
+        // Arrange
+        Catalog oldCatalog = new Catalog();
+        oldCatalog.setId(1);
+        Catalog otherCatalog = new Catalog();
+        otherCatalog.setId(3);
+
+        Product product = new Product();
+        product.setId(1);
+        product.setCatalog(oldCatalog); // Ürün 1 numaralı katalogdan 2 numaralıya taşınacak
+
+        when(productRepository.findDtosByCatalogId(any())).thenReturn(List.of());
+        when(productRepository.findById(1)).thenReturn(Optional.of(product));
+
+        // Listeleri cache'e al
+        productService.getProductsByCatalogId(1);
+        productService.getProductsByCatalogId(2);
+        productService.getProductsByCatalogId(3);
+
+        ProductDto productDto = new ProductDto();
+        productDto.setId(1);
+        productDto.setCatalogId(2);
+
+        // Act
+        productService.updateProduct(productDto);
+        productService.getProductsByCatalogId(1);
+        productService.getProductsByCatalogId(2);
+        productService.getProductsByCatalogId(3);
+
+        // Assert: eski ve yeni katalog yeniden okundu, ilgisiz katalog cache'ten geldi
+        verify(productRepository, times(2)).findDtosByCatalogId(1);
+        verify(productRepository, times(2)).findDtosByCatalogId(2);
+        verify(productRepository, times(1)).findDtosByCatalogId(3);
     }
 }
\ No newline at end of file
@@ -1,12 +1,19 @@
 package com.example.ProductService.service;
 
+import com.example.ProductService.cache.CacheInvalidationBus;
+import com.example.ProductService.changefeed.ChangeVersions;
 import com.example.ProductService.dto.StockDto;
+import com.example.ProductService.dto.StockReductionDto;
+import com.example.ProductService.dto.StockReductionResultDto;
 import com.example.ProductService.entity.Product;
 import com.example.ProductService.entity.Stock;
 import com.example.ProductService.repository.StockRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -16,19 +23,28 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.cache.CacheManager;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
-@SpringBootTest
+// Arka plan version damgalayıcısı mock repository'yi stub'lama sırasında çağırmasın
+@SpringBootTest(properties = "change-feed.stamp-interval-ms=0")
 @ExtendWith({SpringExtension.class, MockitoExtension.class})
 public class StockServiceTest {
 
     @MockBean
     private StockRepository stockRepository;
 
+    @MockBean
+    private ChangeVersions changeVersions;
+
+    @MockBean
+    private CacheInvalidationBus cacheInvalidationBus;
+
     @Autowired
     private StockService stockService;
 
@@ -139,6 +155,147 @@ public class StockServiceTest {
 
     @Test
     public void testReduceStock() {
+        // Arrange
+        when(stockRepository.decrementQuantity(101, 10)).thenReturn(1);
+
+        // Act
+        boolean result = stockService.reduceStock(101, 10);
+
+        // Assert
+        assertThat(result).isTrue();
+        verify(stockRepository, times(1)).decrementQuantity(101, 10);
+        verify(stockRepository, never()).findByProductIdWithLock(any()); // Kilit alınmamalı
+        verify(changeVersions, never()).next(anyInt()); // Version arka planda verilir, sayaç beklenmez
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testReduceStock_EvictsCachedStockEverywhere() {
+        // Arrange
+        StockDto cached = new StockDto();
+        cached.setId(1);
+        cacheManager.getCache("stock").put(1, Optional.of(cached));
+        when(stockRepository.decrementQuantity(101, 10)).thenReturn(1);
+        when(stockRepository.findIdByProductId(101)).thenReturn(Optional.of(1));
+
+        // Act
+        stockService.reduceStock(101, 10);
+
+        // Assert: eski miktar ne bu node'da ne de diğerlerinde servis edilir
+        assertThat(((com.github.benmanes.caffeine.cache.Cache<Object, Object>) cacheManager.getCache("stock").getNativeCache()).asMap()).doesNotContainKey(1);
+        verify(cacheInvalidationBus).stockChanged(1);
+    }
+
+    @Test
+    public void testReduceStock_InsufficientStock() {
+        // Arrange
+        when(stockRepository.decrementQuantity(101, 10)).thenReturn(0);
+        when(stockRepository.existsByProductId(101)).thenReturn(true);
+
+        // Act
+        boolean result = stockService.reduceStock(101, 10);
+
+        // Assert
+        assertThat(result).isFalse();
+        verify(stockRepository, times(1)).decrementQuantity(101, 10);
+    }
+
+    @Test
+    public void testReduceStock_NotFound() {
+        // Arrange
+        when(stockRepository.decrementQuantity(101, 10)).thenReturn(0);
+        when(stockRepository.existsByProductId(101)).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> stockService.reduceStock(101, 10));
+        verify(stockRepository, never()).save(any(Stock.class)); // Stok bulunamadığı için save çağrılmamalı
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, -5})
+    public void testReduceStock_NonPositiveQuantity(int quantity) {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> stockService.reduceStock(101, quantity));
+        verify(stockRepository, never()).decrementQuantity(anyInt(), anyInt()); // Stok artırılmamalı
+    }
+
+    @Test
+    public void testReduceStocks_NonPositiveQuantity() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> stockService.reduceStocks(List.of(
+                new StockReductionDto(101, 2), new StockReductionDto(102, -1))));
+        verify(stockRepository, never()).decrementQuantity(anyInt(), anyInt());
+    }
+
+    @Test
+    public void testReduceStocks() {
+        // Arrange
+        when(stockRepository.decrementQuantity(any(), any())).thenReturn(1);
+
+        // Act
+        List<StockReductionResultDto> results = stockService.reduceStocks(List.of(
+                new StockReductionDto(103, 1),
+                new StockReductionDto(101, 2),
+                new StockReductionDto(103, 4)));
+
+        // Assert: aynı ürün birleştirildi, product id sırasına göre düşüldü
+        assertThat(results).extracting(StockReductionResultDto::getProductId).containsExactly(101, 103);
+        assertThat(results).extracting(StockReductionResultDto::getQuantity).containsExactly(2, 5);
+        assertThat(results).allMatch(StockReductionResultDto::getReduced);
+        assertThat(results).extracting(StockReductionResultDto::getStatus).containsOnly(StockReductionResultDto.Status.REDUCED);
+
+        InOrder inOrder = inOrder(stockRepository);
+        inOrder.verify(stockRepository).decrementQuantity(101, 2);
+        inOrder.verify(stockRepository).decrementQuantity(103, 5);
+    }
+
+    @Test
+    public void testReduceStocks_DoesNotTakeChangeVersion() {
+        // Arrange
+        when(stockRepository.decrementQuantity(any(), any())).thenReturn(1);
+
+        // Act
+        stockService.reduceStocks(List.of(new StockReductionDto(103, 1), new StockReductionDto(101, 2)));
+
+        // Assert: sayaç satırı düşümlerin yolunda değil; version'ları ChangeVersionBackfill verir
+        verify(changeVersions, never()).next(anyInt());
+    }
+
+    @Test
+    public void testReduceStocks_InsufficientStock() {
+        // Arrange
+        when(stockRepository.decrementQuantity(101, 2)).thenReturn(1);
+        when(stockRepository.decrementQuantity(102, 5)).thenReturn(0);
+
+        // Act
+        List<StockReductionResultDto> results = stockService.reduceStocks(List.of(
+                new StockReductionDto(101, 2),
+                new StockReductionDto(102, 5)));
+
+        // Assert: 101 düşülmüştü ama batch geri alındı; hiçbir satır düşülmüş olarak raporlanmaz
+        assertThat(results).extracting(StockReductionResultDto::getStatus).containsExactly(
+                StockReductionResultDto.Status.ROLLED_BACK, StockReductionResultDto.Status.INSUFFICIENT);
+        assertThat(results).extracting(StockReductionResultDto::getReduced).containsExactly(false, false);
+        verify(cacheInvalidationBus, never()).stockChanged(any()); // Geri alınan düşüm yayınlanmaz
+    }
+
+    @Test
+    public void testReduceStocks_BroadcastsReducedStocks() {
+        // Arrange
+        when(stockRepository.decrementQuantity(any(), any())).thenReturn(1);
+        when(stockRepository.findIdsByProductIdIn(List.of(101, 102))).thenReturn(List.of(1, 2));
+
+        // Act
+        stockService.reduceStocks(List.of(new StockReductionDto(102, 1), new StockReductionDto(101, 2)));
+
+        // Assert: stok id'leri tek sorguyla alınır
+        verify(stockRepository, times(1)).findIdsByProductIdIn(any());
+        verify(cacheInvalidationBus).stockChanged(1);
+        verify(cacheInvalidationBus).stockChanged(2);
+    }
+
+    @Test
+    public void testReduceStockWithLock() {
         // Arrange
         Product product = new Product();
         product.setId(101); // Product nesnesi oluşturuldu
@@ -151,7 +308,7 @@ public class StockServiceTest {
         when(stockRepository.findByProductIdWithLock(101)).thenReturn(Optional.of(stock));
 
         // Act
-        stockService.reduceStock(101, 10);
+        stockService.reduceStockWithLock(101, 10);
 
         // Assert
         assertThat(stock.getQuantity()).isEqualTo(40); // 50 - 10 = 40
@@ -160,12 +317,12 @@ public class StockServiceTest {
     }
 
     @Test
-    public void testReduceStock_NotFound() {
+    public void testReduceStockWithLock_NotFound() {
         // Arrange
         when(stockRepository.findByProductIdWithLock(101)).thenReturn(Optional.empty());
 
         // Act
-        stockService.reduceStock(101, 10);
+        stockService.reduceStockWithLock(101, 10);
 
         // Assert
         verify(stockRepository, times(1)).findByProductIdWithLock(101);
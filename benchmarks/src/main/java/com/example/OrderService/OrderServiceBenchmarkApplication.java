@@ -0,0 +1,55 @@
+package com.example.OrderService;
+
+import com.example.OrderService.client.ProductChangeDto;
+import com.example.OrderService.client.ProductDto;
+import com.example.OrderService.client.ProductServiceClient;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * OrderService'i Eureka, Config Server ve ProductService olmadan açar.
+ * OrderServiceApplication taranmaz (Feign istemcileri kaydedilmez); ProductServiceClient yerine
+ * ağ çağrısı yapmayan, fiyatı id'den üreten bir stub kullanılır. Ayarlar order-benchmark.yml'dedir.
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@EnableCaching
+@ComponentScan(excludeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = OrderServiceApplication.class))
+public class OrderServiceBenchmarkApplication {
+
+    public static final String CONFIG_NAME = "order-benchmark";
+
+    @Bean
+    public ProductServiceClient productServiceClient() {
+        return new ProductServiceClient() {
+            @Override
+            public ProductDto getProductById(Integer id) {
+                return product(id);
+            }
+
+            @Override
+            public List<ProductDto> getProductsByIds(List<Integer> ids) {
+                return ids.stream().map(OrderServiceBenchmarkApplication::product).collect(Collectors.toList());
+            }
+
+            @Override
+            public List<ProductChangeDto> getProductChanges(Long since, Integer limit) {
+                return List.of();
+            }
+        };
+    }
+
+    private static ProductDto product(Integer id) {
+        ProductDto productDto = new ProductDto();
+        productDto.setId(id);
+        productDto.setPrice(10.0 + id % 100);
+        return productDto;
+    }
+}
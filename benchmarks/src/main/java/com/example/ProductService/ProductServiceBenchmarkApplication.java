@@ -0,0 +1,20 @@
+package com.example.ProductService;
+
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+
+/**
+ * ProductService'i Eureka ve Config Server olmadan, bellek içi H2 (MySQL modu) ile açar.
+ * ProductServiceApplication taranmaz; ayarlar product-benchmark.yml'dedir.
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@EnableCaching
+@ComponentScan(excludeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = ProductServiceApplication.class))
+public class ProductServiceBenchmarkApplication {
+
+    public static final String CONFIG_NAME = "product-benchmark";
+}
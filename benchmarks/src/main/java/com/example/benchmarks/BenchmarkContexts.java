@@ -0,0 +1,39 @@
+package com.example.benchmarks;
+
+import com.example.OrderService.OrderServiceBenchmarkApplication;
+import com.example.ProductService.ProductServiceBenchmarkApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Benchmark'ların kullandığı Spring context'leri. Her JMH fork'u kendi context'ini açar;
+ * ek ayarlar (örn. log seviyesi) "anahtar=değer" olarak verilir ve yml'deki değerleri ezer.
+ */
+final class BenchmarkContexts {
+
+    private BenchmarkContexts() {
+    }
+
+    static ConfigurableApplicationContext orderService(String... properties) {
+        return start(OrderServiceBenchmarkApplication.class, OrderServiceBenchmarkApplication.CONFIG_NAME, properties);
+    }
+
+    static ConfigurableApplicationContext productService(String... properties) {
+        return start(ProductServiceBenchmarkApplication.class, ProductServiceBenchmarkApplication.CONFIG_NAME, properties);
+    }
+
+    private static ConfigurableApplicationContext start(Class<?> source, String configName, String... properties) {
+        return new SpringApplicationBuilder(source)
+                .properties("spring.config.name=" + configName)
+                .run(toArgs(properties));
+    }
+
+    // Komut satırı argümanları yml'den önceliklidir
+    private static String[] toArgs(String... properties) {
+        String[] args = new String[properties.length];
+        for (int i = 0; i < properties.length; i++) {
+            args[i] = "--" + properties[i];
+        }
+        return args;
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.benchmarks;
+
+import com.example.OrderService.client.CachingProductServiceClient;
+import com.example.OrderService.client.ProductDto;
+import com.example.ProductService.dto.StockDto;
+import com.example.ProductService.service.ProductService;
+import com.example.ProductService.service.StockService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Cache'ten dönen okumalar: @Cacheable proxy'si, anahtar üretimi ve Caffeine araması.
+ * Veritabanına ya da ProductServiceClient'a inen bir çağrı ölçüme girmez (cache'ler setup'ta ısıtılır).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheHitBenchmark {
+
+    private static final int PRODUCTS = 100;
+
+    @State(Scope.Benchmark)
+    public static class ProductServiceState {
+
+        private ConfigurableApplicationContext context;
+        private ProductService productService;
+        private StockService stockService;
+        private List<Integer> productIds;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            context = BenchmarkContexts.productService();
+            productService = context.getBean(ProductService.class);
+            stockService = context.getBean(StockService.class);
+
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            jdbcTemplate.update("INSERT INTO catalog (id, name, description, status) VALUES (1, 'Catalog', 'Benchmark catalog', true)");
+            for (int id = 1; id <= PRODUCTS; id++) {
+                jdbcTemplate.update("INSERT INTO product (id, name, description, status, price, version, catalog_id) VALUES (?, ?, ?, true, ?, ?, 1)",
+                        id, "Product " + id, "Description " + id, 10.0 + id, (long) id);
+                jdbcTemplate.update("INSERT INTO stock (id, quantity, version, product_id) VALUES (?, 100, ?, ?)", id, (long) id, id);
+            }
+
+            productIds = IntStream.rangeClosed(1, PRODUCTS).boxed().collect(Collectors.toList());
+            productIds.forEach(productService::getProductById);
+            productIds.forEach(stockService::getStockById);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            context.close();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class OrderServiceState {
+
+        private ConfigurableApplicationContext context;
+        private CachingProductServiceClient productServiceClient;
+        private List<Integer> productIds;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            context = BenchmarkContexts.orderService();
+            productServiceClient = context.getBean(CachingProductServiceClient.class);
+
+            productIds = IntStream.rangeClosed(1, PRODUCTS).boxed().collect(Collectors.toList());
+            productIds.forEach(productServiceClient::getProductById);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public Optional<com.example.ProductService.dto.ProductDto> productById(ProductServiceState state) {
+        return state.productService.getProductById(1);
+    }
+
+    @Benchmark
+    public Optional<StockDto> stockById(ProductServiceState state) {
+        return state.stockService.getStockById(1);
+    }
+
+    // Çok id'li yol: cache'e tek tek bakılır, eksik olmadığı için sorgu atılmaz
+    @Benchmark
+    public List<com.example.ProductService.dto.ProductDto> productsByIds(ProductServiceState state) {
+        return state.productService.getProductsByIds(state.productIds);
+    }
+
+    // OrderService'in "productPrice" cache'i
+    @Benchmark
+    public ProductDto productPrice(OrderServiceState state) {
+        return state.productServiceClient.getProductById(1);
+    }
+
+    @Benchmark
+    public List<ProductDto> productPrices(OrderServiceState state) {
+        return state.productServiceClient.getProductsByIds(state.productIds);
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.benchmarks;
+
+import com.sun.net.httpserver.HttpServer;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import feign.Util;
+import feign.hc5.ApacheHttp5Client;
+import feign.http2client.Http2Client;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.ManagedHttpClientConnectionFactory;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.pool.PoolReusePolicy;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Feign taşıma katmanlarını sabit 2000 istek/sn yük altında p50/p99/p99.9 gecikmesiyle kıyaslar:
+ * varsayılan HttpURLConnection, havuzlu Apache HttpClient 5 ve JDK HttpClient.
+ * Karşı taraf, ~1 ms'de yanıt veren yerel bir ProductService taklididir (JDK HttpServer yalnızca
+ * HTTP/1.1 konuşur; JDK istemcisi burada HTTP/1.1'e düşer).
+ * Gecikme isteğin planlanan başlangıç anından ölçülür (coordinated omission'a karşı). JMH'nin kapalı
+ * döngüsü bunu ölçemediği için JMH benchmark'ı değil, açık döngülü bir main sınıfıdır:
+ * mvn -f benchmarks/pom.xml package exec:java -Dexec.mainClass=com.example.benchmarks.FeignTransportBenchmark
+ */
+public class FeignTransportBenchmark {
+
+    private static final int REQUESTS_PER_SECOND = 2000;
+    private static final int WARMUP_SECONDS = 3;
+    private static final int MEASURE_SECONDS = 10;
+
+    private HttpServer productService;
+    private ExecutorService productServiceExecutor;
+    private String baseUrl;
+
+    public static void main(String[] args) throws Exception {
+        FeignTransportBenchmark benchmark = new FeignTransportBenchmark();
+        benchmark.start();
+        try {
+            benchmark.compareTransports();
+        } finally {
+            benchmark.stop();
+        }
+    }
+
+    private void start() throws Exception {
+        productService = HttpServer.create(new InetSocketAddress("localhost", 0), 1024);
+        productServiceExecutor = Executors.newFixedThreadPool(64);
+        productService.setExecutor(productServiceExecutor);
+        productService.createContext("/api/products/", exchange -> {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1)); // Sorgu süresi
+            byte[] body = "{\"id\":1,\"price\":100.0}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        productService.start();
+        baseUrl = "http://localhost:" + productService.getAddress().getPort();
+    }
+
+    private void stop() {
+        productService.stop(0);
+        productServiceExecutor.shutdown(); // Daemon olmayan thread'ler JVM'in kapanmasını engellemesin
+    }
+
+    private void compareTransports() throws Exception {
+        run("HttpURLConnection", new Client.Default(null, null));
+
+        AtomicInteger connectionsCreated = new AtomicInteger();
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(200)
+                .setMaxConnPerRoute(100)
+                .setConnPoolPolicy(PoolReusePolicy.LIFO)
+                .setConnectionFactory(socket -> {
+                    connectionsCreated.incrementAndGet();
+                    return ManagedHttpClientConnectionFactory.INSTANCE.createConnection(socket);
+                })
+                .build();
+        try (CloseableHttpClient httpClient = HttpClients.custom().setConnectionManager(connectionManager).build()) {
+            run("Apache HttpClient 5", new ApacheHttp5Client(httpClient));
+        }
+        System.out.printf("Apache HttpClient 5 opened %d connections%n", connectionsCreated.get());
+
+        run("JDK HttpClient", new Http2Client());
+    }
+
+    private void run(String name, Client client) throws Exception {
+        fire(client, REQUESTS_PER_SECOND * WARMUP_SECONDS);
+        long[] latencies = fire(client, REQUESTS_PER_SECOND * MEASURE_SECONDS);
+
+        Arrays.sort(latencies);
+        System.out.printf("%-20s p50=%.2f ms p99=%.2f ms p99.9=%.2f ms max=%.2f ms%n", name,
+                percentile(latencies, 0.50), percentile(latencies, 0.99), percentile(latencies, 0.999),
+                latencies[latencies.length - 1] / 1e6);
+    }
+
+    // Sabit aralıklarla istek başlatır; bir istek gecikse de sonrakiler planlandığı anda çıkar
+    private long[] fire(Client client, int requests) throws Exception {
+        long[] latencies = new long[requests];
+        AtomicInteger failures = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(requests);
+        ExecutorService workers = Executors.newFixedThreadPool(256);
+        Request.Options options = new Request.Options(1, TimeUnit.SECONDS, 2, TimeUnit.SECONDS, true);
+
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / REQUESTS_PER_SECOND;
+        long startTime = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            long intendedStart = startTime + i * intervalNanos;
+            long wait = intendedStart - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            int index = i;
+            workers.execute(() -> {
+                Request request = Request.create(Request.HttpMethod.GET, baseUrl + "/api/products/" + (index % 1000 + 1),
+                        Map.of(), null, StandardCharsets.UTF_8, null);
+                try (Response response = client.execute(request, options)) {
+                    Util.toByteArray(response.body().asInputStream());
+                } catch (Exception e) {
+                    failures.incrementAndGet();
+                }
+                latencies[index] = System.nanoTime() - intendedStart;
+                done.countDown();
+            });
+        }
+        done.await();
+        workers.shutdown();
+
+        if (failures.get() > 0) {
+            throw new IllegalStateException(failures.get() + " of " + requests + " requests failed");
+        }
+        return latencies;
+    }
+
+    private double percentile(long[] sortedLatencies, double percentile) {
+        int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(0, index)] / 1e6;
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.benchmarks;
+
+import com.example.ProductService.dto.ProductDto;
+import com.example.ProductService.service.ProductService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * LoggerAspect'in servis çağrısı başına maliyeti. Aynı çağrı (cache'ten dönen getProductsByIds)
+ * aspect proxy'si üzerinden ve doğrudan hedef nesne üzerinden ölçülür; fark aspect'in maliyetidir.
+ * "mode" log iken ve "logLevel" INFO iken argümanlar ve sonuç her çağrıda loglanır (target/benchmark.log),
+ * WARN iken yalnızca proxy, getArgs() ve zamanlama kalır. "mode" metrics iken çağrı başına bir timer kaydı yapılır.
+ * LoggerAspect iki serviste aynıdır; ProductService'inki ölçülür.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoggerAspectBenchmark {
+
+    @Param({"log", "metrics"})
+    private String mode;
+
+    @Param({"INFO", "WARN"})
+    private String logLevel;
+
+    @Param({"1", "100"})
+    private int products;
+
+    private ConfigurableApplicationContext context;
+    private ProductService proxied;
+    private ProductService target;
+    private List<Integer> productIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContexts.productService(
+                "logging-aspect.mode=" + mode,
+                "logging.level.com.example.ProductService.aspect=" + logLevel);
+        proxied = context.getBean(ProductService.class);
+        target = (ProductService) AopProxyUtils.getSingletonTarget(proxied);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("INSERT INTO catalog (id, name, description, status) VALUES (1, 'Catalog', 'Benchmark catalog', true)");
+        for (int id = 1; id <= products; id++) {
+            jdbcTemplate.update("INSERT INTO product (id, name, description, status, price, version, catalog_id) VALUES (?, ?, ?, true, ?, ?, 1)",
+                    id, "Product " + id, "Description " + id, 10.0 + id, (long) id);
+        }
+
+        productIds = IntStream.rangeClosed(1, products).boxed().collect(Collectors.toList());
+        proxied.getProductsByIds(productIds); // "product" cache'ini ısıt
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ProductDto> withAspect() {
+        return proxied.getProductsByIds(productIds);
+    }
+
+    @Benchmark
+    public List<ProductDto> withoutAspect() {
+        return target.getProductsByIds(productIds);
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.benchmarks;
+
+import com.example.OrderService.dto.OrderDto;
+import com.example.OrderService.dto.OrderItemDto;
+import com.example.OrderService.service.OrderItemService;
+import com.example.OrderService.service.OrderService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OrderItemService.addOrderItem: fiyat sorgusu, satır ekleme/güncelleme ve order toplamının güncellenmesi.
+ * ProductServiceClient stub'dır, veritabanı bellek içi H2'dir; ölçülen ağ dışındaki tüm yoldur.
+ * <ul>
+ *     <li>newItem: her çağrı yeni bir ürün ekler (fiyat cache'te yok, INSERT)</li>
+ *     <li>existingItem: aynı ürünün miktarı artırılır (fiyat cache'te, UPDATE)</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderItemServiceBenchmark {
+
+    private static final int EXISTING_PRODUCT_ID = 1;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private OrderItemService orderItemService;
+
+    private OrderDto order;
+    private int nextProductId;
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = BenchmarkContexts.orderService();
+        orderService = context.getBean(OrderService.class);
+        orderItemService = context.getBean(OrderItemService.class);
+    }
+
+    // Her iterasyon boş bir order ile başlar: satır sayısı iterasyonlar boyunca birikmez
+    @Setup(Level.Iteration)
+    public void createOrder() {
+        order = orderService.createOrder(new OrderDto());
+        orderItemService.addOrderItem(order, new OrderItemDto(null, null, EXISTING_PRODUCT_ID, 1, null, null));
+        nextProductId = EXISTING_PRODUCT_ID + 1;
+    }
+
+    @TearDown(Level.Trial)
+    public void closeContext() {
+        context.close();
+    }
+
+    @Benchmark
+    public OrderItemDto newItem() {
+        return orderItemService.addOrderItem(order, new OrderItemDto(null, null, nextProductId++, 1, null, null));
+    }
+
+    @Benchmark
+    public OrderItemDto existingItem() {
+        return orderItemService.addOrderItem(order, new OrderItemDto(null, null, EXISTING_PRODUCT_ID, 1, null, null));
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.benchmarks;
+
+import com.example.ProductService.dto.ProductDto;
+import com.example.ProductService.service.ProductService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ProductService.getProductsByCatalogId: katalog başına 10 / 1.000 / 100.000 ürün.
+ * <ul>
+ *     <li>uncached: "productsByCatalog" her çağrıdan önce boşaltılır; tek DTO projeksiyon sorgusu</li>
+ *     <li>cached: liste cache'ten döner</li>
+ * </ul>
+ * Her ürünün bir stok satırı vardır; projeksiyon entity yüklemediği için Product.stock ilişkisi sorgulanmaz.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductCatalogBenchmark {
+
+    private static final int CATALOG_ID = 1;
+    private static final int BATCH_SIZE = 1000;
+
+    @Param({"10", "1000", "100000"})
+    private int products;
+
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+    private Cache productsByCatalog;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContexts.productService();
+        productService = context.getBean(ProductService.class);
+        productsByCatalog = context.getBean(CacheManager.class).getCache("productsByCatalog");
+        seed(context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ProductDto> uncached() {
+        productsByCatalog.clear();
+        return productService.getProductsByCatalogId(CATALOG_ID);
+    }
+
+    @Benchmark
+    public List<ProductDto> cached() {
+        return productService.getProductsByCatalogId(CATALOG_ID);
+    }
+
+    // JPA yerine JDBC batch: 100.000 ürün saniyeler içinde yüklenir
+    private void seed(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.update("INSERT INTO catalog (id, name, description, status) VALUES (?, ?, ?, ?)",
+                CATALOG_ID, "Catalog", "Benchmark catalog", true);
+
+        for (int from = 1; from <= products; from += BATCH_SIZE) {
+            List<Object[]> productRows = new ArrayList<>(BATCH_SIZE);
+            List<Object[]> stockRows = new ArrayList<>(BATCH_SIZE);
+            for (int id = from; id < from + BATCH_SIZE && id <= products; id++) {
+                productRows.add(new Object[]{id, "Product " + id, "Description " + id, true, 10.0 + id % 100, (long) id, CATALOG_ID});
+                stockRows.add(new Object[]{id, 100, (long) id, id});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO product (id, name, description, status, price, version, catalog_id) VALUES (?, ?, ?, ?, ?, ?, ?)", productRows);
+            jdbcTemplate.batchUpdate("INSERT INTO stock (id, quantity, version, product_id) VALUES (?, ?, ?, ?)", stockRows);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.benchmarks;
+
+import com.example.ProductService.dto.ProductDto;
+import com.example.ProductService.entity.Catalog;
+import com.example.ProductService.entity.Product;
+import com.example.ProductService.mapper.ProductMapper;
+import com.example.ProductService.mapper.ProductMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.BeanUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity -> DTO dönüşümünün çağrı başına maliyeti ve bellek ayırması:
+ * BeanUtils.copyProperties (yansıma, PropertyDescriptor araması) ile MapStruct'ın ürettiği mapper.
+ * "size" getProductsByCatalogId listesindeki ürün sayısıdır. gc.alloc.rate.norm çağrı başına ayrılan byte'ı verir
+ * (-prof gc varsayılan jmh.args içindedir).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductMappingBenchmark {
+
+    @Param({"1", "1000"})
+    private int size;
+
+    private final ProductMapper productMapper = new ProductMapperImpl();
+    private List<Product> products;
+
+    @Setup
+    public void setUp() {
+        Catalog catalog = new Catalog();
+        catalog.setId(1);
+
+        products = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Product product = new Product();
+            product.setId(i);
+            product.setName("Product " + i);
+            product.setDescription("Description " + i);
+            product.setStatus(true);
+            product.setPrice(10.0 + i);
+            product.setCatalog(catalog);
+            products.add(product);
+        }
+    }
+
+    @Benchmark
+    public List<ProductDto> beanUtils() {
+        List<ProductDto> productDtos = new ArrayList<>(products.size());
+        for (Product product : products) {
+            ProductDto productDto = new ProductDto();
+            BeanUtils.copyProperties(product, productDto);
+            productDto.setCatalogId(product.getCatalog().getId());
+            productDtos.add(productDto);
+        }
+        return productDtos;
+    }
+
+    @Benchmark
+    public List<ProductDto> mapStruct() {
+        return productMapper.toDtoList(products);
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.benchmarks;
+
+import com.example.ProductService.service.StockService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aynı ürün üzerinde eşzamanlı stok düşümünü iki yolla kıyaslar:
+ * <ul>
+ *     <li>pessimisticLock: PESSIMISTIC_WRITE kilitli okuma-değiştirme-yazma (StockService.reduceStockWithLock)</li>
+ *     <li>conditionalUpdate: tek satırlık koşullu UPDATE (StockService.reduceStock)</li>
+ * </ul>
+ * 32 thread aynı satırı düşer; stok iterasyon başında doldurulur, ölçüm boyunca tükenmez.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(32)
+@Fork(1)
+public class StockContentionBenchmark {
+
+    private static final int PRODUCT_ID = 1;
+    private static final int QUANTITY = 1_000_000_000;
+
+    private ConfigurableApplicationContext context;
+    private StockService stockService;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Arka plan version damgalayıcısı aynı satırı güncellemesin
+        context = BenchmarkContexts.productService("change-feed.stamp-interval-ms=0");
+        stockService = context.getBean(StockService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        jdbcTemplate.update("INSERT INTO catalog (id, name, description, status) VALUES (1, 'Catalog', 'Benchmark catalog', true)");
+        jdbcTemplate.update("INSERT INTO product (id, name, description, status, price, version, catalog_id) VALUES (?, 'Benchmark Product', 'Hot product', true, 1.0, 1, 1)",
+                PRODUCT_ID);
+        jdbcTemplate.update("INSERT INTO stock (id, quantity, version, product_id) VALUES (1, ?, 1, ?)", QUANTITY, PRODUCT_ID);
+    }
+
+    @Setup(Level.Iteration)
+    public void refill() {
+        jdbcTemplate.update("UPDATE stock SET quantity = ? WHERE product_id = ?", QUANTITY, PRODUCT_ID);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void pessimisticLock() {
+        stockService.reduceStockWithLock(PRODUCT_ID, 1);
+    }
+
+    @Benchmark
+    public boolean conditionalUpdate() {
+        return stockService.reduceStock(PRODUCT_ID, 1);
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.OrderService;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * OrderServiceApplication'ı yük testi ayarlarıyla (order-loadtest.yml) açar.
+ * OrderServiceApplication paket içinde görünür olduğu için başlatıcı aynı pakettedir.
+ */
+public final class OrderServiceLauncher {
+
+    private OrderServiceLauncher() {
+    }
+
+    public static ConfigurableApplicationContext start(String... args) {
+        return new SpringApplicationBuilder(OrderServiceApplication.class)
+                .properties("spring.config.name=order-loadtest")
+                .run(args);
+    }
+}
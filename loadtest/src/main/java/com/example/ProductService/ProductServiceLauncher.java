@@ -0,0 +1,21 @@
+package com.example.ProductService;
+
+import com.example.loadtest.FaultInjectionConfig;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * ProductServiceApplication'ı yük testi ayarlarıyla (product-loadtest.yml) ve
+ * gecikme/hata enjeksiyonu filtresiyle açar.
+ */
+public final class ProductServiceLauncher {
+
+    private ProductServiceLauncher() {
+    }
+
+    public static ConfigurableApplicationContext start(String... args) {
+        return new SpringApplicationBuilder(ProductServiceApplication.class, FaultInjectionConfig.class)
+                .properties("spring.config.name=product-loadtest")
+                .run(args);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.loadtest;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ProductService veritabanını katalog, ürün ve stok satırlarıyla doldurur.
+ * JPA yerine JDBC batch kullanılır; yüz binlerce ürün birkaç saniyede yüklenir.
+ * Stoklar yük süresince tükenmeyecek kadar büyüktür.
+ */
+class DataSeeder {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int INITIAL_STOCK = 1_000_000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    DataSeeder(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    void seed(int catalogs, int productsPerCatalog) {
+        List<Object[]> catalogRows = new ArrayList<>(catalogs);
+        for (int catalogId = 1; catalogId <= catalogs; catalogId++) {
+            catalogRows.add(new Object[]{catalogId, "Catalog " + catalogId, "Load test catalog " + catalogId, true});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO catalog (id, name, description, status) VALUES (?, ?, ?, ?)", catalogRows);
+
+        // Ürün id'leri 1..catalogs*productsPerCatalog, katalog id'si sırayla döner: popüler ürünler kataloglara dağılır
+        int totalProducts = catalogs * productsPerCatalog;
+        for (int from = 1; from <= totalProducts; from += BATCH_SIZE) {
+            List<Object[]> productRows = new ArrayList<>(BATCH_SIZE);
+            List<Object[]> stockRows = new ArrayList<>(BATCH_SIZE);
+            for (int id = from; id < from + BATCH_SIZE && id <= totalProducts; id++) {
+                productRows.add(new Object[]{id, "Product " + id, "Description " + id, true, 10.0 + id % 100, (long) id, 1 + (id - 1) % catalogs});
+                stockRows.add(new Object[]{id, INITIAL_STOCK, (long) id, id});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO product (id, name, description, status, price, version, catalog_id) VALUES (?, ?, ?, ?, ?, ?, ?)", productRows);
+            jdbcTemplate.batchUpdate("INSERT INTO stock (id, quantity, version, product_id) VALUES (?, ?, ?, ?)", stockRows);
+        }
+
+        // Sonraki version'lar (ChangeVersions) seed edilenlerden büyük olsun
+        jdbcTemplate.update("UPDATE change_version SET current_version = ? WHERE id = 1", (long) totalProducts);
+    }
+}
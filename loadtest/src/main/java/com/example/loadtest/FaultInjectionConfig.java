@@ -0,0 +1,36 @@
+package com.example.loadtest;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * ProductService context'ine eklenir (bkz. ProductServiceLauncher). Ayarlar loadtest.fault.* altındadır.
+ */
+@Configuration
+public class FaultInjectionConfig {
+
+    @Value("${loadtest.fault.latency-ms:0}")
+    private long latencyMs;
+
+    @Value("${loadtest.fault.latency-jitter-ms:0}")
+    private long latencyJitterMs;
+
+    @Value("${loadtest.fault.failure-rate:0.0}")
+    private double failureRate;
+
+    @Value("${loadtest.fault.failure-status:503}")
+    private int failureStatus;
+
+    // Request coalescing'den önce çalışır: gecikme ağda ya da sunucuda harcanmış gibi her isteğe eklenir
+    @Bean
+    public FilterRegistrationBean<FaultInjectionFilter> faultInjectionFilter() {
+        FilterRegistrationBean<FaultInjectionFilter> registration = new FilterRegistrationBean<>(
+                new FaultInjectionFilter(latencyMs, latencyJitterMs, failureRate, failureStatus));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.loadtest;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * ProductService'e gelen isteklere yapay gecikme ve hata ekler: yavaş ya da kısmen
+ * arızalı bir ProductService karşısında OrderService'in (cache, circuit breaker, bulkhead)
+ * davranışı yerelde ölçülebilir.
+ */
+class FaultInjectionFilter extends OncePerRequestFilter {
+
+    private final long latencyMs;
+    private final long latencyJitterMs;
+    private final double failureRate;
+    private final int failureStatus;
+
+    FaultInjectionFilter(long latencyMs, long latencyJitterMs, double failureRate, int failureStatus) {
+        this.latencyMs = latencyMs;
+        this.latencyJitterMs = latencyJitterMs;
+        this.failureRate = failureRate;
+        this.failureStatus = failureStatus;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        long delayMs = latencyMs + (latencyJitterMs > 0 ? random.nextLong(latencyJitterMs + 1) : 0);
+        if (delayMs > 0) {
+            try {
+                Thread.sleep(delayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        if (failureRate > 0 && random.nextDouble() < failureRate) {
+            response.sendError(failureStatus, "Injected failure");
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.loadtest;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Endpoint adına göre (örn. "POST /api/orders/{id}/items/batch") istatistikleri toplar.
+ * Isınma süresinde başlatılan istekler kaydedilmez.
+ */
+class LatencyRecorder {
+
+    private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+
+    void record(String name, long elapsedNanos, boolean failed) {
+        stats.computeIfAbsent(name, key -> new EndpointStats()).record(elapsedNanos, failed);
+    }
+
+    // Raporlar arasında karşılaştırılabilsin diye ada göre sıralı
+    Map<String, EndpointStats> snapshot() {
+        return new TreeMap<>(stats);
+    }
+}
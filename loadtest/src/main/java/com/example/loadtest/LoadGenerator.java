@@ -0,0 +1,198 @@
+package com.example.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Senaryoları sabit geliş hızında (open model) başlatır: bir senaryonun başlama zamanı bir öncekinin
+ * bitmesine bağlı değildir. Senaryo gecikmesi planlanan başlama anından ölçülür; sistem yetişemediğinde
+ * kuyrukta bekleme de ölçüme girer (coordinated omission olmaz). Endpoint gecikmeleri isteğin
+ * gönderildiği andan ölçülür.
+ */
+@Slf4j
+class LoadGenerator {
+
+    // VIEW ve ADD_ITEM senaryoları son oluşturulan siparişlerden birini kullanır
+    private static final int RECENT_ORDERS = 10_000;
+
+    private final LoadTestOptions options;
+    private final ShopClient client;
+    private final LatencyRecorder recorder;
+
+    private final Scenario[] scenarios;
+    private final int[] cumulativeWeights;
+
+    private final AtomicLongArray recentOrders = new AtomicLongArray(RECENT_ORDERS);
+    private final AtomicLong createdOrders = new AtomicLong();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong failedScenarios = new AtomicLong();
+
+    LoadGenerator(LoadTestOptions options, ShopClient client, LatencyRecorder recorder) {
+        this.options = options;
+        this.client = client;
+        this.recorder = recorder;
+
+        scenarios = options.getMix().keySet().toArray(new Scenario[0]);
+        cumulativeWeights = new int[scenarios.length];
+        int total = 0;
+        for (int i = 0; i < scenarios.length; i++) {
+            total += options.getMix().get(scenarios[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    // Ölçülen süreyi (saniye) döner
+    double run() throws InterruptedException {
+        ExecutorService executor = new ThreadPoolExecutor(options.getMaxConcurrency(), options.getMaxConcurrency(),
+                0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "load-generator");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / options.getRate();
+        long startTime = System.nanoTime();
+        long measureFrom = startTime + TimeUnit.SECONDS.toNanos(options.getWarmupSeconds());
+        long endTime = measureFrom + TimeUnit.SECONDS.toNanos(options.getDurationSeconds());
+
+        log.info("Warming up for {}s, then measuring for {}s at {} scenarios/s", options.getWarmupSeconds(), options.getDurationSeconds(), options.getRate());
+        long scheduled = 0;
+        for (long next = startTime; next < endTime; next += intervalNanos) {
+            long now = System.nanoTime();
+            if (next > now) {
+                LockSupport.parkNanos(next - now);
+            }
+            long intendedStart = next;
+            boolean measured = intendedStart >= measureFrom;
+            inFlight.incrementAndGet();
+            executor.execute(() -> {
+                try {
+                    runScenario(intendedStart, measured);
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            });
+            scheduled++;
+        }
+        long measuredUntil = System.nanoTime();
+
+        executor.shutdown();
+        if (!executor.awaitTermination(60, TimeUnit.SECONDS)) {
+            log.warn("{} scenarios still in flight after 60s, abandoning them", inFlight.get());
+            executor.shutdownNow();
+        }
+        log.info("Scheduled {} scenarios, {} failed", scheduled, failedScenarios.get());
+        return (measuredUntil - measureFrom) / 1e9;
+    }
+
+    private void runScenario(long intendedStart, boolean measured) {
+        Scenario scenario = pickScenario();
+        boolean failed = false;
+        try {
+            switch (scenario) {
+                case BROWSE -> client.getProductsByCatalog(randomCatalogId(), measured);
+                case PRODUCT -> client.getProduct(randomProductId(), measured);
+                case CHECKOUT -> checkout(measured);
+                case VIEW -> view(measured);
+                case ADD_ITEM -> addItem(measured);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failed = true;
+        } catch (Exception e) {
+            log.debug("Scenario {} failed", scenario, e);
+            failed = true;
+        }
+        if (failed) {
+            failedScenarios.incrementAndGet();
+        }
+        if (measured) {
+            recorder.record("scenario " + scenario.name().toLowerCase(), System.nanoTime() - intendedStart, failed);
+        }
+    }
+
+    private void checkout(boolean measured) throws Exception {
+        int orderId = client.createOrder(measured);
+        rememberOrder(orderId);
+
+        // Aynı ürün iki kez seçilirse satırlar servis tarafında birleşir; stok düşümü de aynı miktarla yapılır
+        Map<Integer, Integer> quantities = new LinkedHashMap<>();
+        int itemCount = 1 + ThreadLocalRandom.current().nextInt(options.getMaxItemsPerOrder());
+        for (int i = 0; i < itemCount; i++) {
+            quantities.merge(randomProductId(), 1 + ThreadLocalRandom.current().nextInt(3), Integer::sum);
+        }
+
+        List<Map<String, Integer>> items = new ArrayList<>();
+        quantities.forEach((productId, quantity) -> items.add(Map.of("productId", productId, "quantity", quantity)));
+        client.addOrderItems(orderId, items, measured);
+        client.reduceStocks(items, measured);
+        client.getOrder(orderId, measured);
+    }
+
+    private void view(boolean measured) throws Exception {
+        Integer orderId = randomRecentOrder();
+        if (orderId == null) {
+            checkout(measured);
+            return;
+        }
+        client.getOrder(orderId, measured);
+        client.getOrderItems(orderId, measured);
+    }
+
+    private void addItem(boolean measured) throws Exception {
+        Integer orderId = randomRecentOrder();
+        if (orderId == null) {
+            checkout(measured);
+            return;
+        }
+        client.addOrderItem(orderId, randomProductId(), 1, measured);
+    }
+
+    private Scenario pickScenario() {
+        int value = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return scenarios[i];
+            }
+        }
+        return scenarios[scenarios.length - 1];
+    }
+
+    private int randomCatalogId() {
+        return 1 + ThreadLocalRandom.current().nextInt(options.getCatalogs());
+    }
+
+    // skew > 1 iken düşük id'ler daha sık seçilir (popüler ürünler)
+    private int randomProductId() {
+        double position = Math.pow(ThreadLocalRandom.current().nextDouble(), options.getSkew());
+        return 1 + Math.min(options.totalProducts() - 1, (int) (position * options.totalProducts()));
+    }
+
+    private void rememberOrder(int orderId) {
+        long index = createdOrders.getAndIncrement();
+        recentOrders.set((int) (index % RECENT_ORDERS), orderId);
+    }
+
+    private Integer randomRecentOrder() {
+        long created = createdOrders.get();
+        if (created == 0) {
+            return null;
+        }
+        int bound = (int) Math.min(created, RECENT_ORDERS);
+        long orderId = recentOrders.get(ThreadLocalRandom.current().nextInt(bound));
+        return orderId != 0 ? (int) orderId : null;
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Endpoint ve senaryo başına throughput, hata sayısı ve gecikme yüzdelikleri (ms).
+ * JSON rapor seçenekleri ve sıkıştırılmış HdrHistogram'ları da içerir; iki çalıştırma
+ * "baseline" ile karşılaştırılabilir ya da histogramlar HistogramLogAnalyzer ile incelenebilir.
+ */
+class LoadReport {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private final ObjectNode report = objectMapper.createObjectNode();
+
+    LoadReport(LoadTestOptions options, Map<String, EndpointStats> stats, double measuredSeconds) {
+        report.put("createdAt", Instant.now().toString());
+        report.put("measuredSeconds", measuredSeconds);
+        report.set("options", objectMapper.valueToTree(options));
+
+        ObjectNode endpoints = report.putObject("endpoints");
+        stats.forEach((name, endpointStats) -> endpoints.set(name, toJson(endpointStats, measuredSeconds)));
+    }
+
+    void print(PrintStream out) {
+        out.printf("%n%-42s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "req/s", "p50", "p90", "p99", "p99.9", "max");
+        report.get("endpoints").fields().forEachRemaining(entry -> {
+            JsonNode stats = entry.getValue();
+            out.printf("%-42s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n", entry.getKey(),
+                    stats.get("count").asLong(), stats.get("errors").asLong(), stats.get("throughput").asDouble(),
+                    stats.get("p50").asDouble(), stats.get("p90").asDouble(), stats.get("p99").asDouble(),
+                    stats.get("p99.9").asDouble(), stats.get("max").asDouble());
+        });
+        out.println("Latencies in ms; scenario latencies include time queued behind a saturated system.");
+    }
+
+    // Baseline'a göre değişim (%): throughput'ta artı, gecikmede eksi iyidir
+    void compare(Path baselinePath, PrintStream out) throws IOException {
+        JsonNode baseline = objectMapper.readTree(baselinePath.toFile()).get("endpoints");
+        out.printf("%nCompared to %s%n%-42s %10s %10s %10s %10s%n", baselinePath, "endpoint", "req/s", "p50", "p99", "p99.9");
+        Iterator<Map.Entry<String, JsonNode>> fields = report.get("endpoints").fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> entry = fields.next();
+            JsonNode before = baseline.get(entry.getKey());
+            if (before == null) {
+                out.printf("%-42s %10s%n", entry.getKey(), "new");
+                continue;
+            }
+            JsonNode after = entry.getValue();
+            out.printf("%-42s %10s %10s %10s %10s%n", entry.getKey(),
+                    change(before, after, "throughput"), change(before, after, "p50"),
+                    change(before, after, "p99"), change(before, after, "p99.9"));
+        }
+    }
+
+    void write(Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        objectMapper.writeValue(path.toFile(), report);
+    }
+
+    private ObjectNode toJson(EndpointStats stats, double measuredSeconds) {
+        Histogram histogram = stats.histogram();
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("count", histogram.getTotalCount());
+        node.put("errors", stats.errors());
+        node.put("throughput", histogram.getTotalCount() / measuredSeconds);
+        node.put("mean", histogram.getMean() / 1000.0);
+        for (double percentile : PERCENTILES) {
+            node.put(percentileName(percentile), histogram.getValueAtPercentile(percentile) / 1000.0);
+        }
+        node.put("max", histogram.getMaxValue() / 1000.0);
+
+        ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+        node.put("histogram", Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length)));
+        return node;
+    }
+
+    private static String percentileName(double percentile) {
+        return percentile == Math.rint(percentile) ? "p" + (int) percentile : "p" + percentile;
+    }
+
+    private static String change(JsonNode before, JsonNode after, String field) {
+        double previous = before.get(field).asDouble();
+        if (previous == 0) {
+            return "-";
+        }
+        return String.format("%+.1f%%", (after.get(field).asDouble() - previous) * 100 / previous);
+    }
+}
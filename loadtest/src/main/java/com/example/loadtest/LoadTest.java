@@ -0,0 +1,68 @@
+package com.example.loadtest;
+
+import com.example.OrderService.OrderServiceLauncher;
+import com.example.ProductService.ProductServiceLauncher;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+/**
+ * Yerel yük testi: ProductService ve OrderService'i aynı JVM'de açar, ProductService'i doldurur,
+ * senaryo karışımını sabit geliş hızında uygular ve endpoint başına gecikme raporu üretir.
+ * Seçenekler için bkz. LoadTestOptions.
+ */
+@Slf4j
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+
+        ConfigurableApplicationContext productService = ProductServiceLauncher.start(
+                "--loadtest.fault.latency-ms=" + options.getLatencyMs(),
+                "--loadtest.fault.latency-jitter-ms=" + options.getLatencyJitterMs(),
+                "--loadtest.fault.failure-rate=" + options.getFailureRate());
+        int productServicePort = ((WebServerApplicationContext) productService).getWebServer().getPort();
+
+        // Eureka yerine statik discovery: OrderService'in tek ProductService instance'ı bu JVM'deki
+        ConfigurableApplicationContext orderService = OrderServiceLauncher.start(
+                "--loadtest.product-service.port=" + productServicePort);
+        int orderServicePort = ((WebServerApplicationContext) orderService).getWebServer().getPort();
+
+        try {
+            log.info("Seeding {} catalogs x {} products", options.getCatalogs(), options.getProductsPerCatalog());
+            new DataSeeder(productService.getBean(JdbcTemplate.class)).seed(options.getCatalogs(), options.getProductsPerCatalog());
+
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .executor(Executors.newCachedThreadPool(runnable -> {
+                        Thread thread = new Thread(runnable, "loadtest-http");
+                        thread.setDaemon(true);
+                        return thread;
+                    }))
+                    .build();
+            LatencyRecorder recorder = new LatencyRecorder();
+            ShopClient client = new ShopClient(httpClient, recorder,
+                    "http://localhost:" + orderServicePort, "http://localhost:" + productServicePort);
+
+            double measuredSeconds = new LoadGenerator(options, client, recorder).run();
+
+            LoadReport report = new LoadReport(options, recorder.snapshot(), measuredSeconds);
+            report.print(System.out);
+            report.write(Path.of(options.getReport()));
+            System.out.println("Report written to " + options.getReport());
+            if (options.getBaseline() != null) {
+                report.compare(Path.of(options.getBaseline()), System.out);
+            }
+        } finally {
+            orderService.close();
+            productService.close();
+        }
+    }
+}
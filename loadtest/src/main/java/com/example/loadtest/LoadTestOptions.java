@@ -0,0 +1,83 @@
+package com.example.loadtest;
+
+import lombok.Data;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Komut satırı seçenekleri ("--anahtar=değer"). Verilmeyenler aşağıdaki varsayılanları alır.
+ * <p>
+ * Örnek: {@code mvn -f loadtest/pom.xml compile exec:java -Dexec.args="--rate=200 --duration=120 --latency-ms=20 --failure-rate=0.01"};
+ * önceki raporla karşılaştırmak için {@code --baseline=baseline.json}.
+ */
+@Data
+class LoadTestOptions {
+
+    // Saniyede başlatılan senaryo sayısı (sabit geliş hızı; yanıtlar gecikse de hız düşmez)
+    private int rate = 50;
+    private int warmupSeconds = 10; // Bu sürede ölçüm yapılmaz (JIT, cache'ler, bağlantı havuzu)
+    private int durationSeconds = 60;
+    private int maxConcurrency = 256; // Aynı anda uçuşta olabilecek senaryo sayısı
+
+    // Senaryo ağırlıkları, örn. "browse=40,product=30,checkout=20,view=10"
+    private Map<Scenario, Integer> mix = parseMix("browse=40,product=30,checkout=20,view=10");
+
+    private int catalogs = 10;
+    private int productsPerCatalog = 1000;
+    private double skew = 2.0; // 1: tüm ürünler eşit sıklıkta, büyüdükçe düşük id'li ürünler daha sık istenir
+    private int maxItemsPerOrder = 5;
+
+    // ProductService'e enjekte edilen gecikme ve hatalar (loadtest.fault.*)
+    private long latencyMs = 0;
+    private long latencyJitterMs = 0;
+    private double failureRate = 0.0;
+
+    private String report = "target/loadtest-report.json";
+    private String baseline; // Verilirse sonuçlar bu rapora göre karşılaştırılır
+
+    static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (name) {
+                case "rate" -> options.setRate(Integer.parseInt(value));
+                case "warmup" -> options.setWarmupSeconds(Integer.parseInt(value));
+                case "duration" -> options.setDurationSeconds(Integer.parseInt(value));
+                case "max-concurrency" -> options.setMaxConcurrency(Integer.parseInt(value));
+                case "mix" -> options.setMix(parseMix(value));
+                case "catalogs" -> options.setCatalogs(Integer.parseInt(value));
+                case "products-per-catalog" -> options.setProductsPerCatalog(Integer.parseInt(value));
+                case "skew" -> options.setSkew(Double.parseDouble(value));
+                case "max-items-per-order" -> options.setMaxItemsPerOrder(Integer.parseInt(value));
+                case "latency-ms" -> options.setLatencyMs(Long.parseLong(value));
+                case "latency-jitter-ms" -> options.setLatencyJitterMs(Long.parseLong(value));
+                case "failure-rate" -> options.setFailureRate(Double.parseDouble(value));
+                case "report" -> options.setReport(value);
+                case "baseline" -> options.setBaseline(value);
+                default -> throw new IllegalArgumentException("Unknown option: --" + name);
+            }
+        }
+        if (options.getRate() <= 0 || options.getDurationSeconds() <= 0) {
+            throw new IllegalArgumentException("Rate and duration must be positive");
+        }
+        return options;
+    }
+
+    int totalProducts() {
+        return catalogs * productsPerCatalog;
+    }
+
+    private static Map<Scenario, Integer> parseMix(String value) {
+        Map<Scenario, Integer> mix = new LinkedHashMap<>();
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split("=");
+            mix.put(Scenario.valueOf(parts[0].trim().toUpperCase()), Integer.parseInt(parts[1].trim()));
+        }
+        return mix;
+    }
+}
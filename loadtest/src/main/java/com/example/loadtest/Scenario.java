@@ -0,0 +1,17 @@
+package com.example.loadtest;
+
+/**
+ * Yük karışımındaki kullanıcı akışları.
+ */
+enum Scenario {
+    // Bir kataloğun ürün listesi
+    BROWSE,
+    // Tek bir ürünün detayı
+    PRODUCT,
+    // Sipariş oluştur, satırları ekle, stoğu düş, siparişi oku
+    CHECKOUT,
+    // Daha önce oluşturulmuş bir siparişi ve satırlarını oku
+    VIEW,
+    // Daha önce oluşturulmuş bir siparişe tek satır ekle
+    ADD_ITEM
+}
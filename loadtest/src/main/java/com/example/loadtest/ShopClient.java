@@ -0,0 +1,110 @@
+package com.example.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Servislerin REST API'lerine yapılan çağrılar. Her çağrı endpoint şablonu adıyla kaydedilir;
+ * beklenmeyen durum kodu ya da bağlantı hatası hata sayılır ve senaryoyu keser.
+ */
+class ShopClient {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LatencyRecorder recorder;
+    private final String orderServiceUrl;
+    private final String productServiceUrl;
+
+    ShopClient(HttpClient httpClient, LatencyRecorder recorder, String orderServiceUrl, String productServiceUrl) {
+        this.httpClient = httpClient;
+        this.recorder = recorder;
+        this.orderServiceUrl = orderServiceUrl;
+        this.productServiceUrl = productServiceUrl;
+    }
+
+    JsonNode getProductsByCatalog(int catalogId, boolean measured) throws IOException, InterruptedException {
+        return call("GET /api/products/catalog/{catalogId}", get(productServiceUrl + "/api/products/catalog/" + catalogId), Set.of(200), measured);
+    }
+
+    JsonNode getProduct(int productId, boolean measured) throws IOException, InterruptedException {
+        return call("GET /api/products/{id}", get(productServiceUrl + "/api/products/" + productId), Set.of(200), measured);
+    }
+
+    int createOrder(boolean measured) throws IOException, InterruptedException {
+        JsonNode order = call("POST /api/orders", post(orderServiceUrl + "/api/orders", Map.of()), Set.of(200), measured);
+        return order.get("id").asInt();
+    }
+
+    JsonNode addOrderItem(int orderId, int productId, int quantity, boolean measured) throws IOException, InterruptedException {
+        return call("POST /api/orders/{id}/items", post(orderServiceUrl + "/api/orders/" + orderId + "/items",
+                Map.of("productId", productId, "quantity", quantity)), Set.of(200), measured);
+    }
+
+    JsonNode addOrderItems(int orderId, List<Map<String, Integer>> items, boolean measured) throws IOException, InterruptedException {
+        return call("POST /api/orders/{id}/items/batch", post(orderServiceUrl + "/api/orders/" + orderId + "/items/batch", items), Set.of(200), measured);
+    }
+
+    // 409 (yetersiz stok) iş kuralıdır, hata sayılmaz
+    JsonNode reduceStocks(List<Map<String, Integer>> reductions, boolean measured) throws IOException, InterruptedException {
+        return call("POST /api/stocks/reduce-batch", post(productServiceUrl + "/api/stocks/reduce-batch", reductions), Set.of(200, 409), measured);
+    }
+
+    JsonNode getOrder(int orderId, boolean measured) throws IOException, InterruptedException {
+        return call("GET /api/orders/{id}", get(orderServiceUrl + "/api/orders/" + orderId), Set.of(200), measured);
+    }
+
+    JsonNode getOrderItems(int orderId, boolean measured) throws IOException, InterruptedException {
+        return call("GET /api/orders/{id}/items", get(orderServiceUrl + "/api/orders/" + orderId + "/items"), Set.of(200), measured);
+    }
+
+    private JsonNode call(String endpoint, HttpRequest request, Set<Integer> acceptedStatuses, boolean measured)
+            throws IOException, InterruptedException {
+        long startTime = System.nanoTime();
+        HttpResponse<byte[]> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            if (measured) {
+                recorder.record(endpoint, System.nanoTime() - startTime, true);
+            }
+            throw e;
+        }
+        boolean failed = !acceptedStatuses.contains(response.statusCode());
+        if (measured) {
+            recorder.record(endpoint, System.nanoTime() - startTime, failed);
+        }
+        if (failed) {
+            throw new IOException(endpoint + " returned " + response.statusCode());
+        }
+        return response.body().length > 0 ? objectMapper.readTree(response.body()) : objectMapper.nullNode();
+    }
+
+    private HttpRequest get(String uri) {
+        return HttpRequest.newBuilder(URI.create(uri))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String uri, Object body) throws IOException {
+        return HttpRequest.newBuilder(URI.create(uri))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                .build();
+    }
+}